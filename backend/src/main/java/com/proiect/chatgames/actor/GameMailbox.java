@@ -0,0 +1,117 @@
+package com.proiect.chatgames.actor;
+
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cutia postala a unui joc (model actor).
+ * Toate comenzile pentru o masa intra aici si sunt executate strict una dupa alta,
+ * pe un pool comun dimensionat dupa numarul de procesoare. Nu exista lock-uri globale:
+ * mesele diferite ruleaza in paralel, comenzile aceleiasi mese niciodata.
+ */
+public class GameMailbox implements Executor {
+
+    // Cate comenzi executam inainte sa cedam thread-ul altor mese (corectitudine intre mese)
+    private static final int BATCH_SIZE = 64;
+
+    private static final ForkJoinPool SHARED_POOL = createPool();
+    private static final ThreadLocal<GameMailbox> CURRENT = new ThreadLocal<>();
+
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private static ForkJoinPool createPool() {
+        AtomicInteger counter = new AtomicInteger();
+        ForkJoinPool.ForkJoinWorkerThreadFactory factory = pool -> {
+            ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            t.setName("game-actor-" + counter.incrementAndGet());
+            return t;
+        };
+        // asyncMode = true: cozi FIFO, potrivit pentru task-uri de tip eveniment
+        return new ForkJoinPool(Runtime.getRuntime().availableProcessors(), factory, null, true);
+    }
+
+    // Trimite o comanda fara sa astepte rezultatul
+    @Override
+    public void execute(Runnable command) {
+        queue.add(command);
+        schedule();
+    }
+
+    public <T> CompletableFuture<T> submit(Callable<T> command) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        execute(() -> {
+            try {
+                future.complete(command.call());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Executa comanda in cutia postala si asteapta rezultatul (folosit de thread-urile REST).
+     * Exceptiile de validare (IllegalArgumentException etc.) ajung la apelant neschimbate.
+     */
+    public <T> T call(Callable<T> command) {
+        if (isCurrent()) {
+            // Suntem deja pe thread-ul acestei mese: executam direct, altfel ne-am bloca singuri
+            try {
+                return command.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }
+        try {
+            return submit(command).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            if (e.getCause() instanceof Error err) throw err;
+            throw e;
+        }
+    }
+
+    public void run(Runnable command) {
+        call(() -> {
+            command.run();
+            return null;
+        });
+    }
+
+    public boolean isCurrent() {
+        return CURRENT.get() == this;
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            SHARED_POOL.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        CURRENT.set(this);
+        try {
+            Runnable command;
+            int processed = 0;
+            while (processed < BATCH_SIZE && (command = queue.poll()) != null) {
+                try {
+                    command.run();
+                } catch (Throwable e) {
+                    System.err.println("Eroare in comanda jocului: " + e.getMessage());
+                    e.printStackTrace();
+                }
+                processed++;
+            }
+        } finally {
+            CURRENT.remove();
+            scheduled.set(false);
+            // Au ramas comenzi (batch plin sau adaugate intre timp): reprogramam
+            if (!queue.isEmpty()) schedule();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.proiect.chatgames.actor;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Roata de timp (hashed timing wheel) pentru multe termene simultane, cu un singur thread.
+ * Un termen se pune in galeata (deadline / tick) % wheelSize, cu numarul de ture complete ramase.
+ * La fiecare tick se parcurge o singura galeata, deci costul nu depinde de cate termene sunt active.
+ * schedule/cancel pot fi apelate din orice thread; galetile sunt atinse doar de thread-ul rotii.
+ */
+public class TimingWheel implements AutoCloseable {
+
+    // Cate termene noi mutam in roata per tick (restul raman in coada pentru tick-ul urmator)
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private final long tickNanos;
+    private final int mask;
+    private final Bucket[] wheel;
+    private final Queue<Timeout> incoming = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final long startTime = System.nanoTime();
+    private final Thread worker;
+    private volatile boolean running = true;
+    private long tick = 0;
+
+    public TimingWheel(long tickMs, int wheelSize, String threadName) {
+        if (tickMs <= 0) throw new IllegalArgumentException("tickMs trebuie sa fie pozitiv");
+        // Dimensiunea e rotunjita la o putere a lui 2, ca indexul sa fie un simplu AND
+        int size = Integer.highestOneBit(Math.max(2, wheelSize - 1)) << 1;
+        this.tickNanos = tickMs * 1_000_000L;
+        this.mask = size - 1;
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) wheel[i] = new Bucket();
+
+        worker = new Thread(this::run, threadName);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Programeaza task-ul dupa delayMs. Task-ul ruleaza pe thread-ul rotii, deci trebuie sa fie scurt
+     * (de obicei doar pune o comanda in cutia postala a jocului).
+     */
+    public Timeout schedule(Runnable task, long delayMs) {
+        Timeout timeout = new Timeout(task, System.nanoTime() - startTime + Math.max(0, delayMs) * 1_000_000L);
+        pending.incrementAndGet();
+        incoming.add(timeout);
+        return timeout;
+    }
+
+    // Termene programate si inca neexpirate/neanulate
+    public int pending() {
+        return pending.get();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(worker);
+    }
+
+    private void run() {
+        while (running) {
+            long deadline = (tick + 1) * tickNanos;
+            long sleep = deadline - (System.nanoTime() - startTime);
+            if (sleep > 0) {
+                LockSupport.parkNanos(sleep);
+                continue;
+            }
+            transferIncoming();
+            expire(wheel[(int) (tick & mask)]);
+            tick++;
+        }
+    }
+
+    private void transferIncoming() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            Timeout t = incoming.poll();
+            if (t == null) return;
+            if (t.state.get() != Timeout.WAITING) continue;
+
+            // Un termen deja trecut intra in galeata curenta
+            long ticks = Math.max(t.deadline / tickNanos, tick);
+            t.remainingRounds = (ticks - tick) >> Integer.numberOfTrailingZeros(wheel.length);
+            wheel[(int) (ticks & mask)].add(t);
+        }
+    }
+
+    private void expire(Bucket bucket) {
+        Timeout t = bucket.head;
+        while (t != null) {
+            Timeout next = t.next;
+            if (t.state.get() == Timeout.CANCELLED) {
+                bucket.remove(t);
+            } else if (t.remainingRounds <= 0) {
+                bucket.remove(t);
+                if (t.state.compareAndSet(Timeout.WAITING, Timeout.EXPIRED)) {
+                    pending.decrementAndGet();
+                    try {
+                        t.task.run();
+                    } catch (Throwable e) {
+                        System.err.println("TimingWheel task error: " + e.getMessage());
+                    }
+                }
+            } else {
+                t.remainingRounds--;
+            }
+            t = next;
+        }
+    }
+
+    public final class Timeout {
+        private static final int WAITING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        private long remainingRounds;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        // Intoarce false daca termenul a expirat deja (task-ul a rulat sau ruleaza)
+        public boolean cancel() {
+            if (!state.compareAndSet(WAITING, CANCELLED)) return false;
+            // Nodul e scos din galeata lazy, cand roata ajunge la el
+            pending.decrementAndGet();
+            return true;
+        }
+
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        // Cat mai e pana la expirare (0 daca a trecut)
+        public long remainingMs() {
+            return Math.max(0, (deadline - (System.nanoTime() - startTime)) / 1_000_000L);
+        }
+    }
+
+    // Lista dublu inlantuita; modificata doar de thread-ul rotii
+    private static final class Bucket {
+        private TimingWheel.Timeout head;
+        private TimingWheel.Timeout tail;
+
+        void add(TimingWheel.Timeout t) {
+            t.prev = tail;
+            t.next = null;
+            if (tail == null) head = t; else tail.next = t;
+            tail = t;
+        }
+
+        void remove(TimingWheel.Timeout t) {
+            if (t.prev == null) head = t.next; else t.prev.next = t.next;
+            if (t.next == null) tail = t.prev; else t.next.prev = t.prev;
+            t.prev = null;
+            t.next = null;
+        }
+    }
+}
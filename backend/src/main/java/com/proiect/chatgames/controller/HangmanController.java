@@ -1,6 +1,7 @@
 package com.proiect.chatgames.controller;
 
 import com.proiect.chatgames.service.GameService;
+import com.proiect.chatgames.service.HangmanDictionary;
 import com.proiect.chatgames.websocket.MainWebSocketHandler;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
@@ -22,34 +23,61 @@ public class HangmanController {
     public Map<String, Object> getGames() {
         return Map.of(
                 "success", true,
-                "games", gameService.getAllHangmanGames()
+                "games", gameService.getHangmanLobby()
         );
     }
 
     @PostMapping("/create")
     public Map<String, Object> createGame(@RequestBody Map<String, String> payload) {
-        String gameId = payload.get("gameId");
-        String username = payload.get("username");
+        try {
+            String gameId = payload.get("gameId");
+            String username = payload.get("username");
 
-        gameService.createHangmanGame(gameId, username);
+            // Lobby-ul este marcat pentru actualizare si publicat comasat de LobbyPublisher
+            // (ID deja folosit sau prea multe jocuri deschise: IllegalArgumentException)
+            gameService.createHangmanGame(gameId, username);
 
-        // 1. Update lobby pentru toata lumea
-        wsHandler.broadcastLobbyUpdate();
+            // Trimite starea initiala DOAR creatorului (Fix loading infinit)
+            gameService.sendHangmanState(gameId, wsHandler);
 
-        // 2. Trimite starea initiala DOAR creatorului (Fix loading infinit)
+            return Map.of("success", true);
+        } catch (Exception e) {
+            return Map.of("success", false, "message", String.valueOf(e.getMessage()));
+        }
+    }
+
+    // Joc solo: cuvantul il alege serverul din dictionar (difficulty: EASY / MEDIUM / HARD, optional)
+    @PostMapping("/solo")
+    public Map<String, Object> createSoloGame(@RequestBody Map<String, String> payload) {
         try {
-            var game = gameService.getAllHangmanGames().stream()
-                    .filter(g -> g.getGameId().equals(gameId)).findFirst().orElse(null);
+            String gameId = payload.get("gameId");
+            String username = payload.get("username");
+            String difficulty = payload.get("difficulty");
+
+            gameService.createSoloHangmanGame(gameId, username,
+                    difficulty != null ? HangmanDictionary.Difficulty.valueOf(difficulty.toUpperCase()) : null, wsHandler);
+            gameService.sendHangmanState(gameId, wsHandler);
+
+            return Map.of("success", true);
+        } catch (Exception e) {
+            return Map.of("success", false, "message", String.valueOf(e.getMessage()));
+        }
+    }
 
-            if (game != null) {
-                wsHandler.sendToUser(username, Map.of(
-                        "type", "hangman_game_state",
-                        "gameState", game
-                ));
-            }
-        } catch (Exception e) { e.printStackTrace(); }
+    // Joc cu bot: creatorul alege cuvantul (hangman_set_word), botul ghiceste
+    @PostMapping("/bot")
+    public Map<String, Object> createBotGame(@RequestBody Map<String, String> payload) {
+        try {
+            String gameId = payload.get("gameId");
+            String username = payload.get("username");
 
-        return Map.of("success", true);
+            gameService.createBotHangmanGame(gameId, username);
+            gameService.sendHangmanState(gameId, wsHandler);
+
+            return Map.of("success", true);
+        } catch (Exception e) {
+            return Map.of("success", false, "message", String.valueOf(e.getMessage()));
+        }
     }
 
     @PostMapping("/join")
@@ -59,27 +87,8 @@ public class HangmanController {
 
         gameService.joinHangmanGame(gameId, username);
 
-        // 1. Update lobby
-        wsHandler.broadcastLobbyUpdate();
-
-        // 2. Trimite starea celor implicati
-        try {
-            var game = gameService.getAllHangmanGames().stream()
-                    .filter(g -> g.getGameId().equals(gameId)).findFirst().orElse(null);
-
-            if (game != null) {
-                // Trimitem celui care intra
-                wsHandler.sendToUser(username, Map.of(
-                        "type", "hangman_game_state",
-                        "gameState", game
-                ));
-                // Trimitem si host-ului
-                wsHandler.sendToUser(game.getHostUsername(), Map.of(
-                        "type", "hangman_game_state",
-                        "gameState", game
-                ));
-            }
-        } catch (Exception e) { e.printStackTrace(); }
+        // Trimite starea celor implicati (host + cel care intra)
+        gameService.sendHangmanState(gameId, wsHandler);
 
         return Map.of("success", true);
     }
@@ -1,10 +1,19 @@
 package com.proiect.chatgames.controller;
 
+import com.proiect.chatgames.model.poker.BlindLevel;
+import com.proiect.chatgames.model.poker.EquityResult;
+import com.proiect.chatgames.model.poker.PokerTableSnapshot;
+import com.proiect.chatgames.model.poker.TournamentConfig;
+import com.proiect.chatgames.model.poker.TournamentSnapshot;
+import com.proiect.chatgames.service.EquityService;
 import com.proiect.chatgames.service.GameService;
+import com.proiect.chatgames.service.TournamentService;
 import com.proiect.chatgames.websocket.MainWebSocketHandler;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -14,10 +23,12 @@ public class PokerController {
 
     @Autowired GameService gameService;
     @Autowired MainWebSocketHandler wsHandler;
+    @Autowired EquityService equityService;
+    @Autowired TournamentService tournamentService;
 
     @GetMapping("/games")
     public Map<String, Object> getGames() {
-        return Map.of("success", true, "games", gameService.getAllPokerGames());
+        return Map.of("success", true, "games", gameService.getPokerLobby());
     }
 
     @PostMapping("/create")
@@ -32,19 +43,11 @@ public class PokerController {
             int maxP = getInt(payload, "maxPlayers", 9);
             int stack = getInt(payload, "stack", 1000);
 
+            // Lobby-ul este marcat pentru actualizare si publicat comasat de LobbyPublisher
             gameService.createPokerGame(gameId, creator, pass, sb, bb, maxP, stack);
-            broadcastUpdate();
 
             // Trimitem starea initiala creatorului ca sa poata vedea masa
-            var game = gameService.getAllPokerGames().stream()
-                    .filter(g -> g.getGameId().equals(gameId)).findFirst().orElse(null);
-
-            if(game != null) {
-                wsHandler.sendToUser(creator, Map.of(
-                        "type", "poker_game_state",
-                        "gameState", game.getPublicState(creator)
-                ));
-            }
+            gameService.broadcastPokerState(gameId, wsHandler);
 
             return Map.of("success", true);
         } catch (Exception e) {
@@ -61,27 +64,99 @@ public class PokerController {
             int stack = getInt(payload, "stack", 1000);
 
             gameService.joinPokerGame(gameId, user, pass, stack);
-            broadcastUpdate();
 
             // Trimitem starea actualizata tuturor jucatorilor de la masa
-            var game = gameService.getAllPokerGames().stream()
-                    .filter(g -> g.getGameId().equals(gameId)).findFirst().orElse(null);
-
-            if(game != null) {
-                for(var p : game.getPlayers()) {
-                    wsHandler.sendToUser(p.getUsername(), Map.of(
-                            "type", "poker_game_state",
-                            "gameState", game.getPublicState(p.getToken())
-                    ));
-                }
-            }
+            gameService.broadcastPokerState(gameId, wsHandler);
+
+            return Map.of("success", true);
+        } catch (Exception e) {
+            return Map.of("success", false, "message", e.getMessage());
+        }
+    }
+
+    // Starea publica a unei mese (snapshot imutabil, citit fara sa blocheze masa)
+    @GetMapping("/table/{gameId}")
+    public Map<String, Object> getTable(@PathVariable String gameId) {
+        PokerTableSnapshot table = gameService.getPokerTable(gameId);
+        if (table == null) return Map.of("success", false, "message", "Game not found");
+        return Map.of("success", true, "gameState", table);
+    }
+
+    // --- Turnee ---
+
+    @GetMapping("/tournaments")
+    public Map<String, Object> getTournaments() {
+        return Map.of("success", true, "tournaments", tournamentService.getTournaments());
+    }
 
+    // { tournamentId, stack: 1500, tableSize: 9, paidPlaces: 3, bigBlind: 20, levelMinutes: 10, levels: 30 }
+    @PostMapping("/tournament/create")
+    public Map<String, Object> createTournament(@RequestBody Map<String, Object> payload) {
+        try {
+            int levelMinutes = getInt(payload, "levelMinutes", 10);
+            tournamentService.createTournament(new TournamentConfig(
+                    (String) payload.get("tournamentId"),
+                    getInt(payload, "stack", 1500),
+                    getInt(payload, "tableSize", 9),
+                    getInt(payload, "paidPlaces", 3),
+                    BlindLevel.schedule(getInt(payload, "bigBlind", 20), levelMinutes * 60_000L, getInt(payload, "levels", 30))));
             return Map.of("success", true);
         } catch (Exception e) {
             return Map.of("success", false, "message", e.getMessage());
         }
     }
 
+    @PostMapping("/tournament/register")
+    public Map<String, Object> registerTournament(@RequestBody Map<String, Object> payload) {
+        try {
+            tournamentService.register((String) payload.get("tournamentId"), (String) payload.get("username"));
+            return Map.of("success", true);
+        } catch (Exception e) {
+            return Map.of("success", false, "message", e.getMessage());
+        }
+    }
+
+    @PostMapping("/tournament/start")
+    public Map<String, Object> startTournament(@RequestBody Map<String, Object> payload) {
+        try {
+            tournamentService.start((String) payload.get("tournamentId"));
+            return Map.of("success", true);
+        } catch (Exception e) {
+            return Map.of("success", false, "message", e.getMessage());
+        }
+    }
+
+    @GetMapping("/tournament/{tournamentId}")
+    public Map<String, Object> getTournament(@PathVariable String tournamentId) {
+        TournamentSnapshot tournament = tournamentService.getTournament(tournamentId);
+        if (tournament == null) return Map.of("success", false, "message", "Tournament not found");
+        return Map.of("success", true, "tournament", tournament);
+    }
+
+    // Sansele unei maini: { hand: ["Ah","Kd"], board: ["2c","7h","Ts"], opponents: 1, samples: 100000 }
+    // sau contra unei maini cunoscute: { hand: ["Ah","Ad"], villain: ["Ks","Kc"], board: [] }
+    @PostMapping("/equity")
+    public Map<String, Object> equity(@RequestBody Map<String, Object> payload) {
+        try {
+            List<String> villain = getCards(payload, "villain");
+            EquityResult result = villain.isEmpty()
+                    ? equityService.calculate(getCards(payload, "hand"), getCards(payload, "board"),
+                            getInt(payload, "opponents", 1), getInt(payload, "samples", 0))
+                    : equityService.calculateVersus(getCards(payload, "hand"), villain, getCards(payload, "board"));
+            return Map.of("success", true, "equity", result);
+        } catch (Exception e) {
+            return Map.of("success", false, "message", e.getMessage());
+        }
+    }
+
+    private List<String> getCards(Map<String, Object> payload, String key) {
+        List<String> cards = new ArrayList<>();
+        if (payload.get(key) instanceof List<?> values) {
+            for (Object v : values) cards.add(String.valueOf(v));
+        }
+        return cards;
+    }
+
     // Helper pentru a citi numere din JSON in siguranta
     private int getInt(Map<String, Object> payload, String key, int defaultValue) {
         Object val = payload.get(key);
@@ -92,15 +167,4 @@ public class PokerController {
             return defaultValue;
         }
     }
-
-    private void broadcastUpdate() {
-        try {
-            wsHandler.broadcastAll(Map.of(
-                    "type", "poker_lobby_update",
-                    "games", gameService.getAllPokerGames()
-            ));
-        } catch (Exception e) {
-            System.err.println("Broadcast error: " + e.getMessage());
-        }
-    }
-}
\ No newline at end of file
+}
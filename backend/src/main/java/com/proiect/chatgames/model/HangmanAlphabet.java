@@ -0,0 +1,55 @@
+package com.proiect.chatgames.model;
+
+import java.util.Arrays;
+
+/**
+ * Literele acceptate in Hangman: alfabetul latin si diacriticele romanesti, fiecare cu un index fix 0..30,
+ * ca un set de litere sa incapa intr-un singur int (bitul i = litera i).
+ * Ş si Ţ (cu sedila, cum le scriu multe tastaturi) sunt aceeasi litera ca Ș si Ț.
+ */
+public final class HangmanAlphabet {
+
+    public static final String LETTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZĂÂÎȘȚ";
+    public static final int SIZE = LETTERS.length();
+    // Toate literele alfabetului
+    public static final int ALL = (1 << SIZE) - 1;
+
+    // Un String per litera, refolosit (guessedLetters nu aloca la fiecare ghicire)
+    private static final String[] NAMES = new String[SIZE];
+    // char (majuscula) -> index; -1 pentru orice nu e litera a alfabetului
+    private static final byte[] INDEX = new byte['Ț' + 1];
+
+    static {
+        Arrays.fill(INDEX, (byte) -1);
+        for (int i = 0; i < SIZE; i++) {
+            NAMES[i] = String.valueOf(LETTERS.charAt(i));
+            INDEX[LETTERS.charAt(i)] = (byte) i;
+        }
+        INDEX['Ş'] = INDEX['Ș'];
+        INDEX['Ţ'] = INDEX['Ț'];
+    }
+
+    private HangmanAlphabet() {
+    }
+
+    // Indexul literei (orice majuscula/minuscula), sau -1
+    public static int indexOf(char c) {
+        char upper = Character.toUpperCase(c);
+        return upper < INDEX.length ? INDEX[upper] : -1;
+    }
+
+    public static String letter(int index) {
+        return NAMES[index];
+    }
+
+    // Setul de litere al unui cuvant, sau -1 daca are caractere din afara alfabetului
+    public static int letterMask(CharSequence word) {
+        int mask = 0;
+        for (int i = 0; i < word.length(); i++) {
+            int index = indexOf(word.charAt(i));
+            if (index < 0) return -1;
+            mask |= 1 << index;
+        }
+        return mask;
+    }
+}
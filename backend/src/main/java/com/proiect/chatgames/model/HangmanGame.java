@@ -1,9 +1,13 @@
 package com.proiect.chatgames.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.proiect.chatgames.actor.GameMailbox;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Data
 @NoArgsConstructor
@@ -24,8 +28,177 @@ public class HangmanGame {
     // Aceasta e proprietatea calculata pe care o vede frontend-ul (ex: "_ A _ _")
     private String maskedWord;
 
+    // Indexul pe biti al cuvantului (nu se trimite si nu se salveaza; refacut din cuvant si din literele ghicite):
+    // literele incercate (bitul i = litera i din HangmanAlphabet), pozitiile fiecarei litere in cuvant,
+    // pozitiile descoperite si toate pozitiile cuvantului (castig cand cele doua sunt egale)
+    @JsonIgnore
+    private int guessedMask = 0;
+    @JsonIgnore
+    private long[] letterPositions;
+    @JsonIgnore
+    private long revealed = 0;
+    @JsonIgnore
+    private long wordPositions = 0;
+    @JsonIgnore
+    private char[] maskChars;
+
+    // Cat are ghicitorul pentru o litera; la expirare se numara o greseala
+    private long turnTimeoutMs = 60000;
+    // Creste la fiecare litera (sau expirare); ceasul stie astfel daca termenul mai e valabil
+    @JsonIgnore
+    private long turnNumber = 0;
+
+    // Persistenta: incarnarea jocului (un ID refolosit primeste alta) si numarul ultimei comenzi scrise in log
+    @JsonIgnore
+    private long storeGeneration = 0;
+    @JsonIgnore
+    private long storeSeq = 0;
+
+    // Comenzile jocului sunt executate serial, pe cutia postala a jocului
+    @JsonIgnore
+    private final GameMailbox mailbox = new GameMailbox();
+
+    // Spectatorii jocului: vad aceeasi stare ca ghicitorul (fara cuvantul secret); modificat doar din cutia postala
+    @JsonIgnore
+    private final Set<String> spectators = new HashSet<>();
+
+    // Rezumatul pentru lobby; se inlocuieste doar cand se schimba ceva vizibil in lobby
+    @JsonIgnore
+    private volatile HangmanLobbySummary lobbySummary;
+
     public HangmanGame(String gameId, String hostUsername) {
         this.gameId = gameId;
         this.hostUsername = hostUsername;
     }
-}
\ No newline at end of file
+
+    // Apelat dupa fiecare comanda; intoarce true daca rezumatul din lobby s-a schimbat
+    public boolean refreshLobbySummary() {
+        HangmanLobbySummary next = new HangmanLobbySummary(gameId, hostUsername, guesserUsername, status);
+        if (next.equals(lobbySummary)) return false;
+        lobbySummary = next;
+        return true;
+    }
+
+    // Regulile jocului stau aici (nu in GameService), ca refacerea dupa restart sa le aplice identic
+
+    // Intoarce false daca jocul nu mai astepta un ghicitor
+    public boolean join(String guesser) {
+        if (!status.equals("waiting_for_guesser")) return false;
+        guesserUsername = guesser;
+        status = "waiting_for_word";
+        return true;
+    }
+
+    public void chooseWord(String word) {
+        if (!status.equals("waiting_for_word")) {
+            throw new IllegalArgumentException("Game is not waiting for word");
+        }
+        if (word == null || word.length() < 3) {
+            throw new IllegalArgumentException("Word too short");
+        }
+        if (word.length() > Long.SIZE) {
+            throw new IllegalArgumentException("Word too long");
+        }
+        if (HangmanAlphabet.letterMask(word) < 0) {
+            throw new IllegalArgumentException("Word contains invalid characters");
+        }
+        secretWord = word.toUpperCase();
+        status = "in_progress";
+        indexWord();
+        calculateMask();
+    }
+
+    // O ghicire: doua operatii pe biti, plus completarea mastii doar in pozitiile nou descoperite
+    public void guessLetter(String letter) {
+        if (!status.equals("in_progress")) return;
+        if (letter == null || letter.length() != 1) {
+            throw new IllegalArgumentException("Guess exactly one letter");
+        }
+        int index = HangmanAlphabet.indexOf(letter.charAt(0));
+        if (index < 0) {
+            throw new IllegalArgumentException("Invalid letter");
+        }
+
+        int bit = 1 << index;
+        if ((guessedMask & bit) != 0) return;
+
+        guessedMask |= bit;
+        guessedLetters.add(HangmanAlphabet.letter(index));
+        turnNumber++;
+
+        long hits = letterPositions[index];
+        if (hits == 0) {
+            mistakes++;
+        } else {
+            revealed |= hits;
+            reveal(hits);
+        }
+        checkWin();
+    }
+
+    // Timpul expirat conteaza ca o greseala
+    public void expireTurn() {
+        mistakes++;
+        turnNumber++;
+        checkWin();
+    }
+
+    // Refacut dupa incarcarea din snapshot: indexul nu se salveaza, se deduce din cuvant si din literele ghicite
+    public void restoreIndex() {
+        if (secretWord == null) return;
+        indexWord();
+        for (String letter : guessedLetters) {
+            int index = HangmanAlphabet.indexOf(letter.charAt(0));
+            if (index < 0) continue;
+            guessedMask |= 1 << index;
+            revealed |= letterPositions[index];
+        }
+        calculateMask();
+    }
+
+    // Pentru fiecare litera, bitii pozitiilor ei in cuvant; calculat o data, la alegerea cuvantului
+    private void indexWord() {
+        letterPositions = new long[HangmanAlphabet.SIZE];
+        revealed = 0;
+        for (int i = 0; i < secretWord.length(); i++) {
+            int index = HangmanAlphabet.indexOf(secretWord.charAt(i));
+            // Doar un cuvant salvat inainte de validarea alfabetului poate avea alte caractere: le aratam direct
+            if (index < 0) revealed |= 1L << i;
+            else letterPositions[index] |= 1L << i;
+        }
+        wordPositions = secretWord.length() == Long.SIZE ? -1L : (1L << secretWord.length()) - 1;
+        guessedMask = 0;
+    }
+
+    // Masca completa ("_ A _ _"); la final arata tot cuvantul
+    private void calculateMask() {
+        if (secretWord == null) return;
+        boolean isEnd = status.equals("won") || status.equals("lost");
+        maskChars = new char[secretWord.length() * 2 - 1];
+        for (int i = 0; i < secretWord.length(); i++) {
+            maskChars[2 * i] = isEnd || (revealed & (1L << i)) != 0 ? secretWord.charAt(i) : '_';
+            if (i < secretWord.length() - 1) maskChars[2 * i + 1] = ' ';
+        }
+        maskedWord = new String(maskChars);
+    }
+
+    // Scrie in masca doar literele din pozitiile date
+    private void reveal(long positions) {
+        while (positions != 0) {
+            int i = Long.numberOfTrailingZeros(positions);
+            maskChars[2 * i] = secretWord.charAt(i);
+            positions &= positions - 1;
+        }
+        maskedWord = new String(maskChars);
+    }
+
+    private void checkWin() {
+        if (revealed == wordPositions) {
+            status = "won";
+            calculateMask();
+        } else if (mistakes >= maxGuesses) {
+            status = "lost";
+            calculateMask();
+        }
+    }
+}
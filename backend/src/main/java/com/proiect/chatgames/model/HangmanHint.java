@@ -0,0 +1,8 @@
+package com.proiect.chatgames.model;
+
+// Litera sugerata pentru starea curenta: cate cuvinte din dictionar mai sunt posibile si in ce proportie o contin
+public record HangmanHint(
+        String letter,
+        int candidates,
+        double probability
+) {}
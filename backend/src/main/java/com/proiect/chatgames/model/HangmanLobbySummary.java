@@ -0,0 +1,9 @@
+package com.proiect.chatgames.model;
+
+// Ce vede lobby-ul despre un joc de spanzuratoare (fara cuvantul secret)
+public record HangmanLobbySummary(
+        String gameId,
+        String hostUsername,
+        String guesserUsername,
+        String status
+) {}
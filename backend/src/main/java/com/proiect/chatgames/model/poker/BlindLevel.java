@@ -0,0 +1,36 @@
+package com.proiect.chatgames.model.poker;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Un nivel din structura de blind-uri a unui turneu. Ultimul nivel ramane activ pana la final.
+ */
+public record BlindLevel(int smallBlind, int bigBlind, long durationMs) {
+
+    public BlindLevel {
+        if (smallBlind <= 0 || bigBlind < smallBlind) throw new IllegalArgumentException("Blind-uri invalide.");
+        if (durationMs <= 0) throw new IllegalArgumentException("Durata nivelului trebuie sa fie pozitiva.");
+    }
+
+    // Structura standard: big blind-ul creste cu ~50% pe nivel, rotunjit la doua cifre semnificative
+    public static List<BlindLevel> schedule(int firstBigBlind, long durationMs, int count) {
+        List<BlindLevel> levels = new ArrayList<>(count);
+        double bigBlind = firstBigBlind;
+        for (int i = 0; i < count; i++) {
+            int rounded = roundBlind(bigBlind);
+            levels.add(new BlindLevel(rounded / 2, rounded, durationMs));
+            bigBlind = Math.max(bigBlind * 1.5, rounded + 2);
+        }
+        return levels;
+    }
+
+    // Numar par (small blind = jumatate), cu cel mult doua cifre semnificative
+    private static int roundBlind(double value) {
+        long step = 1;
+        while (value / step >= 100) step *= 10;
+        long rounded = Math.round(value / step) * step;
+        if (rounded % 2 != 0) rounded++;
+        return (int) Math.min(Math.max(rounded, 2), Integer.MAX_VALUE / 4);
+    }
+}
@@ -1,39 +1,75 @@
 package com.proiect.chatgames.model.poker;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-@Data
-@AllArgsConstructor
-@NoArgsConstructor
-public class Card {
-    private String rank; // "2", "3", ... "T", "J", "Q", "K", "A"
-    private String suit; // "h", "d", "c", "s"
-
-    // Returnează valoarea numerică pentru comparații
-    public int getValue() {
-        if (rank == null) return 0;
-        switch (rank) {
-            case "2": return 2;
-            case "3": return 3;
-            case "4": return 4;
-            case "5": return 5;
-            case "6": return 6;
-            case "7": return 7;
-            case "8": return 8;
-            case "9": return 9;
-            case "10": return 10;
-            case "J": return 11;
-            case "Q": return 12;
-            case "K": return 13;
-            case "A": return 14;
-            default: return 0;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Carte de joc imutabila. Exista exact 52 de instante canonice (flyweight),
+ * obtinute prin Card.of(...); codul int (rang * 4 + culoare) este cel folosit de evaluator.
+ * JSON-ul ramane { rank, suit, value } ca inainte.
+ */
+public final class Card {
+    private static final String[] RANKS = {"2", "3", "4", "5", "6", "7", "8", "9", "T", "J", "Q", "K", "A"};
+    private static final String[] SUITS = {"h", "d", "c", "s"};
+    private static final Card[] ALL = new Card[52];
+
+    static {
+        for (int code = 0; code < 52; code++) ALL[code] = new Card(code);
+    }
+
+    private final int code;
+    private final String rank; // "2", "3", ... "T", "J", "Q", "K", "A"
+    private final String suit; // "h", "d", "c", "s"
+
+    private Card(int code) {
+        this.code = code;
+        this.rank = RANKS[code >>> 2];
+        this.suit = SUITS[code & 3];
+    }
+
+    public static Card of(int code) {
+        return ALL[code];
+    }
+
+    public static Card of(String rank, String suit) {
+        int r = indexOf(RANKS, rank.equals("10") ? "T" : rank.toUpperCase());
+        int s = indexOf(SUITS, suit.toLowerCase());
+        if (r < 0 || s < 0) throw new IllegalArgumentException("Carte invalida: " + rank + suit);
+        return ALL[r * 4 + s];
+    }
+
+    // Format text: "Ah", "Td", "10c"
+    public static Card parse(String text) {
+        if (text == null || text.length() < 2) throw new IllegalArgumentException("Carte invalida: " + text);
+        return of(text.substring(0, text.length() - 1), text.substring(text.length() - 1));
+    }
+
+    private static int indexOf(String[] values, String value) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i].equals(value)) return i;
         }
+        return -1;
+    }
+
+    @JsonIgnore
+    public int getCode() {
+        return code;
+    }
+
+    public String getRank() {
+        return rank;
+    }
+
+    public String getSuit() {
+        return suit;
+    }
+
+    // Returnează valoarea numerică pentru comparații (2..14)
+    public int getValue() {
+        return (code >>> 2) + 2;
     }
 
     @Override
     public String toString() {
         return rank + suit;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,61 @@
+package com.proiect.chatgames.model.poker;
+
+/**
+ * Pachet de 52 de carti tinut ca array de coduri int, refolosit de la o mana la alta.
+ * Amestecarea (Fisher-Yates) foloseste un generator SplitMix64 initializat din seed,
+ * deci aceeasi valoare de seed reproduce exact aceeasi ordine (replay / audit).
+ */
+public final class Deck {
+    private final int[] cards = new int[52];
+    private int size = 0;
+
+    public void shuffle(long seed) {
+        permute(seed, cards);
+        size = 52;
+    }
+
+    // Pachet amestecat dinainte (DeckPool): doar copiem ordinea, amestecarea s-a facut pe alt thread
+    public void load(ShuffledDeck deck) {
+        System.arraycopy(deck.order(), 0, cards, 0, 52);
+        size = 52;
+    }
+
+    // Ordinea cartilor pentru un seed; aceeasi pentru shuffle si pentru pachetele pregatite
+    static void permute(long seed, int[] into) {
+        for (int i = 0; i < 52; i++) into[i] = i;
+        long state = seed;
+        for (int i = 51; i > 0; i--) {
+            state += 0x9E3779B97F4A7C15L;
+            int j = (int) Long.remainderUnsigned(mix(state), i + 1);
+            int tmp = into[i];
+            into[i] = into[j];
+            into[j] = tmp;
+        }
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // Cartile se trag de la finalul array-ului, ca inainte din lista
+    public Card deal() {
+        if (size == 0) throw new IllegalStateException("Pachetul este gol.");
+        return Card.of(cards[--size]);
+    }
+
+    public void burn() {
+        if (size > 0) size--;
+    }
+
+    // Reface pachetul dupa seed si numarul de carti ramase (la restaurarea unei mese salvate)
+    public void restore(long seed, int remaining) {
+        shuffle(seed);
+        size = remaining;
+    }
+
+    public int remaining() {
+        return size;
+    }
+}
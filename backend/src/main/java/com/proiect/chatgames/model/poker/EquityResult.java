@@ -0,0 +1,15 @@
+package com.proiect.chatgames.model.poker;
+
+/**
+ * Sansele unei maini impotriva unor adversari cu carti necunoscute.
+ * win / tie / loss sunt probabilitati (0..1); equity imparte egalitatile in mod egal la castigatori.
+ */
+public record EquityResult(
+        double win,
+        double tie,
+        double loss,
+        double equity,
+        long samples,
+        boolean exhaustive,
+        long elapsedMicros
+) {}
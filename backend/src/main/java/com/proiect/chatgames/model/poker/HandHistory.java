@@ -0,0 +1,148 @@
+package com.proiect.chatgames.model.poker;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * O mana terminata: seed-ul pachetului, blind-urile, locurile, fiecare actiune, board-ul si castigurile.
+ * Seed-ul + ordinea jucatorilor + actiunile sunt suficiente ca sa rejucam mana identic prin PokerGame.
+ */
+public record HandHistory(
+        String gameId,
+        long seed,
+        long startedAt,
+        int smallBlind,
+        int bigBlind,
+        int dealerIndex,   // la inceputul mainii, index in seats
+        int dealtIn,       // primele dealtIn locuri au primit carti; restul au intrat in timpul mainii ("join")
+        List<Seat> seats,
+        List<Action> actions,
+        List<Card> board
+) {
+    public static final byte FORMAT_VERSION = 1;
+
+    // Codurile actiunilor in formatul binar (indexul in lista)
+    private static final List<String> ACTION_TYPES = List.of("fold", "check", "call", "raise", "leave", "join");
+
+    public record Seat(String token, int stack, int payout) {}
+
+    public record Action(int seat, String type, int amount) {}
+
+    public static boolean isKnownAction(String type) {
+        return ACTION_TYPES.contains(type);
+    }
+
+    // Codul numeric al actiunii (-1 daca nu exista) si invers
+    public static int actionCode(String type) {
+        return ACTION_TYPES.indexOf(type);
+    }
+
+    public static String actionType(int code) {
+        return ACTION_TYPES.get(code);
+    }
+
+    // --- Format binar (fara lungime si CRC, acelea le adauga jurnalul) ---
+
+    public void writeTo(ByteBuffer buf) {
+        buf.put(FORMAT_VERSION);
+        putString(buf, gameId);
+        buf.putLong(seed);
+        buf.putLong(startedAt);
+        buf.putInt(smallBlind);
+        buf.putInt(bigBlind);
+        buf.put((byte) dealerIndex);
+        buf.put((byte) dealtIn);
+
+        buf.put((byte) seats.size());
+        for (Seat s : seats) {
+            putString(buf, s.token());
+            buf.putInt(s.stack());
+            buf.putInt(s.payout());
+        }
+
+        buf.putShort((short) actions.size());
+        for (Action a : actions) {
+            buf.put((byte) a.seat());
+            buf.put((byte) ACTION_TYPES.indexOf(a.type()));
+            buf.putInt(a.amount());
+        }
+
+        buf.put((byte) board.size());
+        for (Card c : board) buf.put((byte) c.getCode());
+    }
+
+    public static HandHistory readFrom(ByteBuffer buf) {
+        byte version = buf.get();
+        if (version != FORMAT_VERSION) throw new IllegalArgumentException("Versiune necunoscuta a jurnalului: " + version);
+
+        String gameId = getString(buf);
+        long seed = buf.getLong();
+        long startedAt = buf.getLong();
+        int smallBlind = buf.getInt();
+        int bigBlind = buf.getInt();
+        int dealerIndex = buf.get();
+        int dealtIn = buf.get();
+
+        int seatCount = buf.get() & 0xFF;
+        List<Seat> seats = new ArrayList<>(seatCount);
+        for (int i = 0; i < seatCount; i++) {
+            seats.add(new Seat(getString(buf), buf.getInt(), buf.getInt()));
+        }
+
+        int actionCount = buf.getShort() & 0xFFFF;
+        List<Action> actions = new ArrayList<>(actionCount);
+        for (int i = 0; i < actionCount; i++) {
+            int seat = buf.get() & 0xFF;
+            String type = ACTION_TYPES.get(buf.get());
+            actions.add(new Action(seat, type, buf.getInt()));
+        }
+
+        int boardCount = buf.get();
+        List<Card> board = new ArrayList<>(boardCount);
+        for (int i = 0; i < boardCount; i++) board.add(Card.of(buf.get()));
+
+        return new HandHistory(gameId, seed, startedAt, smallBlind, bigBlind, dealerIndex, dealtIn, seats, actions, board);
+    }
+
+    private static void putString(ByteBuffer buf, String s) {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        buf.putShort((short) bytes.length);
+        buf.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buf) {
+        byte[] bytes = new byte[buf.getShort() & 0xFFFF];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // --- Replay ---
+
+    // Rejoaca mana prin motorul real: aceleasi locuri, acelasi dealer, acelasi seed, aceleasi actiuni
+    public PokerGame replay() {
+        PokerGame game = new PokerGame(gameId, seats.get(0).token(), null, smallBlind, bigBlind, Math.max(9, seats.size()));
+        for (int i = 0; i < dealtIn; i++) {
+            game.addPlayer(seats.get(i).token(), seats.get(i).token(), seats.get(i).stack());
+        }
+        // setupNewHand avanseaza dealer-ul cu o pozitie
+        game.setDealerIndex(dealerIndex - 1);
+        game.startGame(seed);
+
+        for (Action a : actions) {
+            Seat seat = seats.get(a.seat());
+            switch (a.type()) {
+                case "join":
+                    game.addPlayer(seat.token(), seat.token(), a.amount());
+                    break;
+                case "leave":
+                    game.removePlayer(seat.token());
+                    break;
+                default:
+                    game.handlePlayerAction(seat.token(), a.type(), a.amount());
+            }
+        }
+        return game;
+    }
+}
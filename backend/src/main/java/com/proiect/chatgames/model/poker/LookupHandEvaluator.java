@@ -0,0 +1,185 @@
+package com.proiect.chatgames.model.poker;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Evaluator rapid pentru maini de 5-7 carti, fara alocari pe calea critica.
+ *
+ * Cartile sunt coduri int (Card.getCode()): rang * 4 + culoare (rang 0..12 = 2..A, culoare 0..3 = h, d, c, s).
+ * Mana este impachetata intr-un long cu cate o masca de 13 biti per culoare; tabelele
+ * precalculate peste cele 8192 de masti dau direct chinta si cei mai mari 5 kickeri.
+ *
+ * Rezultatul este o singura "putere" int comparabila direct (mai mare = mai buna):
+ *   categorie (0..8, ca in EvaluatedHand) << 20 | 5 valori de carti a cate 4 biti,
+ * valorile fiind in ordinea grupurilor (ex: Full House K K K 2 2, pereche 5 5 A K Q).
+ */
+public final class LookupHandEvaluator {
+
+    public static final int HIGH_CARD = 0;
+    public static final int ONE_PAIR = 1;
+    public static final int TWO_PAIR = 2;
+    public static final int THREE_OF_A_KIND = 3;
+    public static final int STRAIGHT = 4;
+    public static final int FLUSH = 5;
+    public static final int FULL_HOUSE = 6;
+    public static final int FOUR_OF_A_KIND = 7;
+    public static final int STRAIGHT_FLUSH = 8;
+
+    private static final String[] HAND_NAMES = {
+            "High Card", "One Pair", "Two Pair", "Three of a Kind", "Straight",
+            "Flush", "Full House", "Four of a Kind", "Straight Flush"
+    };
+
+    private static final int RANK_MASK = 0x1FFF;
+
+    // Pentru fiecare masca de ranguri: indexul cartii de sus a celei mai mari chinte (-1 = fara chinta)
+    private static final byte[] STRAIGHT_HIGH = new byte[RANK_MASK + 1];
+    // Pentru fiecare masca de ranguri: primele 5 valori (2..14) impachetate pe cate 4 biti, cea mai mare in fata
+    private static final int[] TOP_FIVE = new int[RANK_MASK + 1];
+
+    static {
+        for (int mask = 0; mask <= RANK_MASK; mask++) {
+            int high = -1;
+            for (int top = 12; top >= 4 && high < 0; top--) {
+                if (((mask >>> (top - 4)) & 0x1F) == 0x1F) high = top;
+            }
+            // Chinta A-2-3-4-5: asul e folosit ca 1, cartea de sus este 5 (index 3)
+            if (high < 0 && (mask & 0x100F) == 0x100F) high = 3;
+            STRAIGHT_HIGH[mask] = (byte) high;
+
+            int packed = 0;
+            int rest = mask;
+            for (int i = 0; i < 5; i++) {
+                packed <<= 4;
+                if (rest != 0) {
+                    int r = 31 - Integer.numberOfLeadingZeros(rest);
+                    packed |= r + 2;
+                    rest &= ~(1 << r);
+                }
+            }
+            TOP_FIVE[mask] = packed;
+        }
+    }
+
+    private LookupHandEvaluator() {}
+
+    public static int evaluate(int c0, int c1, int c2, int c3, int c4, int c5, int c6) {
+        return evaluateMasks(bit(c0) | bit(c1) | bit(c2) | bit(c3) | bit(c4) | bit(c5) | bit(c6));
+    }
+
+    public static int evaluate(int[] cards, int count) {
+        long masks = 0;
+        for (int i = 0; i < count; i++) masks |= bit(cards[i]);
+        return evaluateMasks(masks);
+    }
+
+    public static int evaluate(List<Card> cards) {
+        long masks = 0;
+        for (int i = 0; i < cards.size(); i++) masks |= bit(cards.get(i).getCode());
+        return evaluateMasks(masks);
+    }
+
+    // Cartile proprii + cartile de pe masa, fara sa construim o lista comuna
+    public static int evaluate(List<Card> hand, List<Card> board) {
+        long masks = 0;
+        for (int i = 0; i < hand.size(); i++) masks |= bit(hand.get(i).getCode());
+        for (int i = 0; i < board.size(); i++) masks |= bit(board.get(i).getCode());
+        return evaluateMasks(masks);
+    }
+
+    // Cate o masca de 13 biti per culoare, la offset-uri de 16 biti; mastile mai multor carti se combina cu OR
+    public static long bit(int card) {
+        return 1L << (((card & 3) << 4) + (card >>> 2));
+    }
+
+    public static int evaluateMasks(long masks) {
+        int s0 = (int) (masks & RANK_MASK);
+        int s1 = (int) ((masks >>> 16) & RANK_MASK);
+        int s2 = (int) ((masks >>> 32) & RANK_MASK);
+        int s3 = (int) ((masks >>> 48) & RANK_MASK);
+
+        // Culoare (la 7 carti nu poate coexista cu careu sau full house)
+        int flush = Integer.bitCount(s0) >= 5 ? s0
+                : Integer.bitCount(s1) >= 5 ? s1
+                : Integer.bitCount(s2) >= 5 ? s2
+                : Integer.bitCount(s3) >= 5 ? s3 : 0;
+        if (flush != 0) {
+            int high = STRAIGHT_HIGH[flush];
+            if (high >= 0) return straight(STRAIGHT_FLUSH, high);
+            return (FLUSH << 20) | TOP_FIVE[flush];
+        }
+
+        // Rangurile care apar de cel putin 1, 2, 3, 4 ori
+        int atLeast1 = s0 | s1 | s2 | s3;
+        int atLeast2 = (s0 & s1) | (s0 & s2) | (s0 & s3) | (s1 & s2) | (s1 & s3) | (s2 & s3);
+        int atLeast3 = (s0 & s1 & s2) | (s0 & s1 & s3) | (s0 & s2 & s3) | (s1 & s2 & s3);
+        int quads = s0 & s1 & s2 & s3;
+
+        if (quads != 0) {
+            int q = top(quads);
+            return (FOUR_OF_A_KIND << 20) | repeat(q, 4) << 4 | (TOP_FIVE[atLeast1 & ~(1 << q)] >>> 16);
+        }
+        if (atLeast3 != 0) {
+            int t = top(atLeast3);
+            int pairs = atLeast2 & ~(1 << t);
+            if (pairs != 0) {
+                int p = top(pairs);
+                return (FULL_HOUSE << 20) | repeat(t, 3) << 8 | repeat(p, 2);
+            }
+        }
+        int high = STRAIGHT_HIGH[atLeast1];
+        if (high >= 0) return straight(STRAIGHT, high);
+
+        if (atLeast3 != 0) {
+            int t = top(atLeast3);
+            return (THREE_OF_A_KIND << 20) | repeat(t, 3) << 8 | (TOP_FIVE[atLeast1 & ~(1 << t)] >>> 12);
+        }
+        if (Integer.bitCount(atLeast2) >= 2) {
+            int hp = top(atLeast2);
+            int lp = top(atLeast2 & ~(1 << hp));
+            return (TWO_PAIR << 20) | repeat(hp, 2) << 12 | repeat(lp, 2) << 4
+                    | (TOP_FIVE[atLeast1 & ~(1 << hp) & ~(1 << lp)] >>> 16);
+        }
+        if (atLeast2 != 0) {
+            int p = top(atLeast2);
+            return (ONE_PAIR << 20) | repeat(p, 2) << 12 | (TOP_FIVE[atLeast1 & ~(1 << p)] >>> 8);
+        }
+        return (HIGH_CARD << 20) | TOP_FIVE[atLeast1];
+    }
+
+    private static int top(int mask) {
+        return 31 - Integer.numberOfLeadingZeros(mask);
+    }
+
+    // Valoarea rangului (2..14) repetata de n ori, cate 4 biti
+    private static int repeat(int rank, int n) {
+        int value = rank + 2;
+        int packed = 0;
+        for (int i = 0; i < n; i++) packed = (packed << 4) | value;
+        return packed;
+    }
+
+    private static int straight(int category, int high) {
+        int packed = 0;
+        for (int i = 0; i < 5; i++) {
+            // La chinta A-2-3-4-5 ultima valoare iese 1 (asul jos)
+            packed = (packed << 4) | (high + 2 - i);
+        }
+        return (category << 20) | packed;
+    }
+
+    public static int category(int strength) {
+        return strength >>> 20;
+    }
+
+    // Conversie pentru UI / departajare: rang, nume si valorile celor 5 carti
+    public static EvaluatedHand toEvaluatedHand(int strength) {
+        List<Integer> values = new ArrayList<>(5);
+        for (int shift = 16; shift >= 0; shift -= 4) {
+            values.add((strength >>> shift) & 0xF);
+        }
+        int category = category(strength);
+        return new EvaluatedHand(category, HAND_NAMES[category], values);
+    }
+}
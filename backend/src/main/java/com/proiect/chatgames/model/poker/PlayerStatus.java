@@ -0,0 +1,38 @@
+package com.proiect.chatgames.model.poker;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * Statusul unui jucator in mana curenta. In JSON ramane textul de pana acum ("active", "all-in" etc.),
+ * dar motorul compara valori enum, nu siruri.
+ */
+public enum PlayerStatus {
+    ACTIVE("active"),
+    FOLDED("folded"),
+    ALL_IN("all-in"),
+    OUT("out"),
+    WAITING("waiting");
+
+    private final String label;
+
+    PlayerStatus(String label) {
+        this.label = label;
+    }
+
+    @JsonValue
+    public String getLabel() {
+        return label;
+    }
+
+    // Poate inca castiga pot-ul (a primit carti, nu a dat fold si nu a iesit din joc)
+    public boolean inHand() {
+        return this == ACTIVE || this == ALL_IN;
+    }
+
+    public static PlayerStatus fromLabel(String label) {
+        for (PlayerStatus s : values()) {
+            if (s.label.equals(label)) return s;
+        }
+        throw new IllegalArgumentException("Status necunoscut: " + label);
+    }
+}
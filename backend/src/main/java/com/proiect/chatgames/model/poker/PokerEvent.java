@@ -0,0 +1,13 @@
+package com.proiect.chatgames.model.poker;
+
+import java.util.Map;
+
+/**
+ * O modificare mica a mesei (bet, fold, street, pot, showdown), trimisa clientilor in locul starii complete.
+ * seq creste cu 1 la fiecare eveniment; clientul care vede un gol cere din nou snapshot-ul ("poker_resync").
+ */
+public record PokerEvent(
+        long seq,
+        String event,
+        Map<String, Object> data
+) {}
@@ -1,11 +1,15 @@
 package com.proiect.chatgames.model.poker;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.proiect.chatgames.actor.GameMailbox;
 import lombok.Data;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Data
 public class PokerGame {
+    private static final int INITIAL_SEATS = 10;
+
     private String gameId;
     private String creatorUsername;
     private String password;
@@ -17,9 +21,30 @@ public class PokerGame {
     private int bigBlind = 20;
     private int minPlayers = 2;
     private int maxPlayers = 9;
+    // Ceasul de tura: timpul de baza per actiune si rezerva de timp a fiecarui jucator la intrare
+    private long turnTimeoutMs = 30000;
+    private long timeBankMs = 60000;
 
     // Stare Joc
-    private List<Card> deck = new ArrayList<>();
+    // Pachetul (coduri int, refolosit) si seed-ul cu care a fost amestecat pentru mana curenta
+    @JsonIgnore
+    private final Deck deck = new Deck();
+    @JsonIgnore
+    private long handSeed;
+
+    // Creste la fiecare modificare a mesei; starea publica se construieste si se serializeaza o data per versiune
+    @JsonIgnore
+    private volatile long stateVersion = 0;
+
+    // Evenimentele produse de ultima comanda, in ordine; GameService le scoate si le trimite ca diferente
+    @JsonIgnore
+    private long eventSeq = 0;
+    @JsonIgnore
+    private final List<PokerEvent> pendingEvents = new ArrayList<>();
+    // false = nu mai construim evenimente (simulari, benchmark-uri): motorul nu aloca nimic per actiune,
+    // dar nici secventa evenimentelor nu mai avanseaza, deci mesele cu clienti il lasa pe true
+    @JsonIgnore
+    private boolean recordEvents = true;
     private List<Card> board = new ArrayList<>();
     private int pot = 0;
     private boolean inProgress = false;
@@ -27,9 +52,72 @@ public class PokerGame {
     private int dealerIndex = -1;
     private int currentPlayerIndex = -1;
     private PokerPlayer lastRaiser = null;
-
-    private static final String[] SUITS = {"h", "d", "c", "s"};
-    private static final String[] RANKS = {"2", "3", "4", "5", "6", "7", "8", "9", "T", "J", "Q", "K", "A"};
+    // Agregate tinute la zi la fiecare pariu si schimbare de status: o actiune nu mai parcurge si nu mai filtreaza lista
+    @JsonIgnore
+    private int highestBet = 0;
+    @JsonIgnore
+    private int betsTotal = 0;
+    @JsonIgnore
+    private int activeCount = 0;   // mai pot paria
+    @JsonIgnore
+    private int inHandCount = 0;   // nu au dat fold
+    // Creste dupa fiecare actiune si la fiecare mana noua; ceasul de tura stie astfel daca termenul mai e valabil
+    @JsonIgnore
+    private long turnNumber = 0;
+
+    // Locurile mainii curente, pe index (PokerPlayer.seat): cei care au primit carti, apoi cei intrati in timpul mainii.
+    // Array-uri refolosite de la o mana la alta; contributia ramane si dupa plecare (pentru pot-urile laterale)
+    @JsonIgnore
+    private String[] seatTokens = new String[INITIAL_SEATS];
+    @JsonIgnore
+    private int[] seatStacks = new int[INITIAL_SEATS];
+    @JsonIgnore
+    private int[] contributions = new int[INITIAL_SEATS];
+    @JsonIgnore
+    private int seatCount = 0;
+
+    // Istoricul mainii curente; la showdown devine un HandHistory pe care GameService il scrie in jurnal.
+    // Actiunile sunt impachetate intr-un long: loc (8 biti) | cod actiune (8 biti) | suma (32 biti)
+    @JsonIgnore
+    private boolean handOpen = false;
+    @JsonIgnore
+    private long handStartedAt;
+    @JsonIgnore
+    private int handDealtIn;
+    // Dealer-ul de la inceputul mainii (index in locurile mainii): removePlayer muta dealerIndex, istoricul nu
+    @JsonIgnore
+    private int handDealerIndex;
+    @JsonIgnore
+    private long[] handActions = new long[64];
+    @JsonIgnore
+    private int actionCount = 0;
+    @JsonIgnore
+    private HandHistory completedHand;
+
+    // Persistenta: incarnarea mesei (un ID refolosit primeste alta) si numarul ultimei comenzi scrise in log
+    @JsonIgnore
+    private long storeGeneration = 0;
+    @JsonIgnore
+    private long storeSeq = 0;
+
+    // Turneul din care face parte masa (null = masa obisnuita); mainile si locurile le decide directorul
+    private String tournamentId;
+
+    // Toate comenzile pentru aceasta masa trec prin cutia ei postala (executie seriala)
+    @JsonIgnore
+    private final GameMailbox mailbox = new GameMailbox();
+
+    // Spectatorii mesei (useri fara loc): primesc doar frame-urile publice; modificat doar din cutia postala
+    @JsonIgnore
+    private final Set<String> spectators = new HashSet<>();
+
+    // Ultima stare publica publicata; cititorii din afara cutiei postale folosesc doar aceasta referinta
+    @JsonIgnore
+    private volatile PokerTableSnapshot snapshot;
+
+    // Rezumatul pentru lobby; se inlocuieste doar cand se schimba ceva vizibil in lobby
+    @JsonIgnore
+    private volatile PokerLobbySummary lobbySummary;
 
     public PokerGame(String gameId, String creatorUsername, String password, int smallBlind, int bigBlind, int maxPlayers) {
         this.gameId = gameId;
@@ -38,6 +126,20 @@ public class PokerGame {
         this.smallBlind = smallBlind;
         this.bigBlind = bigBlind;
         this.maxPlayers = maxPlayers;
+        refreshLobbySummary();
+    }
+
+    // Apelat dupa fiecare comanda: publica snapshot-ul; intoarce true daca rezumatul din lobby s-a schimbat
+    public boolean refreshLobbySummary() {
+        PokerTableSnapshot table = publishSnapshot();
+        int seats = table.players().size();
+        PokerLobbySummary next = new PokerLobbySummary(
+                gameId, table.creatorUsername(), smallBlind, bigBlind,
+                seats, Math.max(0, table.maxPlayers() - seats), table.maxPlayers(),
+                table.round(), table.inProgress(), password != null && !password.isEmpty());
+        if (next.equals(lobbySummary)) return false;
+        lobbySummary = next;
+        return true;
     }
 
     public void addPlayer(String token, String username, int stack) {
@@ -46,71 +148,140 @@ public class PokerGame {
 
         PokerPlayer player = new PokerPlayer(username, stack);
         player.setToken(token);
+        player.setTimeBankMs(timeBankMs);
+        // Intrat in timpul mainii: nu are carti, asteapta mana urmatoare
+        if (handOpen) player.setStatus(PlayerStatus.WAITING);
         players.add(player);
         playersByToken.put(token, player);
+        stateVersion++;
+        resetEvents();
+        rebuildAggregates();
+
+        if (handOpen) {
+            addSeat(player);
+            logAction(player.getSeat(), HandHistory.actionCode("join"), stack);
+        }
     }
 
     public void removePlayer(String token) {
         PokerPlayer p = playersByToken.get(token);
         if (p == null) return;
+        int index = players.indexOf(p);
+        if (index < 0) {
+            // Nu mai are loc la masa (eliminat fara bani): ramasese doar in index
+            playersByToken.remove(token);
+            return;
+        }
+        if (handOpen) logAction(p.getSeat(), HandHistory.actionCode("leave"), 0);
 
         // Daca era randul lui, dam fold automat
-        if (inProgress && !p.getStatus().equals("folded") &&
+        if (inProgress && p.getStatus() != PlayerStatus.FOLDED &&
                 currentPlayerIndex >= 0 && currentPlayerIndex < players.size() &&
                 players.get(currentPlayerIndex).getToken().equals(token)) {
-            handlePlayerAction(token, "fold", 0);
+            applyAction(token, "fold", 0);
         } else {
-            p.setStatus("folded");
+            changeStatus(p, PlayerStatus.FOLDED);
         }
 
-        players.remove(p);
-        playersByToken.remove(token);
-
+        // Pariul lui din runda curenta ramane in pot
         if (inProgress) {
-            long activeCount = players.stream().filter(pl -> !pl.getStatus().equals("folded") && !pl.getStatus().equals("out")).count();
-            if (activeCount <= 1) determineWinners();
+            pot += p.getCurrentBet();
+            p.setCurrentBet(0);
         }
+        // Fold-ul poate inchide mana: luam pozitia din nou
+        index = players.indexOf(p);
+        players.remove(index);
+        playersByToken.remove(token);
+        // Indexurile de dupa el s-au mutat cu o pozitie
+        if (index < currentPlayerIndex) currentPlayerIndex--;
+        if (index < dealerIndex) dealerIndex--;
+        if (currentPlayerIndex >= players.size()) currentPlayerIndex = players.isEmpty() ? -1 : 0;
+        stateVersion++;
+        rebuildAggregates();
+
+        if (inProgress && !round.equals("showdown") && inHandCount <= 1) determineWinners();
+        // Plecarea unui jucator schimba lista de locuri: clientii primesc snapshot, nu diferente
+        resetEvents();
     }
 
     public void startGame() {
+        startGame(ThreadLocalRandom.current().nextLong());
+    }
+
+    // Cu seed explicit: aceeasi ordine a cartilor, pentru replay
+    public void startGame(long seed) {
+        startGame(seed, null);
+    }
+
+    // Cu un pachet deja amestecat (DeckPool); seed-ul lui ramane in istoric, ca la replay
+    public void startGame(ShuffledDeck prepared) {
+        startGame(prepared.seed(), prepared);
+    }
+
+    private void startGame(long seed, ShuffledDeck prepared) {
         if (players.size() < minPlayers) throw new IllegalArgumentException("Nu sunt suficienti jucatori.");
         if (inProgress) throw new IllegalArgumentException("Jocul este deja pornit.");
         inProgress = true;
-        setupNewHand();
+        setupNewHand(seed, prepared);
     }
 
     public void startNewHand() {
+        startNewHand(ThreadLocalRandom.current().nextLong());
+    }
+
+    public void startNewHand(ShuffledDeck prepared) {
+        startNewHand(prepared.seed(), prepared);
+    }
+
+    public void startNewHand(long seed) {
+        startNewHand(seed, null);
+    }
+
+    private void startNewHand(long seed, ShuffledDeck prepared) {
         if (!round.equals("showdown") && !round.equals("pre-game")) {
             // throw new IllegalArgumentException("Mana curenta nu s-a terminat.");
             // Pentru robustete, permitem restart daca e blocat, dar ideal aruncam eroare
         }
         inProgress = true;
-        setupNewHand();
+        setupNewHand(seed, prepared);
     }
 
-    private void setupNewHand() {
+    private void setupNewHand(long seed, ShuffledDeck prepared) {
+        stateVersion++;
+        turnNumber++;
+        resetEvents();
+        // O mana neterminata (restart) nu ajunge in istoric
+        handOpen = false;
         pot = 0;
         board.clear();
-        players.forEach(PokerPlayer::resetForNewHand);
+        for (PokerPlayer p : players) p.resetForNewHand();
 
-        // Eliminam jucatorii fara bani
-        players = players.stream().filter(p -> !p.getStatus().equals("out")).collect(Collectors.toList());
+        // Eliminam jucatorii fara bani (pe loc, fara o lista noua), si din lista si din index
+        for (int i = players.size() - 1; i >= 0; i--) {
+            if (players.get(i).getStatus() == PlayerStatus.OUT) playersByToken.remove(players.remove(i).getToken());
+        }
+        rebuildAggregates();
         if (players.size() < minPlayers) {
             inProgress = false;
             return;
         }
 
-        // Generam pachetul
-        deck.clear();
-        for (String s : SUITS) {
-            for (String r : RANKS) {
-                deck.add(new Card(r, s));
-            }
-        }
-        Collections.shuffle(deck);
+        // Amestecam pachetul refolosit (fara carti noi alocate), sau copiem ordinea pregatita dinainte
+        handSeed = seed;
+        if (prepared != null) deck.load(prepared);
+        else deck.shuffle(seed);
 
         // Blinds
         dealerIndex = (dealerIndex + 1) % players.size();
+
+        // Locurile si stack-urile de dinainte de blinds, pentru istoric
+        handOpen = true;
+        handStartedAt = System.currentTimeMillis();
+        handDealtIn = players.size();
+        handDealerIndex = dealerIndex;
+        seatCount = 0;
+        actionCount = 0;
+        for (PokerPlayer p : players) addSeat(p);
         int sbIndex = (dealerIndex + 1) % players.size();
         int bbIndex = (dealerIndex + 2) % players.size();
 
@@ -120,253 +291,414 @@ public class PokerGame {
         // Impartim carti (2 de fiecare)
         for (int i = 0; i < 2; i++) {
             for (PokerPlayer p : players) {
-                if (!p.getStatus().equals("out")) p.getHand().add(deck.remove(deck.size() - 1));
+                p.getHand().add(deck.deal());
             }
         }
 
         currentPlayerIndex = (bbIndex + 1) % players.size();
-        ensureActivePlayer();
-
         lastRaiser = players.get(bbIndex);
         round = "pre-flop";
+
+        // Blind-urile pot lasa jucatorii all-in: daca nu mai are nimeni de decis, impartim direct pana la showdown
+        if (!ensureActivePlayer() || (activeCount == 1 && players.get(currentPlayerIndex).getCurrentBet() >= highestBet)) {
+            advanceToNextState();
+        }
     }
 
     private void postBlind(PokerPlayer p, int amount) {
-        int blind = Math.min(p.getStack(), amount);
-        p.setStack(p.getStack() - blind);
-        p.setCurrentBet(blind);
+        contribute(p, Math.min(p.getStack(), amount));
+    }
+
+    // Muta fise din stack in pariul curent; cine ramane fara fise este all-in
+    private void contribute(PokerPlayer p, int amount) {
+        p.setStack(p.getStack() - amount);
+        p.setCurrentBet(p.getCurrentBet() + amount);
+        betsTotal += amount;
+        if (p.getCurrentBet() > highestBet) highestBet = p.getCurrentBet();
+        if (p.getSeat() >= 0) contributions[p.getSeat()] += amount;
+        if (p.getStack() == 0) changeStatus(p, PlayerStatus.ALL_IN);
+    }
+
+    // Orice schimbare de status in timpul mainii trece pe aici, ca numaratorile sa ramana corecte
+    private void changeStatus(PokerPlayer p, PlayerStatus status) {
+        PlayerStatus old = p.getStatus();
+        if (old == status) return;
+        if (old == PlayerStatus.ACTIVE) activeCount--;
+        if (old.inHand()) inHandCount--;
+        if (status == PlayerStatus.ACTIVE) activeCount++;
+        if (status.inHand()) inHandCount++;
+        p.setStatus(status);
+    }
+
+    // Recalculeaza agregatele din lista de jucatori: la schimbari de locuri, la mana noua si dupa restaurare
+    public void rebuildAggregates() {
+        highestBet = 0;
+        betsTotal = 0;
+        activeCount = 0;
+        inHandCount = 0;
+        for (PokerPlayer p : players) {
+            highestBet = Math.max(highestBet, p.getCurrentBet());
+            betsTotal += p.getCurrentBet();
+            if (p.getStatus() == PlayerStatus.ACTIVE) activeCount++;
+            if (p.getStatus().inHand()) inHandCount++;
+        }
+    }
+
+    private void addSeat(PokerPlayer p) {
+        if (seatCount == seatTokens.length) {
+            seatTokens = Arrays.copyOf(seatTokens, seatCount * 2);
+            seatStacks = Arrays.copyOf(seatStacks, seatCount * 2);
+            contributions = Arrays.copyOf(contributions, seatCount * 2);
+        }
+        seatTokens[seatCount] = p.getToken();
+        seatStacks[seatCount] = p.getStack();
+        contributions[seatCount] = 0;
+        p.setSeat(seatCount++);
+    }
+
+    private void logAction(int seat, int code, int amount) {
+        if (actionCount == handActions.length) handActions = Arrays.copyOf(handActions, actionCount * 2);
+        handActions[actionCount++] = ((long) (seat & 0xFF) << 40) | ((long) code << 32) | (amount & 0xFFFFFFFFL);
+    }
+
+    private static HandHistory.Action unpackAction(long packed) {
+        return new HandHistory.Action((byte) (packed >>> 40), HandHistory.actionType((int) (packed >>> 32) & 0xFF), (int) packed);
     }
 
     public void handlePlayerAction(String token, String action, int amount) {
         if (round.equals("showdown")) return;
+        String type = action.toLowerCase();
+        int code = HandHistory.actionCode(type);
+        if (code < 0 || type.equals("leave") || type.equals("join")) {
+            throw new IllegalArgumentException("Actiune necunoscuta.");
+        }
+
+        // Actiunea intra in istoric doar daca motorul o accepta
+        int mark = actionCount;
+        PokerPlayer actor = playersByToken.get(token);
+        if (handOpen) logAction(actor != null ? actor.getSeat() : -1, code, amount);
+        try {
+            applyAction(token, type, amount);
+        } catch (IllegalArgumentException e) {
+            actionCount = mark;
+            throw e;
+        }
+    }
+
+    private void applyAction(String token, String action, int amount) {
+        if (round.equals("showdown")) return;
 
         PokerPlayer player = playersByToken.get(token);
-        if (player == null || !players.get(currentPlayerIndex).getToken().equals(token)) {
+        if (player == null || currentPlayerIndex < 0 || !players.get(currentPlayerIndex).getToken().equals(token)) {
             throw new IllegalArgumentException("Nu este randul tau.");
         }
 
-        int highestBet = players.stream().mapToInt(PokerPlayer::getCurrentBet).max().orElse(0);
-
-        switch (action.toLowerCase()) {
+        // action vine deja cu litere mici (handlePlayerAction / removePlayer)
+        switch (action) {
             case "fold":
-                player.setStatus("folded");
+                changeStatus(player, PlayerStatus.FOLDED);
                 break;
             case "check":
                 if (player.getCurrentBet() < highestBet) throw new IllegalArgumentException("Nu poti da check.");
                 break;
             case "call":
-                int callAmt = highestBet - player.getCurrentBet();
-                if (callAmt >= player.getStack()) {
-                    player.setCurrentBet(player.getCurrentBet() + player.getStack());
-                    player.setStack(0);
-                    player.setStatus("all-in");
-                } else {
-                    player.setStack(player.getStack() - callAmt);
-                    player.setCurrentBet(player.getCurrentBet() + callAmt);
-                }
+                // Cine nu are destule fise intra all-in cu cat are
+                contribute(player, Math.min(highestBet - player.getCurrentBet(), player.getStack()));
                 break;
             case "raise":
                 int totalBet = amount;
                 int raiseAmt = totalBet - player.getCurrentBet();
-                if (totalBet < highestBet + bigBlind) throw new IllegalArgumentException("Raise prea mic.");
                 if (raiseAmt > player.getStack()) throw new IllegalArgumentException("Fonduri insuficiente.");
+                // Sub raise-ul minim e voie doar cu toate fisele (all-in), si tot trebuie sa fie peste call
+                boolean allIn = raiseAmt == player.getStack() && totalBet > highestBet;
+                if (totalBet < highestBet + bigBlind && !allIn) throw new IllegalArgumentException("Raise prea mic.");
 
-                player.setStack(player.getStack() - raiseAmt);
-                player.setCurrentBet(totalBet);
+                contribute(player, raiseAmt);
                 lastRaiser = player;
-                if (player.getStack() == 0) player.setStatus("all-in");
                 break;
         }
 
         player.setHasActed(true);
+        stateVersion++;
+        turnNumber++;
+
+        // Evenimentul actiunii pleaca primul; "next" se completeaza dupa ce stim cine urmeaza
+        Map<String, Object> data = null;
+        if (recordEvents) {
+            data = new HashMap<>();
+            data.put("token", token);
+            if (player.getStatus() != PlayerStatus.FOLDED) {
+                data.put("action", action);
+                data.put("stack", player.getStack());
+                data.put("currentBet", player.getCurrentBet());
+                data.put("status", player.getStatus());
+                data.put("pot", pot + betsTotal);
+            }
+            emit(player.getStatus() == PlayerStatus.FOLDED ? "fold" : "bet", data);
+        }
 
-        if (isRoundComplete()) {
+        // Dupa un fold poate ramane un singur jucator in mana: castiga fara sa mai fie intrebat
+        if (inHandCount <= 1 || isRoundComplete()) {
+            if (data != null) data.put("next", null);
             advanceToNextState();
         } else {
             moveToNextPlayer();
+            if (data != null) data.put("next", getCurrentPlayerToken());
         }
     }
 
     private void advanceToNextState() {
-        // Colectam banii in pot
-        players.forEach(p -> {
-            pot += p.getCurrentBet();
-            p.setCurrentBet(0);
-            if (p.getStatus().equals("active")) p.setHasActed(false);
-        });
+        collectBets();
+        if (recordEvents) emit("pot", Map.of("pot", pot));
 
-        long activeCount = players.stream().filter(p -> !p.getStatus().equals("folded") && !p.getStatus().equals("out")).count();
-        if (activeCount <= 1) {
+        if (inHandCount <= 1) {
             determineWinners();
             return;
         }
 
+        // Cu mai putin de doi jucatori care pot paria nu mai are cine sa decida: dam cartile ramase pana la showdown
+        boolean runOut = activeCount < 2;
+        int dealt;
+        do {
+            if (round.equals("river")) {
+                determineWinners();
+                return;
+            }
+            dealt = board.size();
+            dealNextStreet();
+            if (runOut) emitStreet(dealt, null);
+        } while (runOut);
+
+        currentPlayerIndex = (dealerIndex + 1) % players.size();
+        ensureActivePlayer();
+        lastRaiser = null;
+        emitStreet(dealt, getCurrentPlayerToken());
+    }
+
+    private void dealNextStreet() {
         switch (round) {
             case "pre-flop":
                 round = "flop";
-                deck.remove(deck.size() - 1); // Burn
-                board.add(deck.remove(deck.size() - 1));
-                board.add(deck.remove(deck.size() - 1));
-                board.add(deck.remove(deck.size() - 1));
+                deck.burn();
+                board.add(deck.deal());
+                board.add(deck.deal());
+                board.add(deck.deal());
                 break;
             case "flop":
                 round = "turn";
-                deck.remove(deck.size() - 1);
-                board.add(deck.remove(deck.size() - 1));
+                deck.burn();
+                board.add(deck.deal());
                 break;
             case "turn":
                 round = "river";
-                deck.remove(deck.size() - 1);
-                board.add(deck.remove(deck.size() - 1));
+                deck.burn();
+                board.add(deck.deal());
                 break;
-            case "river":
-                determineWinners();
-                return;
         }
+    }
 
-        currentPlayerIndex = (dealerIndex + 1) % players.size();
-        ensureActivePlayer();
-        lastRaiser = null;
+    private void emitStreet(int dealt, String next) {
+        if (!recordEvents) return;
+        Map<String, Object> street = new HashMap<>();
+        street.put("round", round);
+        street.put("cards", new ArrayList<>(board.subList(dealt, board.size())));
+        street.put("next", next);
+        emit("street", street);
     }
 
-    private void determineWinners() {
-        // Colectam ultimele pariuri
-        players.forEach(p -> {
+    private void collectBets() {
+        for (PokerPlayer p : players) {
             pot += p.getCurrentBet();
             p.setCurrentBet(0);
-        });
+            if (p.getStatus() == PlayerStatus.ACTIVE) p.setHasActed(false);
+        }
+        highestBet = 0;
+        betsTotal = 0;
+    }
+
+    private void determineWinners() {
+        // Colectam ultimele pariuri
+        collectBets();
 
-        List<PokerPlayer> contenders = players.stream()
-                .filter(p -> !p.getStatus().equals("folded") && !p.getStatus().equals("out"))
-                .collect(Collectors.toList());
+        List<PokerPlayer> contenders = new ArrayList<>();
+        for (PokerPlayer p : players) {
+            if (p.getStatus().inHand()) contenders.add(p);
+        }
 
+        int[] payouts = new int[seatCount];
         if (contenders.size() == 1) {
-            contenders.get(0).setStack(contenders.get(0).getStack() + pot);
-            contenders.get(0).setWinner(true);
+            award(contenders.get(0), pot, payouts);
             contenders.get(0).setEvaluatedHand(new EvaluatedHand(0, "Castigator prin abandon", null));
-        } else {
+        } else if (contenders.size() > 1) {
+            // Puterea mainii este un singur int comparabil (include si departajarea pe kickeri)
+            int[] strengths = new int[contenders.size()];
+            for (int i = 0; i < contenders.size(); i++) {
+                PokerPlayer p = contenders.get(i);
+                strengths[i] = LookupHandEvaluator.evaluate(p.getHand(), board);
+                p.setEvaluatedHand(LookupHandEvaluator.toEvaluatedHand(strengths[i]));
+            }
+
+            // Pot-uri laterale: fiecare nivel de contributie al celor ramasi formeaza un pot,
+            // la care au drept doar cei care au pus cel putin atat
+            int[] levels = new int[contenders.size()];
+            for (int i = 0; i < contenders.size(); i++) levels[i] = contributionOf(contenders.get(i));
+            Arrays.sort(levels);
+
+            int previous = 0;
+            int distributed = 0;
             List<PokerPlayer> winners = new ArrayList<>();
-            EvaluatedHand bestHand = new EvaluatedHand(-1, "", new ArrayList<>());
-
-            for (PokerPlayer p : contenders) {
-                List<Card> allCards = new ArrayList<>(p.getHand());
-                allCards.addAll(board);
-                EvaluatedHand eval = PokerHandEvaluator.evaluateHand(allCards);
-                p.setEvaluatedHand(eval);
-
-                if (eval.getRank() > bestHand.getRank()) {
-                    bestHand = eval;
-                    winners.clear();
-                    winners.add(p);
-                } else if (eval.getRank() == bestHand.getRank()) {
-                    // Tie-breaker
-                    boolean isNewBest = false;
-                    boolean isTie = true;
-                    for (int i = 0; i < eval.getHighCardValues().size(); i++) {
-                        if (eval.getHighCardValues().get(i) > bestHand.getHighCardValues().get(i)) {
-                            isNewBest = true; isTie = false; break;
-                        }
-                        if (eval.getHighCardValues().get(i) < bestHand.getHighCardValues().get(i)) {
-                            isTie = false; break;
-                        }
-                    }
-                    if (isNewBest) {
-                        bestHand = eval;
+            for (int level : levels) {
+                if (level == previous) continue;
+                int layer = 0;
+                for (int s = 0; s < seatCount; s++) layer += Math.min(contributions[s], level) - Math.min(contributions[s], previous);
+
+                winners.clear();
+                int best = -1;
+                for (int i = 0; i < contenders.size(); i++) {
+                    if (contributionOf(contenders.get(i)) < level) continue;
+                    if (strengths[i] > best) {
+                        best = strengths[i];
                         winners.clear();
-                        winners.add(p);
-                    } else if (isTie) {
-                        winners.add(p);
                     }
+                    if (strengths[i] == best) winners.add(contenders.get(i));
                 }
+                splitPot(layer, winners, payouts);
+                distributed += layer;
+                previous = level;
             }
-
-            if (!winners.isEmpty()) {
-                int share = pot / winners.size();
-                winners.forEach(w -> {
-                    w.setWinner(true);
-                    w.setStack(w.getStack() + share);
-                });
-            }
+            // Fisele puse peste ultimul nivel de jucatori care au dat fold merg la castigatorii ultimului pot
+            if (pot > distributed && !winners.isEmpty()) splitPot(pot - distributed, winners, payouts);
         }
         round = "showdown";
         currentPlayerIndex = -1;
+        closeHandHistory(payouts);
+
+        // Cartile si stack-urile tuturor se schimba o data pe mana, deci trimitem lista de jucatori intreaga
+        if (!recordEvents) return;
+        Map<String, Object> showdown = new HashMap<>();
+        showdown.put("pot", pot);
+        showdown.put("players", seatSnapshots());
+        emit("showdown", showdown);
+    }
+
+    // Impartire egala; fisele care nu se impart exact merg primilor castigatori din stanga dealer-ului
+    private void splitPot(int amount, List<PokerPlayer> winners, int[] payouts) {
+        winners.sort(Comparator.comparingInt(w -> Math.floorMod(players.indexOf(w) - dealerIndex - 1, players.size())));
+        int share = amount / winners.size();
+        int remainder = amount % winners.size();
+        for (int i = 0; i < winners.size(); i++) {
+            award(winners.get(i), share + (i < remainder ? 1 : 0), payouts);
+        }
+    }
+
+    private void award(PokerPlayer p, int amount, int[] payouts) {
+        p.setWinner(true);
+        p.setStack(p.getStack() + amount);
+        if (handOpen && p.getSeat() >= 0) payouts[p.getSeat()] += amount;
+    }
+
+    private int contributionOf(PokerPlayer p) {
+        return p.getSeat() >= 0 ? contributions[p.getSeat()] : 0;
+    }
+
+    private void closeHandHistory(int[] payouts) {
+        if (!handOpen) return;
+        handOpen = false;
+        List<HandHistory.Seat> seats = new ArrayList<>(seatCount);
+        for (int i = 0; i < seatCount; i++) {
+            seats.add(new HandHistory.Seat(seatTokens[i], seatStacks[i], payouts[i]));
+        }
+        List<HandHistory.Action> actions = new ArrayList<>(actionCount);
+        for (int i = 0; i < actionCount; i++) actions.add(unpackAction(handActions[i]));
+        completedHand = new HandHistory(gameId, handSeed, handStartedAt, smallBlind, bigBlind, handDealerIndex,
+                handDealtIn, seats, actions, new ArrayList<>(board));
+    }
+
+    // Mana terminata de la ultimul apel (sau null); apelat din cutia postala, dupa fiecare comanda
+    public HandHistory takeCompletedHand() {
+        HandHistory hand = completedHand;
+        completedHand = null;
+        return hand;
+    }
+
+    private void emit(String event, Map<String, Object> data) {
+        pendingEvents.add(new PokerEvent(++eventSeq, event, data));
+    }
+
+    // Modificarile fara eveniment (loc ocupat/eliberat, mana noua) invalideaza secventa: urmeaza un snapshot
+    private void resetEvents() {
+        pendingEvents.clear();
+        eventSeq++;
+    }
+
+    // Scoate evenimentele produse de la ultimul apel (apelat din cutia postala, dupa fiecare comanda)
+    public List<PokerEvent> drainEvents() {
+        if (pendingEvents.isEmpty()) return List.of();
+        List<PokerEvent> events = new ArrayList<>(pendingEvents);
+        pendingEvents.clear();
+        return events;
     }
 
     private void moveToNextPlayer() {
-        int attempts = 0;
-        do {
-            currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
-            attempts++;
-            if (attempts > players.size() * 2) {
-                determineWinners(); // Fail-safe
-                return;
-            }
-        } while (!players.get(currentPlayerIndex).getStatus().equals("active"));
+        currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
+        if (!ensureActivePlayer()) determineWinners(); // Fail-safe
     }
 
-    private void ensureActivePlayer() {
-        if (currentPlayerIndex >= 0 && currentPlayerIndex < players.size()) {
-            while(!players.get(currentPlayerIndex).getStatus().equals("active")) {
-                currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
-            }
+    // Muta indexul pe primul jucator (de la cel curent) care mai poate actiona; false daca nu exista niciunul
+    private boolean ensureActivePlayer() {
+        if (currentPlayerIndex < 0 || currentPlayerIndex >= players.size()) return false;
+        for (int i = 0; i < players.size(); i++) {
+            if (players.get(currentPlayerIndex).getStatus() == PlayerStatus.ACTIVE) return true;
+            currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
         }
+        currentPlayerIndex = -1;
+        return false;
     }
 
+    // Runda e completa cand fiecare jucator care mai poate paria a actionat si a egalat pariul maxim
     private boolean isRoundComplete() {
-        List<PokerPlayer> active = players.stream().filter(p -> p.getStatus().equals("active")).collect(Collectors.toList());
-        if (active.isEmpty()) return true;
-
-        int highestBet = players.stream()
-                .filter(p -> !p.getStatus().equals("folded") && !p.getStatus().equals("out"))
-                .mapToInt(PokerPlayer::getCurrentBet).max().orElse(0);
-
-        return active.stream().allMatch(p -> p.isHasActed() && p.getCurrentBet() == highestBet);
-    }
-
-    // Metoda pentru a genera JSON-ul pentru frontend
-    public Map<String, Object> getPublicState(String userToken) {
-        Map<String, Object> state = new HashMap<>();
-        state.put("gameId", gameId);
-        state.put("creatorUsername", creatorUsername);
-        state.put("inProgress", inProgress);
-        state.put("round", round);
-        state.put("pot", pot + players.stream().mapToInt(PokerPlayer::getCurrentBet).sum());
-        state.put("board", board);
-        state.put("maxPlayers", maxPlayers);
-        state.put("minPlayers", minPlayers);
-        state.put("currentPlayerToken", currentPlayerIndex != -1 ? players.get(currentPlayerIndex).getToken() : null);
-
-        // Optiuni
-        Map<String, Integer> opts = new HashMap<>();
-        opts.put("smallBlind", smallBlind);
-        opts.put("bigBlind", bigBlind);
-        state.put("options", opts);
-
-        List<Map<String, Object>> publicPlayers = new ArrayList<>();
+        if (activeCount == 0) return true;
         for (PokerPlayer p : players) {
-            Map<String, Object> pMap = new HashMap<>();
-            pMap.put("username", p.getUsername());
-            pMap.put("stack", p.getStack());
-            pMap.put("currentBet", p.getCurrentBet());
-            pMap.put("status", p.getStatus());
-            pMap.put("isWinner", p.isWinner());
-            pMap.put("token", p.getToken()); // Pentru identificare in frontend
-
-            // Aratam cartile doar la Showdown sau daca e userul curent
-            if (round.equals("showdown") && !p.getStatus().equals("folded")) {
-                pMap.put("hand", p.getHand());
-                pMap.put("evaluatedHand", p.getEvaluatedHand());
-            } else if (p.getToken().equals(userToken)) {
-                // Nu punem mana aici, o trimitem separat prin mesajul "poker_hand"
-                // Dar frontend-ul tau pare sa astepte mana in lista de jucatori la showdown
-                pMap.put("hand", null);
-            } else {
-                pMap.put("hand", null);
-            }
-            publicPlayers.add(pMap);
+            if (p.getStatus() == PlayerStatus.ACTIVE && (!p.isHasActed() || p.getCurrentBet() != highestBet)) return false;
+        }
+        return true;
+    }
+
+    // Construieste si publica snapshot-ul versiunii curente (doar din cutia postala a mesei)
+    public PokerTableSnapshot publishSnapshot() {
+        PokerTableSnapshot current = snapshot;
+        if (current != null && current.stateVersion() == stateVersion) return current;
+
+        PokerTableSnapshot next = new PokerTableSnapshot(
+                gameId, stateVersion, eventSeq, creatorUsername, inProgress, round,
+                pot + betsTotal, List.copyOf(board), maxPlayers, minPlayers, getCurrentPlayerToken(),
+                Map.of("smallBlind", smallBlind, "bigBlind", bigBlind),
+                seatSnapshots());
+        snapshot = next;
+        return next;
+    }
+
+    private List<PokerTableSnapshot.Seat> seatSnapshots() {
+        boolean showdown = round.equals("showdown");
+        List<PokerTableSnapshot.Seat> seats = new ArrayList<>(players.size());
+        for (PokerPlayer p : players) {
+            boolean shown = showdown && p.getStatus().inHand();
+            seats.add(new PokerTableSnapshot.Seat(
+                    p.getUsername(), p.getToken(), p.getStack(), p.getCurrentBet(), p.getStatus(), p.isWinner(),
+                    shown ? List.copyOf(p.getHand()) : null,
+                    shown ? p.getEvaluatedHand() : null));
         }
-        state.put("players", publicPlayers);
+        return Collections.unmodifiableList(seats);
+    }
+
+    // Ce face jucatorul curent cand ii expira timpul: check daca se poate, altfel fold
+    public String timeoutAction() {
+        return players.get(currentPlayerIndex).getCurrentBet() >= highestBet ? "check" : "fold";
+    }
 
-        return state;
+    @JsonIgnore
+    public String getCurrentPlayerToken() {
+        return currentPlayerIndex >= 0 && currentPlayerIndex < players.size()
+                ? players.get(currentPlayerIndex).getToken() : null;
     }
-}
\ No newline at end of file
+}
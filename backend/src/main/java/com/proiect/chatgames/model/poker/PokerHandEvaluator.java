@@ -3,6 +3,8 @@ package com.proiect.chatgames.model.poker;
 import java.util.*;
 import java.util.stream.Collectors;
 
+// Implementarea de referinta (lenta, aloca pentru fiecare combinatie).
+// Jocul foloseste LookupHandEvaluator; aceasta ramane pentru testele de echivalenta.
 public class PokerHandEvaluator {
 
     private static final Map<String, Integer> RANK_VALUES = new HashMap<>();
@@ -51,6 +53,17 @@ public class PokerHandEvaluator {
                 }
             }
 
+            // Valorile in ordinea grupurilor (ex: Full House K K K 2 2, pereche 5 5 A K Q),
+            // ca departajarea sa compare intai grupurile si abia apoi kickerii
+            rankValues.sort((a, b) -> {
+                int byCount = rankCounts.get(b) - rankCounts.get(a);
+                return byCount != 0 ? byCount : b - a;
+            });
+            // La chinta A-2-3-4-5 asul conteaza ca 1
+            if (isStraight && rankValues.get(0) == 14 && rankValues.get(1) == 5) {
+                rankValues = Arrays.asList(5, 4, 3, 2, 1);
+            }
+
             String handName;
             int handRank;
 
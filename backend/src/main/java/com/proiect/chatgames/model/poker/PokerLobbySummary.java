@@ -0,0 +1,15 @@
+package com.proiect.chatgames.model.poker;
+
+// Ce vede lobby-ul despre o masa de poker (fara pachet, carti sau parola)
+public record PokerLobbySummary(
+        String gameId,
+        String creatorUsername,
+        int smallBlind,
+        int bigBlind,
+        int seatsTaken,
+        int seatsFree,
+        int maxPlayers,
+        String round,
+        boolean inProgress,
+        boolean hasPassword
+) {}
@@ -1,5 +1,6 @@
 package com.proiect.chatgames.model.poker;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 import java.util.ArrayList;
 import java.util.List;
@@ -11,13 +12,17 @@ public class PokerPlayer {
     private List<Card> hand = new ArrayList<>();
     private int currentBet = 0;
 
-    // Statusuri posibile: "active", "folded", "all-in", "out", "waiting"
-    private String status = "active";
+    private PlayerStatus status = PlayerStatus.ACTIVE;
 
     private String token; // Identificator unic (poate fi username-ul)
     private boolean isWinner = false;
     private boolean hasActed = false;
     private EvaluatedHand evaluatedHand;
+    // Rezerva de timp ramasa (ms), consumata cand jucatorul depaseste timpul de baza al mesei
+    private long timeBankMs = 0;
+    // Indexul locului in mana curenta (in array-urile mesei); -1 pana primeste un loc
+    @JsonIgnore
+    private int seat = -1;
 
     public PokerPlayer(String username, int stack) {
         this.username = username;
@@ -30,10 +35,7 @@ public class PokerPlayer {
         this.isWinner = false;
         this.hasActed = false;
         this.evaluatedHand = null;
-        if (this.stack > 0) {
-            this.status = "active";
-        } else {
-            this.status = "out";
-        }
+        this.seat = -1;
+        this.status = this.stack > 0 ? PlayerStatus.ACTIVE : PlayerStatus.OUT;
     }
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.proiect.chatgames.model.poker;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Starea publica a unei mese la o anumita versiune, imutabila.
+ * Publicata de cutia postala dupa fiecare comanda (referinta volatile in PokerGame);
+ * cititorii din alte thread-uri (REST, lobby, frame-ul partajat) o citesc fara lock si o vad mereu consistenta.
+ */
+public record PokerTableSnapshot(
+        String gameId,
+        long stateVersion,
+        long seq,
+        String creatorUsername,
+        boolean inProgress,
+        String round,
+        int pot,
+        List<Card> board,
+        int maxPlayers,
+        int minPlayers,
+        String currentPlayerToken,
+        Map<String, Integer> options,
+        List<Seat> players
+) {
+    // Un jucator asa cum il vad ceilalti: cartile apar doar la showdown, pentru cei care nu au dat fold
+    public record Seat(
+            String username,
+            String token,
+            int stack,
+            int currentBet,
+            PlayerStatus status,
+            @JsonProperty("isWinner") boolean isWinner,
+            List<Card> hand,
+            EvaluatedHand evaluatedHand
+    ) {}
+}
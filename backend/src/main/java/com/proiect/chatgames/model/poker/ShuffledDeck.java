@@ -0,0 +1,14 @@
+package com.proiect.chatgames.model.poker;
+
+/**
+ * Un pachet gata amestecat: seed-ul (care intra in log si in istoricul mainii) si ordinea cartilor
+ * obtinuta din el. Ordinea se poate reface oricand din seed, deci auditul are nevoie doar de seed.
+ */
+public record ShuffledDeck(long seed, int[] order) {
+
+    public static ShuffledDeck of(long seed) {
+        int[] order = new int[52];
+        Deck.permute(seed, order);
+        return new ShuffledDeck(seed, order);
+    }
+}
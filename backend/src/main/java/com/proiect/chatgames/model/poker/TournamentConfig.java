@@ -0,0 +1,24 @@
+package com.proiect.chatgames.model.poker;
+
+import java.util.List;
+
+/**
+ * Regulile unui turneu: fisele de start, cati jucatori stau la o masa, cate locuri sunt platite
+ * (bula = primul loc neplatit) si structura de blind-uri. Un sit-and-go e un turneu cu o singura masa.
+ */
+public record TournamentConfig(
+        String tournamentId,
+        int startingStack,
+        int tableSize,
+        int paidPlaces,
+        List<BlindLevel> levels
+) {
+    public TournamentConfig {
+        if (tournamentId == null || tournamentId.isBlank()) throw new IllegalArgumentException("ID-ul turneului lipseste.");
+        if (startingStack <= 0) throw new IllegalArgumentException("Fisele de start trebuie sa fie pozitive.");
+        if (tableSize < 2 || tableSize > 10) throw new IllegalArgumentException("O masa are intre 2 si 10 locuri.");
+        if (paidPlaces < 1) throw new IllegalArgumentException("Cel putin un loc trebuie platit.");
+        if (levels == null || levels.isEmpty()) throw new IllegalArgumentException("Structura de blind-uri lipseste.");
+        levels = List.copyOf(levels);
+    }
+}
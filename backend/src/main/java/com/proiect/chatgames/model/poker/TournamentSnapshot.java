@@ -0,0 +1,23 @@
+package com.proiect.chatgames.model.poker;
+
+import java.util.List;
+
+/**
+ * Starea publica a unui turneu, imutabila. Directorul publica una noua doar cand se schimba ceva
+ * (eliminari, nivel, mese); cititorii (REST, lobby) nu asteapta dupa cutia lui postala.
+ */
+public record TournamentSnapshot(
+        String tournamentId,
+        String status,            // "registering", "running", "finished"
+        int entrants,
+        int remaining,
+        int level,                // indexul nivelului de blind-uri (de la 0)
+        int smallBlind,
+        int bigBlind,
+        boolean handForHand,      // pe bula: mesele joaca mana cu mana, sincronizat
+        List<String> tables,
+        long moves,               // jucatori mutati intre mese
+        int tablesBroken,
+        long handForHandRounds,
+        List<String> results      // clasamentul final (indexul 0 = locul 1), gol pana la final
+) {}
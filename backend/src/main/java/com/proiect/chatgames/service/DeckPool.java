@@ -0,0 +1,129 @@
+package com.proiect.chatgames.service;
+
+import com.proiect.chatgames.model.poker.ShuffledDeck;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Pachete amestecate dinainte pentru inceputul mainilor.
+ * Un thread de fundal cere entropie in loturi de la un SecureRandom, amesteca pachetele si le imparte
+ * pe benzi (cate una per procesor). O masa ia un pachet in O(1) din banda thread-ului ei, fara sa atinga
+ * generatorul si fara sa concureze cu mesele de pe celelalte thread-uri. Seed-ul fiecarui pachet ajunge in
+ * log si in istoricul mainii, iar ordinea cartilor se reface din el (audit si replay).
+ */
+@Component
+public class DeckPool {
+
+    // Pachete gata amestecate in total (impartite egal pe benzi): cate maini pot incepe odata fara asteptare
+    @Value("${app.poker.deck.poolSize:4096}")
+    private int poolSize = 4096;
+
+    // Cate seed-uri cerem de la SecureRandom dintr-un singur apel
+    @Value("${app.poker.deck.entropyBatch:512}")
+    private int entropyBatch = 512;
+
+    // Cat asteapta thread-ul de fundal intre doua completari, daca nu e trezit mai devreme
+    @Value("${app.poker.deck.refillMs:10}")
+    private long refillMs = 10;
+
+    private final SecureRandom entropy = new SecureRandom();
+    private ArrayBlockingQueue<ShuffledDeck>[] stripes;
+    private int stripeSize;
+    private Thread filler;
+    private volatile boolean running;
+
+    // Banda fiecarui thread, data pe rand la primul take(): thread-urile unui pool se impart egal pe benzi
+    // (ID-urile lor nu sunt consecutive, deci ID % benzi putea pune mai multe pe aceeasi banda)
+    private final AtomicInteger nextHome = new AtomicInteger();
+    private final ThreadLocal<Integer> home = ThreadLocal.withInitial(nextHome::getAndIncrement);
+
+    private final AtomicLong taken = new AtomicLong();
+    // Pachete amestecate pe loc pentru ca toate benzile erau goale (trebuie sa ramana rare)
+    private final AtomicLong misses = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        start();
+    }
+
+    @SuppressWarnings("unchecked")
+    public synchronized void start() {
+        if (running) return;
+        stripes = new ArrayBlockingQueue[Runtime.getRuntime().availableProcessors()];
+        stripeSize = Math.max(1, (poolSize + stripes.length - 1) / stripes.length);
+        for (int i = 0; i < stripes.length; i++) stripes[i] = new ArrayBlockingQueue<>(stripeSize);
+        running = true;
+        filler = new Thread(this::fillLoop, "deck-shuffler");
+        filler.setDaemon(true);
+        filler.start();
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        if (!running) return;
+        running = false;
+        LockSupport.unpark(filler);
+        filler.join();
+    }
+
+    // Apelat din cutia postala a mesei, la fiecare mana noua
+    public ShuffledDeck take() {
+        int home = Math.floorMod(this.home.get(), stripes.length);
+        ShuffledDeck deck = stripes[home].poll();
+        // Banda noastra s-a golit: luam de la vecini inainte sa amestecam pe loc
+        for (int i = 1; deck == null && i < stripes.length; i++) {
+            deck = stripes[(home + i) % stripes.length].poll();
+        }
+        if (stripes[home].size() < stripeSize / 2) LockSupport.unpark(filler);
+        taken.incrementAndGet();
+        if (deck != null) return deck;
+
+        misses.incrementAndGet();
+        return ShuffledDeck.of(entropy.nextLong());
+    }
+
+    public long getTaken() {
+        return taken.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    // Pachete gata de luat, pe toate benzile
+    public int available() {
+        int total = 0;
+        for (ArrayBlockingQueue<ShuffledDeck> stripe : stripes) total += stripe.size();
+        return total;
+    }
+
+    public int capacity() {
+        return stripes.length * stripeSize;
+    }
+
+    private void fillLoop() {
+        ByteBuffer seeds = ByteBuffer.allocate(entropyBatch * Long.BYTES);
+        seeds.position(seeds.limit());
+        while (running) {
+            for (ArrayBlockingQueue<ShuffledDeck> stripe : stripes) {
+                while (running && stripe.remainingCapacity() > 0) {
+                    if (!seeds.hasRemaining()) {
+                        entropy.nextBytes(seeds.array());
+                        seeds.clear();
+                    }
+                    stripe.offer(ShuffledDeck.of(seeds.getLong()));
+                }
+            }
+            LockSupport.parkNanos(refillMs * 1_000_000L);
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package com.proiect.chatgames.service;
+
+import com.proiect.chatgames.model.poker.Card;
+import com.proiect.chatgames.model.poker.EquityResult;
+import com.proiect.chatgames.model.poker.LookupHandEvaluator;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Calculator de equity (sanse de castig) pentru Texas Hold'em.
+ * Cand raman putine carti de impartit enumeram exhaustiv toate variantele;
+ * altfel rulam Monte Carlo in paralel pe un pool fork/join, cu buget de esantioane si de timp.
+ */
+@Service
+public class EquityService {
+
+    // Sub acest prag de sub-task-uri nu mai impartim munca
+    private static final int MONTE_CARLO_CHUNK = 8_192;
+
+    @Value("${app.poker.equity.maxSamples:200000}")
+    private int maxSamples;
+
+    @Value("${app.poker.equity.timeBudgetMs:250}")
+    private int timeBudgetMs;
+
+    // Numarul maxim de variante (board x mana adversar) pentru care enumeram exhaustiv
+    @Value("${app.poker.equity.exhaustiveLimit:2000000}")
+    private long exhaustiveLimit;
+
+    private ForkJoinPool pool;
+
+    @PostConstruct
+    public void init() {
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    public EquityResult calculate(List<String> hand, List<String> board, int opponents, int samples) {
+        if (opponents < 1 || opponents > 8) throw new IllegalArgumentException("Numar de adversari invalid (1-8).");
+        return calculate(hand, null, board, opponents, samples);
+    }
+
+    // Mana adversarului e cunoscuta (ex. AA vs KK): enumeram mereu exhaustiv, cel mult C(48,5) board-uri
+    public EquityResult calculateVersus(List<String> hand, List<String> villain, List<String> board) {
+        if (villain == null || villain.size() != 2) throw new IllegalArgumentException("Sunt necesare exact 2 carti pentru adversar.");
+        return calculate(hand, villain, board, 1, 0);
+    }
+
+    private EquityResult calculate(List<String> hand, List<String> villain, List<String> board, int opponents, int samples) {
+        if (hand == null || hand.size() != 2) throw new IllegalArgumentException("Sunt necesare exact 2 carti proprii.");
+        if (board == null) board = List.of();
+        if (board.size() > 5 || board.size() == 1 || board.size() == 2) {
+            throw new IllegalArgumentException("Board-ul trebuie sa aiba 0, 3, 4 sau 5 carti.");
+        }
+
+        long dead = 0;
+        int[] heroCards = new int[2];
+        int[] boardCards = new int[board.size()];
+        for (int i = 0; i < 2; i++) {
+            heroCards[i] = Card.parse(hand.get(i)).getCode();
+            dead = markDead(dead, heroCards[i]);
+        }
+        for (int i = 0; i < boardCards.length; i++) {
+            boardCards[i] = Card.parse(board.get(i)).getCode();
+            dead = markDead(dead, boardCards[i]);
+        }
+        // 0 = adversar necunoscut
+        long villainMask = 0;
+        if (villain != null) {
+            for (String card : villain) {
+                int code = Card.parse(card).getCode();
+                dead = markDead(dead, code);
+                villainMask |= LookupHandEvaluator.bit(code);
+            }
+        }
+
+        int[] remaining = new int[52 - Long.bitCount(dead)];
+        for (int c = 0, n = 0; c < 52; c++) {
+            if ((dead & (1L << c)) == 0) remaining[n++] = c;
+        }
+
+        long heroMask = LookupHandEvaluator.bit(heroCards[0]) | LookupHandEvaluator.bit(heroCards[1]);
+        long boardMask = 0;
+        for (int c : boardCards) boardMask |= LookupHandEvaluator.bit(c);
+        int missing = 5 - boardCards.length;
+
+        long start = System.nanoTime();
+        long[] counts;
+        boolean exhaustive = villainMask != 0 || opponents == 1
+                && combinations(remaining.length, missing) * combinations(remaining.length - missing, 2) <= exhaustiveLimit;
+        if (exhaustive) {
+            counts = pool.invoke(new ExhaustiveTask(remaining, heroMask, villainMask, boardMask, missing, 0, remaining.length));
+        } else {
+            int budget = samples > 0 ? Math.min(samples, maxSamples) : maxSamples;
+            long deadline = start + timeBudgetMs * 1_000_000L;
+            counts = pool.invoke(new MonteCarloTask(remaining, heroMask, boardMask, missing, opponents,
+                    budget, deadline, ThreadLocalRandom.current().nextLong()));
+        }
+        long elapsedMicros = (System.nanoTime() - start) / 1_000;
+
+        // counts = { castiguri, egalitati, pierderi, equity din egalitati * 1_000_000 }
+        double total = counts[0] + counts[1] + counts[2];
+        if (total == 0) throw new IllegalStateException("Nu s-a putut evalua nicio varianta.");
+        return new EquityResult(
+                counts[0] / total, counts[1] / total, counts[2] / total,
+                (counts[0] + counts[3] / 1_000_000.0) / total,
+                (long) total, exhaustive, elapsedMicros);
+    }
+
+    // Varianta asincrona (mesaje WebSocket): calculul nu ocupa thread-ul care a primit cererea
+    public CompletableFuture<EquityResult> calculateAsync(List<String> hand, List<String> board, int opponents, int samples) {
+        return CompletableFuture.supplyAsync(() -> calculate(hand, board, opponents, samples), pool);
+    }
+
+    private static long markDead(long dead, int card) {
+        if ((dead & (1L << card)) != 0) throw new IllegalArgumentException("Carte duplicata: " + Card.of(card));
+        return dead | (1L << card);
+    }
+
+    private static long combinations(int n, int k) {
+        if (k < 0 || k > n) return 0;
+        long result = 1;
+        for (int i = 1; i <= k; i++) result = result * (n - k + i) / i;
+        return result;
+    }
+
+    // Un singur adversar: toate completarile de board x toate mainile posibile ale adversarului
+    // (sau doar mana lui, daca e cunoscuta)
+    private static class ExhaustiveTask extends RecursiveTask<long[]> {
+        private final int[] remaining;
+        private final long heroMask;
+        private final long villainMask;
+        private final long boardMask;
+        private final int missing;
+        private final int from;
+        private final int to;
+
+        ExhaustiveTask(int[] remaining, long heroMask, long villainMask, long boardMask, int missing, int from, int to) {
+            this.remaining = remaining;
+            this.heroMask = heroMask;
+            this.villainMask = villainMask;
+            this.boardMask = boardMask;
+            this.missing = missing;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            // Impartim dupa prima carte adaugata pe board (cand lipseste cel putin una)
+            if (missing > 0 && to - from > 1) {
+                int mid = (from + to) >>> 1;
+                ExhaustiveTask left = new ExhaustiveTask(remaining, heroMask, villainMask, boardMask, missing, from, mid);
+                left.fork();
+                long[] right = new ExhaustiveTask(remaining, heroMask, villainMask, boardMask, missing, mid, to).compute();
+                long[] l = left.join();
+                for (int i = 0; i < 4; i++) right[i] += l[i];
+                return right;
+            }
+            long[] counts = new long[4];
+            if (missing == 0) {
+                countOpponents(boardMask, 0L, counts);
+            } else {
+                int first = remaining[from];
+                completeBoard(boardMask | LookupHandEvaluator.bit(first), 1L << first, from + 1, missing - 1, counts);
+            }
+            return counts;
+        }
+
+        private void completeBoard(long board, long used, int start, int left, long[] counts) {
+            if (left == 0) {
+                countOpponents(board, used, counts);
+                return;
+            }
+            for (int i = start; i < remaining.length; i++) {
+                int c = remaining[i];
+                completeBoard(board | LookupHandEvaluator.bit(c), used | (1L << c), i + 1, left - 1, counts);
+            }
+        }
+
+        private void countOpponents(long board, long used, long[] counts) {
+            int hero = LookupHandEvaluator.evaluateMasks(heroMask | board);
+            if (villainMask != 0) {
+                compare(hero, LookupHandEvaluator.evaluateMasks(villainMask | board), counts);
+                return;
+            }
+            for (int i = 0; i < remaining.length; i++) {
+                int a = remaining[i];
+                if ((used & (1L << a)) != 0) continue;
+                long aMask = board | LookupHandEvaluator.bit(a);
+                for (int j = i + 1; j < remaining.length; j++) {
+                    int b = remaining[j];
+                    if ((used & (1L << b)) != 0) continue;
+                    compare(hero, LookupHandEvaluator.evaluateMasks(aMask | LookupHandEvaluator.bit(b)), counts);
+                }
+            }
+        }
+
+        private static void compare(int hero, int villain, long[] counts) {
+            if (hero > villain) counts[0]++;
+            else if (hero == villain) { counts[1]++; counts[3] += 500_000; }
+            else counts[2]++;
+        }
+    }
+
+    // Esantionare aleatoare: fiecare frunza isi amesteca propria copie a cartilor ramase
+    private static class MonteCarloTask extends RecursiveTask<long[]> {
+        private final int[] remaining;
+        private final long heroMask;
+        private final long boardMask;
+        private final int missing;
+        private final int opponents;
+        private final int samples;
+        private final long deadline;
+        private final long seed;
+
+        MonteCarloTask(int[] remaining, long heroMask, long boardMask, int missing, int opponents,
+                       int samples, long deadline, long seed) {
+            this.remaining = remaining;
+            this.heroMask = heroMask;
+            this.boardMask = boardMask;
+            this.missing = missing;
+            this.opponents = opponents;
+            this.samples = samples;
+            this.deadline = deadline;
+            this.seed = seed;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (samples > MONTE_CARLO_CHUNK) {
+                int half = samples >>> 1;
+                SplittableRandom split = new SplittableRandom(seed);
+                MonteCarloTask left = new MonteCarloTask(remaining, heroMask, boardMask, missing, opponents,
+                        half, deadline, split.nextLong());
+                left.fork();
+                long[] right = new MonteCarloTask(remaining, heroMask, boardMask, missing, opponents,
+                        samples - half, deadline, split.nextLong()).compute();
+                long[] l = left.join();
+                for (int i = 0; i < 4; i++) right[i] += l[i];
+                return right;
+            }
+
+            long[] counts = new long[4];
+            int[] cards = remaining.clone();
+            int needed = missing + 2 * opponents;
+            SplittableRandom random = new SplittableRandom(seed);
+
+            for (int s = 0; s < samples; s++) {
+                // Verificam bugetul de timp din cand in cand, nu la fiecare esantion
+                if ((s & 1023) == 0 && s > 0 && System.nanoTime() > deadline) break;
+
+                // Fisher-Yates partial: doar cartile de care avem nevoie
+                for (int i = 0; i < needed; i++) {
+                    int j = i + random.nextInt(cards.length - i);
+                    int tmp = cards[i];
+                    cards[i] = cards[j];
+                    cards[j] = tmp;
+                }
+
+                long board = boardMask;
+                for (int i = 0; i < missing; i++) board |= LookupHandEvaluator.bit(cards[i]);
+
+                int hero = LookupHandEvaluator.evaluateMasks(heroMask | board);
+                int best = -1;
+                int bestCount = 0;
+                for (int o = 0, k = missing; o < opponents; o++, k += 2) {
+                    int villain = LookupHandEvaluator.evaluateMasks(board
+                            | LookupHandEvaluator.bit(cards[k]) | LookupHandEvaluator.bit(cards[k + 1]));
+                    if (villain > best) { best = villain; bestCount = 1; }
+                    else if (villain == best) bestCount++;
+                }
+                if (hero > best) counts[0]++;
+                else if (hero == best) { counts[1]++; counts[3] += 1_000_000 / (bestCount + 1); }
+                else counts[2]++;
+            }
+            return counts;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.proiect.chatgames.service;
+
+import com.proiect.chatgames.actor.GameMailbox;
+import com.proiect.chatgames.actor.TimingWheel;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Jocurile active de un anumit tip (poker sau hangman), cu expirare.
+ * Un joc nefolosit mai mult de idleTtlMs (sau terminat si nefolosit mai mult de finishedTtlMs) e scos din registru.
+ * Fiecare joc are un singur termen pe roata de timp comuna: o comanda noua doar noteaza ora (fara sa reprogrameze),
+ * iar cand termenul expira verificam in cutia postala a jocului daca a fost folosit intre timp si, daca da,
+ * il programam din nou pentru timpul ramas. Expirarea nu parcurge niciodata toate jocurile.
+ */
+public class GameRegistry<G> {
+
+    public enum State {
+        // In desfasurare sau in asteptare: expira dupa idleTtlMs fara comenzi
+        ACTIVE,
+        // Terminat: expira dupa finishedTtlMs fara comenzi
+        FINISHED,
+        // Ciclul de viata e controlat din alta parte (ex. mesele de turneu): nu expira
+        PINNED
+    }
+
+    // Ce stie registrul despre un joc; state si expired ruleaza in cutia postala a jocului
+    public interface Lifecycle<G> {
+        String id(G game);
+
+        GameMailbox mailbox(G game);
+
+        State state(G game);
+
+        // Jocul tocmai a fost scos din registru: curatam ce mai tine de el (ceasuri, spectatori, lobby)
+        void expired(G game);
+    }
+
+    private final String kind;
+    private final TurnClock clock;
+    private final Lifecycle<G> lifecycle;
+    private final long idleTtlMs;
+    private final long finishedTtlMs;
+    private final int maxGames;
+
+    private final Map<String, G> games = new ConcurrentHashMap<>();
+    private final Map<String, Entry<G>> entries = new ConcurrentHashMap<>();
+    // Locurile ocupate, rezervate inainte de inserare: size() urmat de putIfAbsent lasa doua creari simultane
+    // sa treaca amandoua de ultimul loc liber
+    private final AtomicInteger count = new AtomicInteger();
+    private final AtomicLong expired = new AtomicLong();
+
+    // Campurile sunt atinse doar din cutia postala a jocului
+    private static final class Entry<G> {
+        final G game;
+        long lastActivity = System.currentTimeMillis();
+        long deadline;
+        TimingWheel.Timeout timeout;
+
+        Entry(G game) {
+            this.game = game;
+        }
+    }
+
+    public GameRegistry(String kind, TurnClock clock, Lifecycle<G> lifecycle, long idleTtlMs, long finishedTtlMs, int maxGames) {
+        this.kind = kind;
+        this.clock = clock;
+        this.lifecycle = lifecycle;
+        this.idleTtlMs = idleTtlMs;
+        this.finishedTtlMs = finishedTtlMs;
+        this.maxGames = maxGames;
+    }
+
+    public G get(String gameId) {
+        return games.get(gameId);
+    }
+
+    public Collection<G> values() {
+        return games.values();
+    }
+
+    public int size() {
+        return games.size();
+    }
+
+    public long expiredCount() {
+        return expired.get();
+    }
+
+    // Vedere doar pentru citire (snapshot-ul GameStore verifica cu get ca jocul e inca in registru)
+    public Map<String, G> asMap() {
+        return Collections.unmodifiableMap(games);
+    }
+
+    // Un ID deja folosit sau un registru plin sunt erori de validare, ca la orice creare de joc
+    public void add(G game) {
+        if (count.incrementAndGet() > maxGames) {
+            count.decrementAndGet();
+            throw new IllegalArgumentException("Too many " + kind + " games");
+        }
+        String gameId = lifecycle.id(game);
+        if (games.putIfAbsent(gameId, game) != null) {
+            count.decrementAndGet();
+            throw new IllegalArgumentException("Game ID exists");
+        }
+        register(gameId, game);
+    }
+
+    // Jocurile refacute la pornire intra fara limita: le aveam deja inainte de oprire
+    public void restore(Map<String, G> recovered) {
+        recovered.forEach((gameId, game) -> {
+            if (games.putIfAbsent(gameId, game) != null) return;
+            count.incrementAndGet();
+            register(gameId, game);
+        });
+    }
+
+    private void register(String gameId, G game) {
+        Entry<G> entry = new Entry<>(game);
+        entries.put(gameId, entry);
+        lifecycle.mailbox(game).execute(() -> arm(gameId, entry, idleTtlMs));
+    }
+
+    // Din cutia postala, dupa fiecare comanda; un joc abia terminat primeste termenul scurt imediat
+    public void touch(G game) {
+        Entry<G> entry = entries.get(lifecycle.id(game));
+        if (entry == null || entry.game != game) return;
+        entry.lastActivity = System.currentTimeMillis();
+        if (lifecycle.state(game) == State.FINISHED && entry.deadline > entry.lastActivity + finishedTtlMs) {
+            entry.timeout.cancel();
+            arm(lifecycle.id(game), entry, finishedTtlMs);
+        }
+    }
+
+    // Din cutia postala: scoate jocul (ex. masa ramasa fara jucatori) si ii opreste termenul de expirare
+    public boolean remove(G game) {
+        String gameId = lifecycle.id(game);
+        if (!games.remove(gameId, game)) return false;
+        count.decrementAndGet();
+        Entry<G> entry = entries.get(gameId);
+        if (entry != null && entry.game == game) {
+            entries.remove(gameId, entry);
+            if (entry.timeout != null) entry.timeout.cancel();
+        }
+        return true;
+    }
+
+    private void arm(String gameId, Entry<G> entry, long delayMs) {
+        if (entries.get(gameId) != entry) return;
+        entry.deadline = System.currentTimeMillis() + delayMs;
+        entry.timeout = clock.schedule(() -> lifecycle.mailbox(entry.game).execute(() -> check(gameId, entry)), delayMs);
+    }
+
+    // Ruleaza in cutia postala, cand termenul jocului a expirat
+    private void check(String gameId, Entry<G> entry) {
+        if (entries.get(gameId) != entry) return;
+        State state = lifecycle.state(entry.game);
+        if (state == State.PINNED) {
+            arm(gameId, entry, idleTtlMs);
+            return;
+        }
+        long ttl = state == State.FINISHED ? finishedTtlMs : idleTtlMs;
+        long remaining = entry.lastActivity + ttl - System.currentTimeMillis();
+        if (remaining > 0) {
+            arm(gameId, entry, remaining);
+            return;
+        }
+        // Fara log per joc: la o expirare in masa, scrierea sincronizata pe consola ar serializa cutiile postale
+        remove(entry.game);
+        expired.incrementAndGet();
+        lifecycle.expired(entry.game);
+    }
+}
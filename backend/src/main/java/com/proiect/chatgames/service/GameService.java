@@ -1,12 +1,27 @@
 package com.proiect.chatgames.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.proiect.chatgames.actor.GameMailbox;
+import com.proiect.chatgames.actor.TimingWheel;
 import com.proiect.chatgames.model.HangmanGame;
+import com.proiect.chatgames.model.HangmanHint;
+import com.proiect.chatgames.model.HangmanLobbySummary;
 import com.proiect.chatgames.model.poker.EvaluatedHand;
+import com.proiect.chatgames.model.poker.HandHistory;
+import com.proiect.chatgames.model.poker.PokerEvent;
 import com.proiect.chatgames.model.poker.PokerGame;
+import com.proiect.chatgames.model.poker.PokerLobbySummary;
 import com.proiect.chatgames.model.poker.PokerPlayer;
+import com.proiect.chatgames.model.poker.PokerTableSnapshot;
+import com.proiect.chatgames.model.poker.ShuffledDeck;
 import com.proiect.chatgames.websocket.MainWebSocketHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.web.socket.TextMessage;
 
 import java.io.IOException;
 import java.util.*;
@@ -15,9 +30,118 @@ import java.util.concurrent.ConcurrentHashMap;
 @Service
 public class GameService {
 
-    // Stocare jocuri in memorie (RAM)
-    private final Map<String, HangmanGame> hangmanGames = new ConcurrentHashMap<>();
-    private final Map<String, PokerGame> pokerGames = new ConcurrentHashMap<>();
+    // Gazda jocurilor solo de Hangman (cuvantul il alege serverul)
+    public static final String SERVER_HOST = "[server]";
+    // Ghicitorul automat: jucatorul alege cuvantul, botul ghiceste cu indiciile din HangmanSolver
+    public static final String BOT_GUESSER = "[bot]";
+
+    // Stocare jocuri in memorie (RAM); jocurile abandonate sau terminate expira (create in recoverGames)
+    private GameRegistry<HangmanGame> hangmanGames;
+    private GameRegistry<PokerGame> pokerGames;
+    // Ultima stare publica serializata a fiecarei mese (refolosita cat timp versiunea e aceeasi)
+    private final Map<String, VersionedFrame> pokerStateFrames = new ConcurrentHashMap<>();
+
+    @Autowired
+    private LobbyPublisher lobbyPublisher;
+
+    @Autowired
+    private EquityService equityService;
+
+    @Autowired
+    private HandJournal handJournal;
+
+    @Autowired
+    private TurnClock turnClock;
+
+    @Autowired
+    private GameStore gameStore;
+
+    @Autowired
+    private DeckPool deckPool;
+
+    @Autowired
+    private HangmanDictionary dictionary;
+
+    @Autowired
+    private HangmanSolver hangmanSolver;
+
+    // Dependenta circulara (turneele isi creeaza mesele prin acest serviciu)
+    @Autowired
+    @Lazy
+    private TournamentService tournamentService;
+
+    // Pentru notificarile care nu pornesc de la un mesaj al unui jucator (expirarea jocurilor)
+    @Autowired
+    @Lazy
+    private MainWebSocketHandler wsHandler;
+
+    // Timpii de tura impliciti pentru mesele noi
+    @Value("${app.turn.poker.timeoutMs:30000}")
+    private long pokerTurnTimeoutMs;
+
+    @Value("${app.turn.poker.timeBankMs:60000}")
+    private long pokerTimeBankMs;
+
+    @Value("${app.turn.hangman.timeoutMs:60000}")
+    private long hangmanTurnTimeoutMs;
+
+    // Lungimea cuvintelor alese de server pentru jocurile solo
+    @Value("${app.hangman.solo.minLength:5}")
+    private int soloMinLength;
+
+    @Value("${app.hangman.solo.maxLength:12}")
+    private int soloMaxLength;
+
+    // Pauza botului inainte de fiecare litera, ca jucatorii sa poata urmari jocul
+    @Value("${app.hangman.bot.delayMs:1000}")
+    private long botDelayMs;
+
+    // Cat poate sta un joc fara nicio comanda (deconectati, abandonat) si cat ramane vizibil un joc terminat
+    @Value("${app.games.idleTtlMs:900000}")
+    private long gameIdleTtlMs;
+
+    @Value("${app.games.finishedTtlMs:120000}")
+    private long gameFinishedTtlMs;
+
+    @Value("${app.games.poker.maxGames:10000}")
+    private int maxPokerGames;
+
+    @Value("${app.games.hangman.maxGames:10000}")
+    private int maxHangmanGames;
+
+    // Termenul activ al fiecarui joc; modificat doar din cutia postala a jocului respectiv
+    private final Map<String, ArmedTurn> pokerTurns = new ConcurrentHashMap<>();
+    private final Map<String, ArmedTurn> hangmanTurns = new ConcurrentHashMap<>();
+
+    // User -> jocurile pe care le urmareste ca spectator; la deconectare il scoatem doar de acolo, fara sa parcurgem jocurile
+    private final Map<String, Set<String>> pokerWatching = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> hangmanWatching = new ConcurrentHashMap<>();
+
+    // -------------------------------------------------------------------------
+    // PERSISTENTA (snapshot + log de comenzi)
+    // -------------------------------------------------------------------------
+
+    // Inainte sa primim conexiuni: ultimul snapshot + comenzile scrise dupa el
+    @PostConstruct
+    public void recoverGames() {
+        pokerGames = new GameRegistry<>("poker", turnClock, new PokerLifecycle(), gameIdleTtlMs, gameFinishedTtlMs, maxPokerGames);
+        hangmanGames = new GameRegistry<>("hangman", turnClock, new HangmanLifecycle(), gameIdleTtlMs, gameFinishedTtlMs, maxHangmanGames);
+
+        GameStore.Recovered recovered = gameStore.recover();
+        recovered.pokerGames().values().forEach(PokerGame::refreshLobbySummary);
+        recovered.hangmanGames().values().forEach(HangmanGame::refreshLobbySummary);
+        // Jocurile refacute primesc termenul de expirare de la zero: jucatorii au timp sa se reconecteze
+        pokerGames.restore(recovered.pokerGames());
+        hangmanGames.restore(recovered.hangmanGames());
+        if (!recovered.pokerGames().isEmpty()) lobbyPublisher.markPokerDirty();
+        if (!recovered.hangmanGames().isEmpty()) lobbyPublisher.markHangmanDirty();
+    }
+
+    // Snapshot-ul se face in fundal: fiecare masa e copiata in cutia ei postala, fara sa oprim celelalte
+    @Scheduled(fixedDelayString = "${app.store.snapshotIntervalMs:60000}", initialDelayString = "${app.store.snapshotIntervalMs:60000}")
+    public void snapshotGames() {
+        gameStore.snapshot(pokerGames.asMap(), hangmanGames.asMap());
+    }
 
     // -------------------------------------------------------------------------
     // HANGMAN LOGIC
@@ -33,16 +157,36 @@ public class GameService {
             return;
         }
 
+        // Comanda este executata pe cutia postala a jocului (serial, fara lock-uri)
+        game.getMailbox().execute(() -> {
+            try {
+                applyHangmanMessage(game, sender, json, ws);
+            } catch (IOException e) {
+                System.err.println("Hangman Error: " + e.getMessage());
+            }
+            commitHangmanLobby(game);
+        });
+    }
+
+    private void applyHangmanMessage(HangmanGame game, String sender, JsonNode json, MainWebSocketHandler ws) throws IOException {
         String type = json.get("type").asText();
 
         // 1. Host seteaza cuvantul
         if (type.equals("hangman_set_word") && sender.equals(game.getHostUsername())) {
             String word = json.get("word").asText();
             try {
-                setHangmanWord(game, word);
+                // Verificat doar aici, nu in HangmanGame: refacerea din log nu trebuie sa depinda de dictionarul curent
+                if (dictionary.isLoaded() && !dictionary.contains(word)) {
+                    throw new IllegalArgumentException("Word not in dictionary");
+                }
+                game.chooseWord(word);
+                gameStore.log(game, "hangman_word", sender, word, 0);
+                armHangmanClock(game, ws);
                 broadcastHangmanState(game, ws);
+                scheduleBotGuess(game, ws);
             } catch (IllegalArgumentException e) {
                 System.err.println("Hangman Error: " + e.getMessage());
+                ws.sendToUser(sender, Map.of("type", "error", "message", e.getMessage()));
             }
         }
 
@@ -50,98 +194,190 @@ public class GameService {
         else if (type.equals("hangman_guess_letter") && sender.equals(game.getGuesserUsername())) {
             String letter = json.get("letter").asText();
             try {
-                guessHangmanLetter(game, letter);
+                game.guessLetter(letter);
+                gameStore.log(game, "hangman_guess", sender, letter, 0);
+                armHangmanClock(game, ws);
                 broadcastHangmanState(game, ws);
             } catch (IllegalArgumentException e) {
                 System.err.println("Hangman Error: " + e.getMessage());
             }
         }
+
+        // 3. Spectatorii: doar se aboneaza la starea publica, nu schimba jocul
+        else if (type.equals("hangman_spectate")) {
+            if (sender.equals(game.getHostUsername()) || sender.equals(game.getGuesserUsername())) return;
+            if (game.getSpectators().add(sender)) watch(hangmanWatching, sender, game.getGameId());
+            ws.sendFrameToUser(sender, hangmanStateFrame(game, ws));
+        }
+        else if (type.equals("hangman_unspectate")) {
+            if (game.getSpectators().remove(sender)) unwatch(hangmanWatching, sender, game.getGameId());
+        }
+
+        // 4. Indiciu: doar ghicitorul il primeste, doar pentru el
+        else if (type.equals("hangman_hint") && sender.equals(game.getGuesserUsername())) {
+            if (!game.getStatus().equals("in_progress")) return;
+            HangmanHint hint = hangmanSolver.hint(game.getMaskedWord(), game.getGuessedLetters());
+            if (hint == null) return;
+            ws.sendToUser(sender, Map.of(
+                    "type", "hangman_hint",
+                    "gameId", game.getGameId(),
+                    "letter", hint.letter(),
+                    "candidates", hint.candidates(),
+                    "probability", hint.probability()
+            ));
+        }
+    }
+
+    // Botul ghiceste dupa o pauza, in cutia postala a jocului; o ghicire venita intre timp anuleaza tura veche
+    private void scheduleBotGuess(HangmanGame game, MainWebSocketHandler ws) {
+        if (!BOT_GUESSER.equals(game.getGuesserUsername()) || !game.getStatus().equals("in_progress")) return;
+        long turn = game.getTurnNumber();
+        turnClock.schedule(() -> game.getMailbox().execute(() -> botGuess(game, turn, ws)), botDelayMs);
+    }
+
+    private void botGuess(HangmanGame game, long turn, MainWebSocketHandler ws) {
+        if (game.getTurnNumber() != turn || !game.getStatus().equals("in_progress")) return;
+        HangmanHint hint = hangmanSolver.hint(game.getMaskedWord(), game.getGuessedLetters());
+        if (hint == null) return;
+        game.guessLetter(hint.letter());
+        gameStore.log(game, "hangman_guess", BOT_GUESSER, hint.letter(), 0);
+        try {
+            armHangmanClock(game, ws);
+            broadcastHangmanState(game, ws);
+        } catch (IOException e) {
+            System.err.println("Hangman Error: " + e.getMessage());
+        }
+        commitHangmanLobby(game);
+        scheduleBotGuess(game, ws);
     }
 
     public void createHangmanGame(String gameId, String hostUsername) {
         HangmanGame game = new HangmanGame(gameId, hostUsername);
         game.setStatus("waiting_for_guesser");
-        hangmanGames.put(gameId, game);
+        game.setTurnTimeoutMs(hangmanTurnTimeoutMs);
+        game.refreshLobbySummary();
+        hangmanGames.add(game);
+        // Starea initiala intra in log din cutia postala, ca sa nu se amestece cu primele comenzi ale jocului
+        game.getMailbox().execute(() -> gameStore.created(game));
+        lobbyPublisher.markHangmanDirty();
     }
 
-    public void joinHangmanGame(String gameId, String guesserUsername) {
-        HangmanGame game = hangmanGames.get(gameId);
-        if (game != null && game.getStatus().equals("waiting_for_guesser")) {
-            game.setGuesserUsername(guesserUsername);
-            game.setStatus("waiting_for_word");
-        }
+    // Joc solo: serverul e gazda si alege cuvantul din dictionar, jucatorul ghiceste imediat
+    public void createSoloHangmanGame(String gameId, String guesserUsername, HangmanDictionary.Difficulty difficulty,
+                                      MainWebSocketHandler ws) {
+        String word = dictionary.randomWord(soloMinLength, soloMaxLength, difficulty);
+        if (word == null) throw new IllegalArgumentException("Dictionary not available");
+
+        HangmanGame game = new HangmanGame(gameId, SERVER_HOST);
+        game.setTurnTimeoutMs(hangmanTurnTimeoutMs);
+        game.join(guesserUsername);
+        game.chooseWord(word);
+        game.refreshLobbySummary();
+        hangmanGames.add(game);
+        // Starea initiala (cu tot cu cuvant) intra in log ca la orice joc nou
+        game.getMailbox().execute(() -> {
+            gameStore.created(game);
+            armHangmanClock(game, ws);
+        });
+        lobbyPublisher.markHangmanDirty();
     }
 
-    private void setHangmanWord(HangmanGame game, String word) {
-        if (!game.getStatus().equals("waiting_for_word")) {
-            throw new IllegalArgumentException("Game is not waiting for word");
-        }
-        if (word == null || word.length() < 3) {
-            throw new IllegalArgumentException("Word too short");
-        }
-        game.setSecretWord(word.toUpperCase());
-        game.setStatus("in_progress");
-        calculateHangmanMask(game);
+    // Joc cu bot: jucatorul e gazda si alege cuvantul, botul ghiceste
+    public void createBotHangmanGame(String gameId, String hostUsername) {
+        HangmanGame game = new HangmanGame(gameId, hostUsername);
+        game.setTurnTimeoutMs(hangmanTurnTimeoutMs);
+        game.join(BOT_GUESSER);
+        game.refreshLobbySummary();
+        hangmanGames.add(game);
+        game.getMailbox().execute(() -> gameStore.created(game));
+        lobbyPublisher.markHangmanDirty();
     }
 
-    private void guessHangmanLetter(HangmanGame game, String letter) {
-        if (!game.getStatus().equals("in_progress")) return;
-
-        String upper = letter.toUpperCase();
-        if (game.getGuessedLetters().contains(upper)) return;
+    public void joinHangmanGame(String gameId, String guesserUsername) {
+        HangmanGame game = hangmanGames.get(gameId);
+        if (game == null) return;
+        game.getMailbox().run(() -> {
+            if (game.join(guesserUsername)) {
+                // Un spectator care intra in joc primeste de acum starea ca ghicitor
+                if (game.getSpectators().remove(guesserUsername)) unwatch(hangmanWatching, guesserUsername, gameId);
+                gameStore.log(game, "hangman_join", guesserUsername, null, 0);
+                commitHangmanLobby(game);
+            }
+        });
+    }
 
-        game.getGuessedLetters().add(upper);
+    // Trimite starea curenta host-ului, ghicitorului si spectatorilor, in ordine fata de celelalte comenzi ale jocului
+    public void sendHangmanState(String gameId, MainWebSocketHandler ws) {
+        HangmanGame game = hangmanGames.get(gameId);
+        if (game == null) return;
+        game.getMailbox().execute(() -> {
+            try {
+                broadcastHangmanState(game, ws);
+            } catch (IOException e) {
+                System.err.println("Hangman Error: " + e.getMessage());
+            }
+        });
+    }
 
-        if (!game.getSecretWord().contains(upper)) {
-            game.setMistakes(game.getMistakes() + 1);
+    // Porneste termenul ghicitorului cand incepe o tura noua; il opreste cand jocul nu mai e in desfasurare
+    private void armHangmanClock(HangmanGame game, MainWebSocketHandler ws) {
+        ArmedTurn armed = hangmanTurns.get(game.getGameId());
+        boolean active = game.getStatus().equals("in_progress");
+        if (active && armed != null && armed.turn() == game.getTurnNumber()) return;
+        if (armed != null) {
+            armed.timeout().cancel();
+            hangmanTurns.remove(game.getGameId());
         }
+        if (!active) return;
 
-        calculateHangmanMask(game);
-        checkHangmanWin(game);
+        long turn = game.getTurnNumber();
+        TimingWheel.Timeout timeout = turnClock.schedule(
+                () -> game.getMailbox().execute(() -> onHangmanTurnExpired(game, turn, ws)),
+                game.getTurnTimeoutMs());
+        hangmanTurns.put(game.getGameId(), new ArmedTurn(turn, game.getGuesserUsername(), System.currentTimeMillis(), timeout));
     }
 
-    private void calculateHangmanMask(HangmanGame game) {
-        if (game.getSecretWord() == null) return;
-        StringBuilder sb = new StringBuilder();
-        String word = game.getSecretWord();
-        boolean isEnd = game.getStatus().equals("won") || game.getStatus().equals("lost");
-
-        for (int i = 0; i < word.length(); i++) {
-            String l = String.valueOf(word.charAt(i));
-            if (game.getGuessedLetters().contains(l) || isEnd) {
-                sb.append(l);
-            } else {
-                sb.append("_");
-            }
-            if (i < word.length() - 1) sb.append(" ");
+    // Ruleaza in cutia postala a jocului, ca orice alta comanda
+    private void onHangmanTurnExpired(HangmanGame game, long turn, MainWebSocketHandler ws) {
+        if (game.getTurnNumber() != turn || !game.getStatus().equals("in_progress")) return;
+        game.expireTurn();
+        gameStore.log(game, "hangman_timeout", null, null, 0);
+        try {
+            armHangmanClock(game, ws);
+            broadcastHangmanState(game, ws);
+        } catch (IOException e) {
+            System.err.println("Hangman Error: " + e.getMessage());
         }
-        game.setMaskedWord(sb.toString());
+        commitHangmanLobby(game);
     }
 
-    private void checkHangmanWin(HangmanGame game) {
-        String word = game.getSecretWord();
-        boolean allGuessed = true;
-        for (char c : word.toCharArray()) {
-            if (!game.getGuessedLetters().contains(String.valueOf(c))) {
-                allGuessed = false;
-                break;
-            }
-        }
+    // Lobby-ul se republica doar daca rezumatul jocului s-a schimbat efectiv
+    // Tot aici notam activitatea jocului pentru expirare (ruleaza dupa fiecare comanda)
+    private void commitHangmanLobby(HangmanGame game) {
+        hangmanGames.touch(game);
+        if (game.refreshLobbySummary()) lobbyPublisher.markHangmanDirty();
+    }
 
-        if (allGuessed) {
-            game.setStatus("won");
-            calculateHangmanMask(game);
-        } else if (game.getMistakes() >= game.getMaxGuesses()) {
-            game.setStatus("lost");
-            calculateHangmanMask(game);
+    // Rezumate compacte pentru lobby si REST (nu serializam jocul viu)
+    public List<HangmanLobbySummary> getHangmanLobby() {
+        List<HangmanLobbySummary> lobby = new ArrayList<>(hangmanGames.size());
+        for (HangmanGame game : hangmanGames.values()) {
+            lobby.add(game.getLobbySummary());
         }
+        return lobby;
     }
 
-    public Collection<HangmanGame> getAllHangmanGames() {
-        return hangmanGames.values();
+    // Starea e publica (cuvantul secret apare doar la final): un singur frame pentru jucatori si toti spectatorii
+    private void broadcastHangmanState(HangmanGame game, MainWebSocketHandler ws) throws IOException {
+        TextMessage frame = hangmanStateFrame(game, ws);
+        ws.sendFrameToUser(game.getHostUsername(), frame);
+        if (game.getGuesserUsername() != null) {
+            ws.sendFrameToUser(game.getGuesserUsername(), frame);
+        }
+        ws.sendFrameToUsers(game.getSpectators(), frame);
     }
 
-    private void broadcastHangmanState(HangmanGame game, MainWebSocketHandler ws) throws IOException {
+    private TextMessage hangmanStateFrame(HangmanGame game, MainWebSocketHandler ws) throws IOException {
         Map<String, Object> gameState = new HashMap<>();
         gameState.put("gameId", game.getGameId());
         gameState.put("hostUsername", game.getHostUsername());
@@ -155,12 +391,10 @@ public class GameService {
         if (game.getStatus().equals("won") || game.getStatus().equals("lost")) {
             gameState.put("secretWord", game.getSecretWord());
         }
+        ArmedTurn armed = hangmanTurns.get(game.getGameId());
+        if (armed != null) gameState.put("turnRemainingMs", armed.timeout().remainingMs());
 
-        Map<String, Object> msg = Map.of("type", "hangman_game_state", "gameState", gameState);
-        ws.sendToUser(game.getHostUsername(), msg);
-        if (game.getGuesserUsername() != null) {
-            ws.sendToUser(game.getGuesserUsername(), msg);
-        }
+        return ws.encode(Map.of("type", "hangman_game_state", "gameState", gameState));
     }
 
     // -------------------------------------------------------------------------
@@ -169,18 +403,129 @@ public class GameService {
 
     public void handlePokerMessage(String sender, JsonNode json, MainWebSocketHandler ws) throws IOException {
         String type = json.get("type").asText();
+
+        // Calculatorul de sanse nu tine de o masa anume si nu modifica starea jocului
+        if (type.equals("poker_equity")) {
+            handleEquityRequest(sender, json, ws);
+            return;
+        }
         String gameId = json.has("gameId") ? json.get("gameId").asText() : "";
 
         PokerGame game = pokerGames.get(gameId);
         if (game == null) return;
 
+        // Toate comenzile mesei trec prin cutia ei postala; broadcast-urile pleaca in aceeasi ordine
+        game.getMailbox().execute(() -> {
+            try {
+                applyPokerMessage(game, type, sender, json, ws);
+            } catch (IOException e) {
+                System.err.println("Poker Error: " + e.getMessage());
+            }
+            afterPokerCommand(game, ws);
+        });
+    }
+
+    // Pasii comuni dupa orice comanda a mesei (venita de la jucator sau de la ceas)
+    private void afterPokerCommand(PokerGame game, MainWebSocketHandler ws) {
+        commitPokerLobby(game);
+        // Mana terminata pleaca in jurnal (doar o punem in coada, scrierea e pe alt thread)
+        HandHistory hand = game.takeCompletedHand();
+        if (hand != null) {
+            handJournal.append(hand);
+            // La o masa de turneu, directorul decide ce urmeaza (eliminari, mutari, mana urmatoare)
+            if (game.getTournamentId() != null) tournamentService.onHandFinished(game, hand);
+        }
+        try {
+            armPokerClock(game, ws);
+        } catch (IOException e) {
+            System.err.println("Poker Error: " + e.getMessage());
+        }
+    }
+
+    // La o tura noua: inchidem termenul vechi (scazand depasirea din rezerva jucatorului) si il pornim pe urmatorul
+    private void armPokerClock(PokerGame game, MainWebSocketHandler ws) throws IOException {
+        String gameId = game.getGameId();
+        ArmedTurn armed = pokerTurns.get(gameId);
+        String token = game.getCurrentPlayerToken();
+        boolean active = game.isInProgress() && token != null;
+        if (active && armed != null && armed.turn() == game.getTurnNumber()) return;
+
+        if (armed != null) {
+            armed.timeout().cancel();
+            pokerTurns.remove(gameId);
+            PokerPlayer previous = game.getPlayersByToken().get(armed.token());
+            long overtime = System.currentTimeMillis() - armed.startedAt() - game.getTurnTimeoutMs();
+            if (previous != null && overtime > 0) previous.setTimeBankMs(Math.max(0, previous.getTimeBankMs() - overtime));
+        }
+        if (!active) return;
+
+        PokerPlayer player = game.getPlayersByToken().get(token);
+        long limit = game.getTurnTimeoutMs() + player.getTimeBankMs();
+        long turn = game.getTurnNumber();
+        TimingWheel.Timeout timeout = turnClock.schedule(
+                () -> game.getMailbox().execute(() -> onPokerTurnExpired(game, turn, ws)), limit);
+        pokerTurns.put(gameId, new ArmedTurn(turn, token, System.currentTimeMillis(), timeout));
+
+        TextMessage turnFrame = ws.encode(pokerTurnMessage(game, pokerTurns.get(gameId)));
+        ws.sendFrameToUsers(usernames(game), turnFrame);
+        ws.sendFrameToUsers(game.getSpectators(), turnFrame);
+    }
+
+    // Ruleaza in cutia postala a mesei: aceeasi cale ca o actiune trimisa de jucator
+    private void onPokerTurnExpired(PokerGame game, long turn, MainWebSocketHandler ws) {
+        if (game.getTurnNumber() != turn) return;
+        String token = game.getCurrentPlayerToken();
+        if (token == null) return;
+        try {
+            String action = game.timeoutAction();
+            game.handlePlayerAction(token, action, 0);
+            gameStore.log(game, "poker_action", token, action, 0);
+            broadcastPokerEvents(game, ws);
+        } catch (IllegalArgumentException | IOException e) {
+            System.err.println("Poker Error: " + e.getMessage());
+        }
+        afterPokerCommand(game, ws);
+    }
+
+    private Map<String, Object> pokerTurnMessage(PokerGame game, ArmedTurn armed) {
+        PokerPlayer player = game.getPlayersByToken().get(armed.token());
+        return Map.of(
+                "type", "poker_turn",
+                "gameId", game.getGameId(),
+                "token", armed.token(),
+                "remainingMs", armed.timeout().remainingMs(),
+                "timeBankMs", player != null ? player.getTimeBankMs() : 0
+        );
+    }
+
+    private void applyPokerMessage(PokerGame game, String type, String sender, JsonNode json, MainWebSocketHandler ws) throws IOException {
+        // La mesele de turneu mainile si locurile le decide directorul turneului, nu creatorul mesei
+        if (game.getTournamentId() != null && (type.equals("poker_start_game")
+                || type.equals("poker_start_new_hand") || type.equals("poker_leave_game"))) return;
         try {
             if (type.equals("poker_action")) {
                 String action = json.get("action").asText();
                 int amount = json.has("amount") ? json.get("amount").asInt() : 0;
                 // In acest proiect, token-ul este chiar username-ul
                 game.handlePlayerAction(sender, action, amount);
-                broadcastPokerState(game, ws);
+                gameStore.log(game, "poker_action", sender, action, amount);
+                // O actiune produce doar diferente mici; snapshot-ul complet pleaca la intrare sau la cerere
+                broadcastPokerEvents(game, ws);
+            }
+            else if (type.equals("poker_resync")) {
+                // Clientul a vazut un gol in secventa (sau abia a deschis masa): ii retrimitem snapshot-ul
+                PokerPlayer player = game.getPlayersByToken().get(sender);
+                if (player != null) sendPokerSnapshot(game, player, pokerStateFrame(game, ws), ws);
+                else if (game.getSpectators().contains(sender)) sendSpectatorSnapshot(game, sender, ws);
+            }
+            else if (type.equals("poker_spectate")) {
+                // Jucatorii vad deja masa; spectatorul nu ocupa loc si nu primeste carti private
+                if (game.getPlayersByToken().containsKey(sender)) return;
+                if (game.getSpectators().add(sender)) watch(pokerWatching, sender, game.getGameId());
+                sendSpectatorSnapshot(game, sender, ws);
+            }
+            else if (type.equals("poker_unspectate")) {
+                stopSpectatingPoker(game, sender);
             }
             else if (type.equals("poker_start_game")) {
                 System.out.println("DEBUG: Am primit comanda START de la: " + sender);
@@ -189,7 +534,10 @@ public class GameService {
 
                 if (sender.equals(game.getCreatorUsername())) {
                     try {
-                        game.startGame();
+                        // Pachet gata amestecat; seed-ul lui intra in log, la refacere pachetul se amesteca identic
+                        ShuffledDeck deck = deckPool.take();
+                        game.startGame(deck);
+                        gameStore.log(game, "poker_start", sender, null, deck.seed());
                         System.out.println("DEBUG: Jocul a pornit cu succes!");
                         broadcastPokerState(game, ws);
                     } catch(Exception e) {
@@ -202,17 +550,14 @@ public class GameService {
             }
             else if (type.equals("poker_start_new_hand")) {
                 if (sender.equals(game.getCreatorUsername())) {
-                    game.startNewHand();
+                    ShuffledDeck deck = deckPool.take();
+                    game.startNewHand(deck);
+                    gameStore.log(game, "poker_hand", sender, null, deck.seed());
                     broadcastPokerState(game, ws);
                 }
             }
             else if (type.equals("poker_leave_game")) {
-                game.removePlayer(sender);
-                broadcastPokerState(game, ws);
-                if(game.getPlayers().isEmpty()) {
-                    pokerGames.remove(gameId);
-                    ws.broadcastAll(Map.of("type", "poker_lobby_update", "games", getAllPokerGames()));
-                }
+                leavePokerGame(game, sender, ws);
             }
         } catch (IllegalArgumentException e) {
             System.err.println("Poker Error: " + e.getMessage());
@@ -220,11 +565,68 @@ public class GameService {
         }
     }
 
+    // Ruleaza in cutia postala a mesei; masa ramasa goala dispare din lobby
+    private void leavePokerGame(PokerGame game, String user, MainWebSocketHandler ws) throws IOException {
+        String gameId = game.getGameId();
+        if (game.getPlayersByToken().containsKey(user)) {
+            game.removePlayer(user);
+            gameStore.log(game, "poker_leave", user, null, 0);
+        } else if (stopSpectatingPoker(game, user)) {
+            // Plecarea unui spectator nu schimba masa: nu retrimitem starea celorlalti
+            return;
+        }
+        broadcastPokerState(game, ws);
+        if(game.getPlayers().isEmpty() && pokerGames.remove(game)) {
+            releasePokerGame(game);
+        }
+    }
+
+    // Masa a iesit din registru (goala sau expirata): eliberam tot ce mai tine de ea
+    private void releasePokerGame(PokerGame game) {
+        String gameId = game.getGameId();
+        for (String spectator : game.getSpectators()) unwatch(pokerWatching, spectator, gameId);
+        game.getSpectators().clear();
+        pokerStateFrames.remove(gameId);
+        ArmedTurn armed = pokerTurns.remove(gameId);
+        if (armed != null) armed.timeout().cancel();
+        lobbyPublisher.markPokerDirty();
+    }
+
+    private void handleEquityRequest(String sender, JsonNode json, MainWebSocketHandler ws) {
+        List<String> hand = new ArrayList<>();
+        List<String> board = new ArrayList<>();
+        if (json.has("hand")) json.get("hand").forEach(c -> hand.add(c.asText()));
+        if (json.has("board")) json.get("board").forEach(c -> board.add(c.asText()));
+        int opponents = json.has("opponents") ? json.get("opponents").asInt() : 1;
+        int samples = json.has("samples") ? json.get("samples").asInt() : 0;
+
+        equityService.calculateAsync(hand, board, opponents, samples).whenComplete((result, error) -> {
+            try {
+                if (error != null) {
+                    Throwable cause = error.getCause() != null ? error.getCause() : error;
+                    ws.sendToUser(sender, Map.of("type", "error", "message", String.valueOf(cause.getMessage())));
+                } else {
+                    ws.sendToUser(sender, Map.of("type", "poker_equity", "hand", hand, "board", board, "equity", result));
+                }
+            } catch (IOException e) {
+                System.err.println("Poker Error: " + e.getMessage());
+            }
+        });
+    }
+
     public void createPokerGame(String gameId, String creator, String pass, int sb, int bb, int maxP, int stack) {
-        if (pokerGames.containsKey(gameId)) throw new IllegalArgumentException("Game ID exists");
-        PokerGame game = new PokerGame(gameId, creator, pass, sb, bb, maxP);
+        createPokerGame(new PokerGame(gameId, creator, pass, sb, bb, maxP), creator, stack);
+    }
+
+    private void createPokerGame(PokerGame game, String creator, int stack) {
+        game.setTurnTimeoutMs(pokerTurnTimeoutMs);
+        game.setTimeBankMs(pokerTimeBankMs);
         game.addPlayer(creator, creator, stack);
-        pokerGames.put(gameId, game);
+        game.refreshLobbySummary();
+        // putIfAbsent in registru: doua cereri simultane cu acelasi ID nu se pot suprascrie una pe alta
+        pokerGames.add(game);
+        game.getMailbox().execute(() -> gameStore.created(game));
+        lobbyPublisher.markPokerDirty();
     }
 
     public void joinPokerGame(String gameId, String user, String pass, int stack) {
@@ -234,30 +636,299 @@ public class GameService {
         if (game.getPassword() != null && !game.getPassword().isEmpty() && !game.getPassword().equals(pass)) {
             throw new IllegalArgumentException("Wrong password");
         }
-        game.addPlayer(user, user, stack);
+        // Thread-ul REST asteapta rezultatul, dar modificarea ruleaza pe cutia postala a mesei
+        game.getMailbox().run(() -> {
+            game.addPlayer(user, user, stack);
+            // Un spectator care se aseaza primeste de acum si cartile lui
+            stopSpectatingPoker(game, user);
+            gameStore.log(game, "poker_join", user, null, stack);
+            commitPokerLobby(game);
+        });
     }
 
-    public Collection<PokerGame> getAllPokerGames() {
-        return pokerGames.values();
+    // -------------------------------------------------------------------------
+    // MESE DE TURNEU (comenzi trimise de TournamentDirector)
+    // -------------------------------------------------------------------------
+
+    public PokerGame createTournamentTable(String tournamentId, String tableId, int sb, int bb, int maxP, String player, int stack) {
+        PokerGame game = new PokerGame(tableId, player, null, sb, bb, maxP);
+        game.setTournamentId(tournamentId);
+        createPokerGame(game, player, stack);
+        return game;
+    }
+
+    // Metodele de mai jos ruleaza deja in cutia postala a mesei (directorul le trimite acolo)
+    public void seatTournamentPlayer(PokerGame table, String user, int stack, MainWebSocketHandler ws) {
+        joinPokerGame(table.getGameId(), user, null, stack);
+        try {
+            broadcastPokerState(table, ws);
+        } catch (IOException e) {
+            System.err.println("Poker Error: " + e.getMessage());
+        }
+    }
+
+    public void unseatTournamentPlayer(PokerGame table, String user, MainWebSocketHandler ws) {
+        try {
+            leavePokerGame(table, user, ws);
+        } catch (IOException e) {
+            System.err.println("Poker Error: " + e.getMessage());
+        }
+        commitPokerLobby(table);
+    }
+
+    public void startTournamentHand(PokerGame table, int sb, int bb, MainWebSocketHandler ws) {
+        // Nivelul nou de blind-uri intra in log inaintea mainii, ca replay-ul sa o imparta la fel
+        if (table.getSmallBlind() != sb || table.getBigBlind() != bb) {
+            table.setSmallBlind(sb);
+            table.setBigBlind(bb);
+            gameStore.log(table, "poker_blinds", null, null, ((long) sb << 32) | bb);
+        }
+        ShuffledDeck deck = deckPool.take();
+        table.startNewHand(deck);
+        gameStore.log(table, "poker_hand", table.getCreatorUsername(), null, deck.seed());
+        try {
+            broadcastPokerState(table, ws);
+        } catch (IOException e) {
+            System.err.println("Poker Error: " + e.getMessage());
+        }
+        afterPokerCommand(table, ws);
+    }
+
+    private void commitPokerLobby(PokerGame game) {
+        pokerGames.touch(game);
+        if (game.refreshLobbySummary()) lobbyPublisher.markPokerDirty();
+    }
+
+    // Rezumate compacte pentru lobby si REST (fara pachet, carti sau parola)
+    public List<PokerLobbySummary> getPokerLobby() {
+        List<PokerLobbySummary> lobby = new ArrayList<>(pokerGames.size());
+        for (PokerGame game : pokerGames.values()) {
+            lobby.add(game.getLobbySummary());
+        }
+        return lobby;
+    }
+
+    // Citire fara lock, din orice thread: ultimul snapshot publicat de cutia postala a mesei
+    public PokerTableSnapshot getPokerTable(String gameId) {
+        PokerGame game = pokerGames.get(gameId);
+        return game != null ? game.getSnapshot() : null;
+    }
+
+    // Trimite starea mesei tuturor jucatorilor, in ordine fata de celelalte comenzi ale mesei
+    public void broadcastPokerState(String gameId, MainWebSocketHandler ws) {
+        PokerGame game = pokerGames.get(gameId);
+        if (game == null) return;
+        game.getMailbox().execute(() -> {
+            try {
+                broadcastPokerState(game, ws);
+            } catch (IOException e) {
+                System.err.println("Poker Error: " + e.getMessage());
+            }
+        });
     }
 
     private void broadcastPokerState(PokerGame game, MainWebSocketHandler ws) throws IOException {
-        // Trimitem fiecarui jucator starea publica + cartile lui private
+        // Evenimentele ramase sunt deja incluse in snapshot
+        game.drainEvents();
+        // Starea publica: construita si serializata o singura data per versiune, partajata de toti
+        TextMessage stateFrame = pokerStateFrame(game, ws);
         for (PokerPlayer p : game.getPlayers()) {
-            // Generam starea publica (ascunde cartile adversarilor)
-            Map<String, Object> state = game.getPublicState(p.getToken());
+            sendPokerSnapshot(game, p, stateFrame, ws);
+        }
+        // Spectatorii primesc acelasi frame, fara suprapunerea privata: cost O(1) per spectator, fara serializare
+        // Ceasul turei nu se retrimite aici: pleaca din armPokerClock, la jucatori si spectatori deodata
+        ws.sendFrameToUsers(game.getSpectators(), stateFrame);
+    }
 
-            // Mesaj 1: Starea mesei
-            ws.sendToUser(p.getUsername(), Map.of(
-                    "type", "poker_game_state",
-                    "gameState", state
-            ));
+    // Snapshot pentru un singur spectator (la abonare sau la resync): starea publica si ceasul, fara carti
+    private void sendSpectatorSnapshot(PokerGame game, String user, MainWebSocketHandler ws) throws IOException {
+        ws.sendFrameToUser(user, pokerStateFrame(game, ws));
+        ArmedTurn armed = pokerTurns.get(game.getGameId());
+        if (armed != null) ws.sendToUser(user, pokerTurnMessage(game, armed));
+    }
+
+    // Ruleaza in cutia postala a mesei; intoarce true daca userul chiar era spectator
+    private boolean stopSpectatingPoker(PokerGame game, String user) {
+        if (!game.getSpectators().remove(user)) return false;
+        unwatch(pokerWatching, user, game.getGameId());
+        return true;
+    }
+
+    private void sendPokerSnapshot(PokerGame game, PokerPlayer p, TextMessage stateFrame, MainWebSocketHandler ws) throws IOException {
+        // Mesaj 1: Starea mesei (frame partajat)
+        ws.sendFrameToUser(p.getUsername(), stateFrame);
+
+        // Mesaj 2: Suprapunerea privata (cartile proprii + daca e randul lui), payload mic
+        ws.sendToUser(p.getUsername(), Map.of(
+                "type", "poker_hand",
+                "stateVersion", game.getStateVersion(),
+                "hand", p.getHand(),
+                "yourTurn", p.getToken().equals(game.getCurrentPlayerToken())
+        ));
+
+        // Mesaj 3: cat timp mai are jucatorul curent
+        ArmedTurn armed = pokerTurns.get(game.getGameId());
+        if (armed != null) ws.sendToUser(p.getUsername(), pokerTurnMessage(game, armed));
+    }
 
-            // Mesaj 2: Cartile proprii (doar pentru el)
-            ws.sendToUser(p.getUsername(), Map.of(
-                    "type", "poker_hand",
-                    "hand", p.getHand()
+    // Fiecare eveniment e serializat o data si trimis acelasi frame jucatorilor si spectatorilor mesei
+    private void broadcastPokerEvents(PokerGame game, MainWebSocketHandler ws) throws IOException {
+        List<PokerEvent> events = game.drainEvents();
+        if (events.isEmpty()) return;
+        List<String> usernames = usernames(game);
+
+        for (PokerEvent e : events) {
+            TextMessage frame = ws.encode(Map.of(
+                    "type", "poker_event",
+                    "gameId", game.getGameId(),
+                    "seq", e.seq(),
+                    "event", e.event(),
+                    "data", e.data()
             ));
+            ws.sendFrameToUsers(usernames, frame);
+            ws.sendFrameToUsers(game.getSpectators(), frame);
         }
     }
-}
\ No newline at end of file
+
+    private TextMessage pokerStateFrame(PokerGame game, MainWebSocketHandler ws) throws IOException {
+        long version = game.getStateVersion();
+        VersionedFrame cached = pokerStateFrames.get(game.getGameId());
+        if (cached != null && cached.version() == version) return cached.frame();
+
+        TextMessage frame = ws.encode(Map.of(
+                "type", "poker_game_state",
+                "gameState", game.publishSnapshot()
+        ));
+        pokerStateFrames.put(game.getGameId(), new VersionedFrame(version, frame));
+        return frame;
+    }
+
+    private List<String> usernames(PokerGame game) {
+        List<String> usernames = new ArrayList<>(game.getPlayers().size());
+        for (PokerPlayer p : game.getPlayers()) usernames.add(p.getUsername());
+        return usernames;
+    }
+
+    // -------------------------------------------------------------------------
+    // EXPIRARE (jocuri abandonate sau terminate)
+    // -------------------------------------------------------------------------
+
+    private final class PokerLifecycle implements GameRegistry.Lifecycle<PokerGame> {
+        @Override
+        public String id(PokerGame game) {
+            return game.getGameId();
+        }
+
+        @Override
+        public GameMailbox mailbox(PokerGame game) {
+            return game.getMailbox();
+        }
+
+        // O masa nu se termina: expira doar daca nu mai joaca nimeni la ea; pe cele de turneu le inchide directorul
+        @Override
+        public GameRegistry.State state(PokerGame game) {
+            return game.getTournamentId() != null ? GameRegistry.State.PINNED : GameRegistry.State.ACTIVE;
+        }
+
+        @Override
+        public void expired(PokerGame game) {
+            // In log, ca la refacere masa sa nu reapara din segmentele scrise dupa ultimul snapshot
+            gameStore.log(game, "poker_expired", null, null, 0);
+            notifyExpired("poker", game.getGameId(), usernames(game), game.getSpectators());
+            releasePokerGame(game);
+        }
+    }
+
+    private final class HangmanLifecycle implements GameRegistry.Lifecycle<HangmanGame> {
+        @Override
+        public String id(HangmanGame game) {
+            return game.getGameId();
+        }
+
+        @Override
+        public GameMailbox mailbox(HangmanGame game) {
+            return game.getMailbox();
+        }
+
+        @Override
+        public GameRegistry.State state(HangmanGame game) {
+            return game.getStatus().equals("won") || game.getStatus().equals("lost")
+                    ? GameRegistry.State.FINISHED : GameRegistry.State.ACTIVE;
+        }
+
+        @Override
+        public void expired(HangmanGame game) {
+            String gameId = game.getGameId();
+            gameStore.log(game, "hangman_expired", null, null, 0);
+            List<String> players = new ArrayList<>(2);
+            players.add(game.getHostUsername());
+            if (game.getGuesserUsername() != null) players.add(game.getGuesserUsername());
+            notifyExpired("hangman", gameId, players, game.getSpectators());
+
+            for (String spectator : game.getSpectators()) unwatch(hangmanWatching, spectator, gameId);
+            game.getSpectators().clear();
+            ArmedTurn armed = hangmanTurns.remove(gameId);
+            if (armed != null) armed.timeout().cancel();
+            lobbyPublisher.markHangmanDirty();
+        }
+    }
+
+    // Cine mai are jocul deschis se intoarce in lobby
+    private void notifyExpired(String game, String gameId, Collection<String> players, Collection<String> spectators) {
+        try {
+            TextMessage frame = wsHandler.encode(Map.of("type", "game_expired", "game", game, "gameId", gameId));
+            wsHandler.sendFrameToUsers(players, frame);
+            wsHandler.sendFrameToUsers(spectators, frame);
+        } catch (IOException e) {
+            System.err.println("Game registry error: " + e.getMessage());
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // SPECTATORI
+    // -------------------------------------------------------------------------
+
+    // Apelat cand userul si-a inchis ultimul tab: il scoatem din publicul jocurilor pe care le urmarea
+    public void userOffline(String username) {
+        Set<String> tables = pokerWatching.remove(username);
+        if (tables != null) {
+            for (String gameId : tables) {
+                PokerGame game = pokerGames.get(gameId);
+                if (game != null) game.getMailbox().execute(() -> forgetSpectator(game.getSpectators(), pokerWatching, username, gameId));
+            }
+        }
+        Set<String> games = hangmanWatching.remove(username);
+        if (games != null) {
+            for (String gameId : games) {
+                HangmanGame game = hangmanGames.get(gameId);
+                if (game != null) game.getMailbox().execute(() -> forgetSpectator(game.getSpectators(), hangmanWatching, username, gameId));
+            }
+        }
+    }
+
+    // Daca userul s-a reconectat si urmareste din nou jocul pana sa ruleze stergerea, abonamentul nou ramane
+    private static void forgetSpectator(Set<String> spectators, Map<String, Set<String>> index, String username, String gameId) {
+        Set<String> watching = index.get(username);
+        if (watching == null || !watching.contains(gameId)) spectators.remove(username);
+    }
+
+    // Indexul invers se modifica atomic in compute, ca sa nu se intercaleze cu stergerea cheii
+    private static void watch(Map<String, Set<String>> index, String username, String gameId) {
+        index.compute(username, (user, ids) -> {
+            Set<String> set = ids != null ? ids : ConcurrentHashMap.newKeySet();
+            set.add(gameId);
+            return set;
+        });
+    }
+
+    private static void unwatch(Map<String, Set<String>> index, String username, String gameId) {
+        index.computeIfPresent(username, (user, ids) -> {
+            ids.remove(gameId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private record ArmedTurn(long turn, String token, long startedAt, TimingWheel.Timeout timeout) {}
+
+    private record VersionedFrame(long version, TextMessage frame) {}
+}
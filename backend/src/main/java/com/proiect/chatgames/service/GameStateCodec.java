@@ -0,0 +1,244 @@
+package com.proiect.chatgames.service;
+
+import com.proiect.chatgames.model.HangmanGame;
+import com.proiect.chatgames.model.poker.Card;
+import com.proiect.chatgames.model.poker.EvaluatedHand;
+import com.proiect.chatgames.model.poker.LookupHandEvaluator;
+import com.proiect.chatgames.model.poker.PlayerStatus;
+import com.proiect.chatgames.model.poker.PokerGame;
+import com.proiect.chatgames.model.poker.PokerPlayer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Starea completa a unui joc in format binar compact (snapshot-uri si crearea jocurilor in log).
+ * Se codifica doar din cutia postala a jocului. Pachetul nu e salvat carte cu carte:
+ * seed-ul mainii + cate carti au ramas ajung ca sa il refacem identic.
+ */
+final class GameStateCodec {
+
+    static final byte FORMAT_VERSION = 3;
+
+    // evaluatedHand nu se salveaza; se recalculeaza din carti la citire
+    private static final byte NO_HAND = 0;
+    private static final byte EVALUATED = 1;
+    private static final byte WON_BY_FOLD = 2;
+
+    private GameStateCodec() {
+    }
+
+    // --- Poker ---
+
+    static void writePoker(PokerGame game, ByteBuffer buf) {
+        buf.put(FORMAT_VERSION);
+        putString(buf, game.getGameId());
+        putString(buf, game.getCreatorUsername());
+        putString(buf, game.getPassword());
+        buf.putInt(game.getSmallBlind());
+        buf.putInt(game.getBigBlind());
+        buf.putInt(game.getMinPlayers());
+        buf.putInt(game.getMaxPlayers());
+        buf.putLong(game.getTurnTimeoutMs());
+        buf.putLong(game.getTimeBankMs());
+
+        buf.putLong(game.getStoreGeneration());
+        buf.putLong(game.getStoreSeq());
+        buf.putLong(game.getStateVersion());
+        buf.putLong(game.getEventSeq());
+        buf.putLong(game.getTurnNumber());
+
+        buf.put((byte) (game.isInProgress() ? 1 : 0));
+        putString(buf, game.getRound());
+        buf.putInt(game.getPot());
+        buf.putInt(game.getDealerIndex());
+        buf.putInt(game.getCurrentPlayerIndex());
+        putString(buf, game.getLastRaiser() != null ? game.getLastRaiser().getToken() : null);
+        buf.putLong(game.getHandSeed());
+        buf.put((byte) game.getDeck().remaining());
+        putCards(buf, game.getBoard());
+
+        buf.put((byte) game.getPlayers().size());
+        for (PokerPlayer p : game.getPlayers()) {
+            putString(buf, p.getUsername());
+            putString(buf, p.getToken());
+            buf.putInt(p.getStack());
+            buf.putInt(p.getCurrentBet());
+            buf.put((byte) p.getStatus().ordinal());
+            buf.put((byte) ((p.isWinner() ? 1 : 0) | (p.isHasActed() ? 2 : 0)));
+            buf.put((byte) p.getSeat());
+            buf.putLong(p.getTimeBankMs());
+            putCards(buf, p.getHand());
+            EvaluatedHand evaluated = p.getEvaluatedHand();
+            buf.put(evaluated == null ? NO_HAND : evaluated.getHighCardValues() == null ? WON_BY_FOLD : EVALUATED);
+        }
+
+        // Locurile mainii (cu contributiile, si ale celor plecati) si istoricul ei, ca mana sa ajunga
+        // intreaga in jurnal si dupa un restart
+        buf.put((byte) game.getSeatCount());
+        for (int i = 0; i < game.getSeatCount(); i++) {
+            putString(buf, game.getSeatTokens()[i]);
+            buf.putInt(game.getSeatStacks()[i]);
+            buf.putInt(game.getContributions()[i]);
+        }
+        buf.put((byte) (game.isHandOpen() ? 1 : 0));
+        buf.putLong(game.getHandStartedAt());
+        buf.put((byte) game.getHandDealtIn());
+        buf.put((byte) game.getHandDealerIndex());
+        buf.putShort((short) game.getActionCount());
+        for (int i = 0; i < game.getActionCount(); i++) buf.putLong(game.getHandActions()[i]);
+    }
+
+    static PokerGame readPoker(ByteBuffer buf) {
+        checkVersion(buf.get());
+        PokerGame game = new PokerGame(getString(buf), getString(buf), getString(buf), buf.getInt(), buf.getInt(), 0);
+        game.setMinPlayers(buf.getInt());
+        game.setMaxPlayers(buf.getInt());
+        game.setTurnTimeoutMs(buf.getLong());
+        game.setTimeBankMs(buf.getLong());
+
+        game.setStoreGeneration(buf.getLong());
+        game.setStoreSeq(buf.getLong());
+        game.setStateVersion(buf.getLong());
+        game.setEventSeq(buf.getLong());
+        game.setTurnNumber(buf.getLong());
+
+        game.setInProgress(buf.get() == 1);
+        game.setRound(getString(buf));
+        game.setPot(buf.getInt());
+        game.setDealerIndex(buf.getInt());
+        game.setCurrentPlayerIndex(buf.getInt());
+        String lastRaiser = getString(buf);
+        game.setHandSeed(buf.getLong());
+        game.getDeck().restore(game.getHandSeed(), buf.get());
+        getCards(buf, game.getBoard());
+
+        int playerCount = buf.get();
+        for (int i = 0; i < playerCount; i++) {
+            String username = getString(buf);
+            String token = getString(buf);
+            PokerPlayer p = new PokerPlayer(username, buf.getInt());
+            p.setToken(token);
+            p.setCurrentBet(buf.getInt());
+            p.setStatus(PlayerStatus.values()[buf.get()]);
+            byte flags = buf.get();
+            p.setWinner((flags & 1) != 0);
+            p.setHasActed((flags & 2) != 0);
+            p.setSeat(buf.get());
+            p.setTimeBankMs(buf.getLong());
+            getCards(buf, p.getHand());
+            switch (buf.get()) {
+                case EVALUATED:
+                    p.setEvaluatedHand(LookupHandEvaluator.toEvaluatedHand(LookupHandEvaluator.evaluate(p.getHand(), game.getBoard())));
+                    break;
+                case WON_BY_FOLD:
+                    p.setEvaluatedHand(new EvaluatedHand(0, "Castigator prin abandon", null));
+                    break;
+                default:
+                    break;
+            }
+            game.getPlayers().add(p);
+            game.getPlayersByToken().put(token, p);
+        }
+        if (lastRaiser != null) game.setLastRaiser(game.getPlayersByToken().get(lastRaiser));
+
+        int seatCount = buf.get() & 0xFF;
+        String[] tokens = new String[Math.max(seatCount, game.getSeatTokens().length)];
+        int[] stacks = new int[tokens.length];
+        int[] contributions = new int[tokens.length];
+        for (int i = 0; i < seatCount; i++) {
+            tokens[i] = getString(buf);
+            stacks[i] = buf.getInt();
+            contributions[i] = buf.getInt();
+        }
+        game.setSeatTokens(tokens);
+        game.setSeatStacks(stacks);
+        game.setContributions(contributions);
+        game.setSeatCount(seatCount);
+
+        game.setHandOpen(buf.get() == 1);
+        game.setHandStartedAt(buf.getLong());
+        game.setHandDealtIn(buf.get());
+        game.setHandDealerIndex(buf.get());
+        int actionCount = buf.getShort() & 0xFFFF;
+        long[] actions = new long[Math.max(actionCount, game.getHandActions().length)];
+        for (int i = 0; i < actionCount; i++) actions[i] = buf.getLong();
+        game.setHandActions(actions);
+        game.setActionCount(actionCount);
+
+        game.rebuildAggregates();
+        return game;
+    }
+
+    // --- Spanzuratoarea ---
+
+    static void writeHangman(HangmanGame game, ByteBuffer buf) {
+        buf.put(FORMAT_VERSION);
+        putString(buf, game.getGameId());
+        putString(buf, game.getHostUsername());
+        putString(buf, game.getGuesserUsername());
+        putString(buf, game.getSecretWord());
+        putString(buf, game.getStatus());
+        putString(buf, game.getMaskedWord());
+        buf.putInt(game.getMistakes());
+        buf.putLong(game.getTurnTimeoutMs());
+        buf.putLong(game.getTurnNumber());
+        buf.putLong(game.getStoreGeneration());
+        buf.putLong(game.getStoreSeq());
+        buf.put((byte) game.getGuessedLetters().size());
+        for (String letter : game.getGuessedLetters()) putString(buf, letter);
+    }
+
+    static HangmanGame readHangman(ByteBuffer buf) {
+        checkVersion(buf.get());
+        HangmanGame game = new HangmanGame(getString(buf), getString(buf));
+        game.setGuesserUsername(getString(buf));
+        game.setSecretWord(getString(buf));
+        game.setStatus(getString(buf));
+        game.setMaskedWord(getString(buf));
+        game.setMistakes(buf.getInt());
+        game.setTurnTimeoutMs(buf.getLong());
+        game.setTurnNumber(buf.getLong());
+        game.setStoreGeneration(buf.getLong());
+        game.setStoreSeq(buf.getLong());
+        int letters = buf.get();
+        for (int i = 0; i < letters; i++) game.getGuessedLetters().add(getString(buf));
+        // Indexul pe biti al cuvantului nu se salveaza
+        game.restoreIndex();
+        return game;
+    }
+
+    private static void checkVersion(byte version) {
+        if (version != FORMAT_VERSION) throw new IllegalArgumentException("Versiune necunoscuta a starii salvate: " + version);
+    }
+
+    private static void putCards(ByteBuffer buf, List<Card> cards) {
+        buf.put((byte) cards.size());
+        for (Card c : cards) buf.put((byte) c.getCode());
+    }
+
+    private static void getCards(ByteBuffer buf, List<Card> into) {
+        int count = buf.get();
+        for (int i = 0; i < count; i++) into.add(Card.of(buf.get()));
+    }
+
+    // Lungime -1 = null
+    static void putString(ByteBuffer buf, String s) {
+        if (s == null) {
+            buf.putShort((short) -1);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        buf.putShort((short) bytes.length);
+        buf.put(bytes);
+    }
+
+    static String getString(ByteBuffer buf) {
+        int length = buf.getShort();
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,552 @@
+package com.proiect.chatgames.service;
+
+import com.proiect.chatgames.model.HangmanGame;
+import com.proiect.chatgames.model.poker.PokerGame;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Persistenta jocurilor din memorie: snapshot-uri periodice + un log de comenzi (write-ahead log).
+ * Fiecare comanda acceptata de un joc e scrisa in log cu numarul ei de ordine in acel joc (storeSeq).
+ * Snapshot-ul N contine starea tuturor jocurilor si acopera tot ce s-a scris in segmentele de log mai vechi
+ * decat "wal-N"; la pornire incarcam ultimul snapshot si rejucam doar segmentele >= N.
+ * Jocurile sunt copiate fiecare in cutia lui postala, deci snapshot-ul nu opreste nicio masa; o comanda
+ * ajunsa si in snapshot si in log e recunoscuta dupa storeSeq si sarita la refacere.
+ * Inregistrari: [lungime int][corp][CRC32 int], ca in jurnalul de maini.
+ */
+@Component
+public class GameStore {
+
+    static final String LOG_PREFIX = "wal-";
+    static final String LOG_SUFFIX = ".log";
+    static final String SNAPSHOT_PREFIX = "snapshot-";
+    static final String SNAPSHOT_SUFFIX = ".snap";
+
+    private static final int SNAPSHOT_MAGIC = 0x47534E50; // "GSNP"
+
+    // Tipul inregistrarii (primul octet din corp)
+    private static final byte POKER_STATE = 1;
+    private static final byte HANGMAN_STATE = 2;
+    private static final byte COMMAND = 3;
+
+    // Codurile comenzilor in formatul binar (indexul in lista; tipurile noi se adauga doar la final)
+    private static final List<String> COMMAND_TYPES = List.of(
+            "poker_join", "poker_action", "poker_start", "poker_hand", "poker_leave",
+            "hangman_join", "hangman_word", "hangman_guess", "hangman_timeout", "poker_blinds",
+            "poker_expired", "hangman_expired");
+
+    @Value("${app.store.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${app.store.dir:data/game-store}")
+    private String dir = "data/game-store";
+
+    // O comanda pierduta ar rupe sirul storeSeq al jocului, deci coada plina blocheaza masa (nu aruncam)
+    @Value("${app.store.queueCapacity:65536}")
+    private int queueCapacity = 65536;
+
+    // true = fsync dupa fiecare lot; altfel datele supravietuiesc caderii procesului, dar nu si a sistemului
+    @Value("${app.store.fsync:false}")
+    private boolean fsync = false;
+
+    public record Command(String type, String gameId, long generation, long seq, String actor, String text, long value) {}
+
+    public record Recovered(Map<String, PokerGame> pokerGames, Map<String, HangmanGame> hangmanGames,
+                            int replayed, long elapsedMs) {}
+
+    // Ce ajunge la scriitor: o inregistrare gata codificata sau comanda de a trece la segmentul "rotateTo"
+    private record Entry(byte[] record, int rotateTo) {}
+
+    private BlockingQueue<Entry> queue;
+    private Thread writer;
+    private ExecutorService snapshotExecutor;
+    private volatile boolean running;
+    private final AtomicBoolean snapshotInProgress = new AtomicBoolean();
+
+    private Path directory;
+    private FileChannel channel;
+    private final AtomicInteger lastSegment = new AtomicInteger();
+    private final AtomicLong generations = new AtomicLong();
+    private final ByteBuffer out = ByteBuffer.allocateDirect(1 << 20);
+
+    @PostConstruct
+    public void init() throws IOException {
+        if (enabled) start(Path.of(dir));
+    }
+
+    public synchronized void start(Path directory) throws IOException {
+        if (running) return;
+        this.directory = directory;
+        Files.createDirectories(directory);
+        // Continuam mereu intr-un segment nou: coada celui vechi poate fi scrisa pe jumatate
+        lastSegment.set(Math.max(lastIndex(directory, LOG_PREFIX, LOG_SUFFIX), lastIndex(directory, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)));
+        openSegment(lastSegment.incrementAndGet());
+
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        writer = new Thread(this::writeLoop, "game-store");
+        writer.setDaemon(true);
+        writer.start();
+        snapshotExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "game-store-snapshot");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException, IOException {
+        if (!running) return;
+        snapshotExecutor.shutdown();
+        snapshotExecutor.awaitTermination(30, TimeUnit.SECONDS);
+        running = false;
+        writer.join();
+        channel.force(false);
+        channel.close();
+    }
+
+    public boolean isEnabled() {
+        return running;
+    }
+
+    // --- Scriere (apelate din cutia postala a jocului) ---
+
+    // Un joc nou: primeste o incarnare si starea lui initiala intra in log
+    public void created(PokerGame game) {
+        if (!running) return;
+        if (game.getStoreGeneration() == 0) game.setStoreGeneration(generations.incrementAndGet());
+        enqueue(encode(buf -> {
+            buf.put(POKER_STATE);
+            GameStateCodec.writePoker(game, buf);
+        }));
+    }
+
+    public void created(HangmanGame game) {
+        if (!running) return;
+        if (game.getStoreGeneration() == 0) game.setStoreGeneration(generations.incrementAndGet());
+        enqueue(encode(buf -> {
+            buf.put(HANGMAN_STATE);
+            GameStateCodec.writeHangman(game, buf);
+        }));
+    }
+
+    // O comanda deja aplicata cu succes pe joc
+    public void log(PokerGame game, String type, String actor, String text, long value) {
+        if (!running) return;
+        game.setStoreSeq(game.getStoreSeq() + 1);
+        append(new Command(type, game.getGameId(), game.getStoreGeneration(), game.getStoreSeq(), actor, text, value));
+    }
+
+    public void log(HangmanGame game, String type, String actor, String text, long value) {
+        if (!running) return;
+        game.setStoreSeq(game.getStoreSeq() + 1);
+        append(new Command(type, game.getGameId(), game.getStoreGeneration(), game.getStoreSeq(), actor, text, value));
+    }
+
+    private void append(Command c) {
+        enqueue(encode(buf -> {
+            buf.put(COMMAND);
+            buf.put((byte) COMMAND_TYPES.indexOf(c.type()));
+            GameStateCodec.putString(buf, c.gameId());
+            buf.putLong(c.generation());
+            buf.putLong(c.seq());
+            GameStateCodec.putString(buf, c.actor());
+            GameStateCodec.putString(buf, c.text());
+            buf.putLong(c.value());
+        }));
+    }
+
+    private void enqueue(Entry entry) {
+        try {
+            queue.put(entry);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // --- Snapshot ---
+
+    /**
+     * Porneste un snapshot in fundal. Logul trece intai la un segment nou N; apoi fiecare joc e copiat
+     * in cutia lui postala, deci tot ce e in segmentele < N e deja in copie. Cand fisierul e complet,
+     * segmentele si snapshot-urile mai vechi sunt sterse. Intoarce null daca un snapshot e deja in lucru.
+     */
+    public CompletableFuture<Path> snapshot(Map<String, PokerGame> pokerGames, Map<String, HangmanGame> hangmanGames) {
+        if (!running || !snapshotInProgress.compareAndSet(false, true)) return null;
+        int segment = lastSegment.incrementAndGet();
+        enqueue(new Entry(null, segment));
+
+        List<CompletableFuture<Entry>> copies = new ArrayList<>(pokerGames.size() + hangmanGames.size());
+        for (PokerGame game : pokerGames.values()) {
+            copies.add(game.getMailbox().submit(() -> {
+                // Un joc sters intre timp (ultimul jucator a plecat) nu mai intra in snapshot
+                if (pokerGames.get(game.getGameId()) != game) return null;
+                return encode(buf -> {
+                    buf.put(POKER_STATE);
+                    GameStateCodec.writePoker(game, buf);
+                });
+            }));
+        }
+        for (HangmanGame game : hangmanGames.values()) {
+            copies.add(game.getMailbox().submit(() -> {
+                if (hangmanGames.get(game.getGameId()) != game) return null;
+                return encode(buf -> {
+                    buf.put(HANGMAN_STATE);
+                    GameStateCodec.writeHangman(game, buf);
+                });
+            }));
+        }
+
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return writeSnapshot(segment, copies);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            } finally {
+                snapshotInProgress.set(false);
+            }
+        }, snapshotExecutor).whenComplete((path, error) -> {
+            if (error != null) System.err.println("Game store snapshot error: " + error.getMessage());
+        });
+    }
+
+    private Path writeSnapshot(int segment, List<CompletableFuture<Entry>> copies) throws IOException {
+        Path file = directory.resolve(String.format("%s%08d%s", SNAPSHOT_PREFIX, segment, SNAPSHOT_SUFFIX));
+        Path tmp = directory.resolve(file.getFileName() + ".tmp");
+        int count = 0;
+        try (FileChannel snapshot = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buf = ByteBuffer.allocate(1 << 20);
+            buf.putInt(SNAPSHOT_MAGIC);
+            buf.put(GameStateCodec.FORMAT_VERSION);
+            buf.putLong(generations.get());
+            for (CompletableFuture<Entry> copy : copies) {
+                Entry entry = copy.join();
+                if (entry == null) continue;
+                if (buf.remaining() < entry.record().length) {
+                    buf.flip();
+                    while (buf.hasRemaining()) snapshot.write(buf);
+                    buf.clear();
+                }
+                if (buf.remaining() < entry.record().length) {
+                    snapshot.write(ByteBuffer.wrap(entry.record()));
+                } else {
+                    buf.put(entry.record());
+                }
+                count++;
+            }
+            buf.flip();
+            while (buf.hasRemaining()) snapshot.write(buf);
+            snapshot.force(true);
+        }
+        // Fisierul apare sub numele final doar complet
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        System.out.println("Game store: snapshot " + file.getFileName() + " (" + count + " games)");
+
+        for (Path old : files(directory, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) {
+            if (index(old, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX) < segment) deleteQuietly(old);
+        }
+        for (Path old : files(directory, LOG_PREFIX, LOG_SUFFIX)) {
+            if (index(old, LOG_PREFIX, LOG_SUFFIX) < segment) deleteQuietly(old);
+        }
+        return file;
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // Il stergem la urmatorul snapshot
+            System.err.println("Game store: cannot delete " + file + ": " + e.getMessage());
+        }
+    }
+
+    // --- Refacere la pornire ---
+
+    public Recovered recover() {
+        if (!running) return new Recovered(Map.of(), Map.of(), 0, 0);
+        try {
+            return recover(directory, generations);
+        } catch (IOException | RuntimeException e) {
+            // Pornim cu mesele goale, dar fisierele raman pe disc pentru investigatie
+            System.err.println("Game store recovery error: " + e.getMessage());
+            return new Recovered(Map.of(), Map.of(), 0, 0);
+        }
+    }
+
+    // Citeste directorul (fara sa scrie nimic); apelat inainte de primele comenzi
+    static Recovered recover(Path directory, AtomicLong generations) throws IOException {
+        long started = System.nanoTime();
+        Map<String, PokerGame> poker = new HashMap<>();
+        Map<String, HangmanGame> hangman = new HashMap<>();
+        int[] replayed = {0};
+
+        List<Path> snapshots = files(directory, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        int fromSegment = 0;
+        if (!snapshots.isEmpty()) {
+            Path latest = snapshots.get(snapshots.size() - 1);
+            fromSegment = index(latest, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+            readRecords(latest, 13, buf -> restore(buf, poker, hangman, generations), buf -> {
+                if (buf.getInt() != SNAPSHOT_MAGIC) throw new IllegalArgumentException("Snapshot invalid: " + latest);
+                if (buf.get() != GameStateCodec.FORMAT_VERSION) throw new IllegalArgumentException("Versiune necunoscuta: " + latest);
+                generations.accumulateAndGet(buf.getLong(), Math::max);
+            });
+        }
+        for (Path segment : files(directory, LOG_PREFIX, LOG_SUFFIX)) {
+            if (index(segment, LOG_PREFIX, LOG_SUFFIX) < fromSegment) continue;
+            readRecords(segment, 0, buf -> {
+                if (buf.get(buf.position()) == COMMAND) {
+                    buf.get();
+                    if (replay(readCommand(buf), poker, hangman)) replayed[0]++;
+                } else {
+                    restore(buf, poker, hangman, generations);
+                }
+            }, null);
+        }
+
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        System.out.println("Game store: recovered " + poker.size() + " poker and " + hangman.size()
+                + " hangman games (" + replayed[0] + " commands replayed) in " + elapsedMs + " ms");
+        return new Recovered(poker, hangman, replayed[0], elapsedMs);
+    }
+
+    // O stare completa inlocuieste jocul, in afara de cazul in care avem deja aceeasi incarnare, la fel de noua
+    private static void restore(ByteBuffer buf, Map<String, PokerGame> poker, Map<String, HangmanGame> hangman, AtomicLong generations) {
+        switch (buf.get()) {
+            case POKER_STATE: {
+                PokerGame game = GameStateCodec.readPoker(buf);
+                generations.accumulateAndGet(game.getStoreGeneration(), Math::max);
+                PokerGame existing = poker.get(game.getGameId());
+                if (existing == null || existing.getStoreGeneration() != game.getStoreGeneration()
+                        || existing.getStoreSeq() < game.getStoreSeq()) {
+                    poker.put(game.getGameId(), game);
+                }
+                break;
+            }
+            case HANGMAN_STATE: {
+                HangmanGame game = GameStateCodec.readHangman(buf);
+                generations.accumulateAndGet(game.getStoreGeneration(), Math::max);
+                HangmanGame existing = hangman.get(game.getGameId());
+                if (existing == null || existing.getStoreGeneration() != game.getStoreGeneration()
+                        || existing.getStoreSeq() < game.getStoreSeq()) {
+                    hangman.put(game.getGameId(), game);
+                }
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("Inregistrare necunoscuta");
+        }
+    }
+
+    private static Command readCommand(ByteBuffer buf) {
+        String type = COMMAND_TYPES.get(buf.get());
+        return new Command(type, GameStateCodec.getString(buf), buf.getLong(), buf.getLong(),
+                GameStateCodec.getString(buf), GameStateCodec.getString(buf), buf.getLong());
+    }
+
+    // Aplica o comanda din log doar pe incarnarea ei si doar daca e chiar urmatoarea (cele din snapshot se sar)
+    private static boolean replay(Command c, Map<String, PokerGame> poker, Map<String, HangmanGame> hangman) {
+        try {
+            if (c.type().startsWith("poker_")) {
+                PokerGame game = poker.get(c.gameId());
+                if (game == null || game.getStoreGeneration() != c.generation() || c.seq() != game.getStoreSeq() + 1) return false;
+                switch (c.type()) {
+                    case "poker_join":
+                        game.addPlayer(c.actor(), c.actor(), (int) c.value());
+                        break;
+                    case "poker_action":
+                        game.handlePlayerAction(c.actor(), c.text(), (int) c.value());
+                        break;
+                    case "poker_start":
+                        game.startGame(c.value());
+                        break;
+                    case "poker_hand":
+                        game.startNewHand(c.value());
+                        break;
+                    case "poker_leave":
+                        game.removePlayer(c.actor());
+                        if (game.getPlayers().isEmpty()) poker.remove(c.gameId());
+                        break;
+                    case "poker_blinds":
+                        // Nivel nou de turneu: small blind in partea de sus, big blind in cea de jos
+                        game.setSmallBlind((int) (c.value() >>> 32));
+                        game.setBigBlind((int) c.value());
+                        break;
+                    case "poker_expired":
+                        // Masa abandonata, scoasa de GameRegistry
+                        poker.remove(c.gameId());
+                        break;
+                }
+                game.setStoreSeq(c.seq());
+                // Mainile si evenimentele au plecat deja (jurnal, clienti) la executia originala
+                game.takeCompletedHand();
+                game.drainEvents();
+            } else {
+                HangmanGame game = hangman.get(c.gameId());
+                if (game == null || game.getStoreGeneration() != c.generation() || c.seq() != game.getStoreSeq() + 1) return false;
+                switch (c.type()) {
+                    case "hangman_join":
+                        game.join(c.actor());
+                        break;
+                    case "hangman_word":
+                        game.chooseWord(c.text());
+                        break;
+                    case "hangman_guess":
+                        game.guessLetter(c.text());
+                        break;
+                    case "hangman_timeout":
+                        game.expireTurn();
+                        break;
+                    case "hangman_expired":
+                        hangman.remove(c.gameId());
+                        break;
+                }
+                game.setStoreSeq(c.seq());
+            }
+            return true;
+        } catch (IllegalArgumentException e) {
+            System.err.println("Game store replay error (" + c + "): " + e.getMessage());
+            return false;
+        }
+    }
+
+    // --- Fisiere si inregistrari ---
+
+    private static Entry encode(Consumer<ByteBuffer> body) {
+        ByteBuffer buf = ByteBuffer.allocate(256);
+        while (true) {
+            try {
+                buf.clear();
+                buf.putInt(0);
+                body.accept(buf);
+                int length = buf.position() - 4;
+                buf.putInt(0, length);
+                CRC32 crc = new CRC32();
+                crc.update(buf.array(), 4, length);
+                buf.putInt((int) crc.getValue());
+                return new Entry(Arrays.copyOf(buf.array(), buf.position()), 0);
+            } catch (BufferOverflowException e) {
+                buf = ByteBuffer.allocate(buf.capacity() * 4);
+            }
+        }
+    }
+
+    /**
+     * Parcurge inregistrarile unui fisier mapat in memorie. O inregistrare trunchiata sau cu CRC gresit
+     * (oprire brusca in timpul scrierii) incheie fisierul; ce e inainte ramane valabil.
+     */
+    private static void readRecords(Path file, int headerBytes, Consumer<ByteBuffer> onRecord, Consumer<ByteBuffer> onHeader) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (ch.size() < headerBytes) return;
+            MappedByteBuffer map = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            if (onHeader != null) onHeader.accept(map);
+            CRC32 crc = new CRC32();
+            while (map.remaining() >= 8) {
+                int length = map.getInt(map.position());
+                if (length <= 0 || length > map.remaining() - 8) break;
+                ByteBuffer body = map.slice(map.position() + 4, length);
+                crc.reset();
+                crc.update(body.duplicate());
+                if ((int) crc.getValue() != map.getInt(map.position() + 4 + length)) break;
+                map.position(map.position() + 8 + length);
+                try {
+                    onRecord.accept(body);
+                } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+                    System.err.println("Game store: skipped bad record in " + file.getFileName() + ": " + e);
+                }
+            }
+        }
+    }
+
+    private void writeLoop() {
+        try {
+            while (running || !queue.isEmpty()) {
+                Entry entry = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (entry == null) continue;
+                // Tot ce s-a strans in coada se scrie intr-un singur lot
+                do {
+                    write(entry);
+                } while ((entry = queue.poll()) != null);
+                flush();
+                if (fsync) channel.force(false);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            running = false;
+            System.err.println("Game store error: " + e.getMessage());
+        }
+    }
+
+    private void write(Entry entry) throws IOException {
+        if (entry.record() == null) {
+            flush();
+            channel.force(false);
+            channel.close();
+            openSegment(entry.rotateTo());
+            return;
+        }
+        byte[] record = entry.record();
+        if (out.remaining() < record.length) flush();
+        if (out.remaining() < record.length) {
+            ByteBuffer big = ByteBuffer.wrap(record);
+            while (big.hasRemaining()) channel.write(big);
+        } else {
+            out.put(record);
+        }
+    }
+
+    private void flush() throws IOException {
+        out.flip();
+        while (out.hasRemaining()) channel.write(out);
+        out.clear();
+    }
+
+    private void openSegment(int segment) throws IOException {
+        Path file = directory.resolve(String.format("%s%08d%s", LOG_PREFIX, segment, LOG_SUFFIX));
+        channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+    }
+
+    static List<Path> files(Path directory, String prefix, String suffix) throws IOException {
+        if (!Files.isDirectory(directory)) return List.of();
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> result = new ArrayList<>();
+            files.filter(f -> {
+                String name = f.getFileName().toString();
+                return name.startsWith(prefix) && name.endsWith(suffix);
+            }).forEach(result::add);
+            result.sort(Comparator.comparingInt(f -> index(f, prefix, suffix)));
+            return result;
+        }
+    }
+
+    private static int index(Path file, String prefix, String suffix) {
+        String name = file.getFileName().toString();
+        return Integer.parseInt(name.substring(prefix.length(), name.length() - suffix.length()));
+    }
+
+    private static int lastIndex(Path directory, String prefix, String suffix) throws IOException {
+        List<Path> files = files(directory, prefix, suffix);
+        return files.isEmpty() ? 0 : index(files.get(files.size() - 1), prefix, suffix);
+    }
+}
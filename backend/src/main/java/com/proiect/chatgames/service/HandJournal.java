@@ -0,0 +1,188 @@
+package com.proiect.chatgames.service;
+
+import com.proiect.chatgames.model.poker.HandHistory;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * Jurnal binar, doar append, cu mainile de poker terminate.
+ * Mesele doar pun mana in coada (offer, nu asteapta niciodata); un singur thread o codifica si o scrie
+ * in segmente "hands-00000001.jnl". Fiecare inregistrare: [lungime int][corp][CRC32 int].
+ */
+@Component
+public class HandJournal {
+
+    static final String SEGMENT_PREFIX = "hands-";
+    static final String SEGMENT_SUFFIX = ".jnl";
+
+    @Value("${app.poker.journal.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${app.poker.journal.dir:data/hand-journal}")
+    private String dir = "data/hand-journal";
+
+    // Un segment nou cand cel curent ar depasi dimensiunea asta
+    @Value("${app.poker.journal.segmentBytes:67108864}")
+    private long segmentBytes = 64L * 1024 * 1024;
+
+    // Coada dintre mese si scriitor; daca se umple, mainile noi sunt numarate ca pierdute, nu blocam masa
+    @Value("${app.poker.journal.queueCapacity:65536}")
+    private int queueCapacity = 65536;
+
+    private BlockingQueue<HandHistory> queue;
+    private Thread writer;
+    private volatile boolean running;
+
+    private Path directory;
+    private FileChannel channel;
+    private int segmentIndex;
+    private long segmentSize;
+
+    // Buffer-ul de scriere (direct) si cel in care codificam o singura inregistrare; refolosite
+    private final ByteBuffer out = ByteBuffer.allocateDirect(1 << 20);
+    private ByteBuffer record = ByteBuffer.allocate(64 * 1024);
+    private final CRC32 crc = new CRC32();
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    @PostConstruct
+    public void init() throws IOException {
+        if (enabled) start(Path.of(dir));
+    }
+
+    public synchronized void start(Path directory) throws IOException {
+        if (running) return;
+        this.directory = directory;
+        Files.createDirectories(directory);
+        // Nu continuam un segment vechi (coada lui poate fi scrisa pe jumatate): pornim mereu unul nou
+        segmentIndex = HandJournalReader.segments(directory).stream()
+                .mapToInt(HandJournal::segmentNumber).max().orElse(0);
+        openNextSegment();
+
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        writer = new Thread(this::writeLoop, "hand-journal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // Apelat din cutia postala a mesei: O(1), fara I/O si fara blocare
+    public void append(HandHistory hand) {
+        if (!running) return;
+        if (!queue.offer(hand)) dropped.incrementAndGet();
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException, IOException {
+        if (!running) return;
+        running = false;
+        writer.join();
+        channel.force(false);
+        channel.close();
+    }
+
+    // Pentru teste: segmente mici, ca sa verificam trecerea la segmentul urmator
+    void setSegmentBytes(long segmentBytes) {
+        this.segmentBytes = segmentBytes;
+    }
+
+    public long getWritten() {
+        return written.get();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    private void writeLoop() {
+        try {
+            while (running || !queue.isEmpty()) {
+                HandHistory hand = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (hand == null) continue;
+                // Scriem tot ce s-a strans in coada, apoi un singur flush pentru tot lotul
+                do {
+                    write(hand);
+                } while ((hand = queue.poll()) != null);
+                flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            running = false;
+            System.err.println("Hand journal error: " + e.getMessage());
+        }
+    }
+
+    private void write(HandHistory hand) throws IOException {
+        encode(hand);
+        int size = record.remaining();
+        if (segmentSize > 0 && segmentSize + size > segmentBytes) {
+            flush();
+            channel.force(false);
+            channel.close();
+            openNextSegment();
+        }
+        if (out.remaining() < size) flush();
+        if (out.remaining() < size) {
+            // Inregistrare mai mare decat buffer-ul: o scriem direct
+            while (record.hasRemaining()) channel.write(record);
+        } else {
+            out.put(record);
+        }
+        segmentSize += size;
+        written.incrementAndGet();
+    }
+
+    private void encode(HandHistory hand) {
+        while (true) {
+            record.clear();
+            try {
+                record.putInt(0);
+                hand.writeTo(record);
+                int length = record.position() - 4;
+                record.putInt(0, length);
+                crc.reset();
+                crc.update(record.array(), 4, length);
+                record.putInt((int) crc.getValue());
+                record.flip();
+                return;
+            } catch (BufferOverflowException e) {
+                record = ByteBuffer.allocate(record.capacity() * 2);
+            }
+        }
+    }
+
+    private void flush() throws IOException {
+        out.flip();
+        while (out.hasRemaining()) channel.write(out);
+        out.clear();
+    }
+
+    private void openNextSegment() throws IOException {
+        segmentIndex++;
+        Path file = directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, segmentIndex, SEGMENT_SUFFIX));
+        channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        segmentSize = 0;
+    }
+
+    static int segmentNumber(Path file) {
+        String name = file.getFileName().toString();
+        return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
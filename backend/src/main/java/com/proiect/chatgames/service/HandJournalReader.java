@@ -0,0 +1,142 @@
+package com.proiect.chatgames.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proiect.chatgames.model.poker.HandHistory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Citeste jurnalul de maini in flux, segment cu segment, cu un singur buffer (memorie constanta).
+ * O inregistrare trunchiata sau cu CRC gresit (de ex. la o oprire brusca) incheie segmentul respectiv.
+ */
+public class HandJournalReader implements Closeable {
+
+    // Protectie la date corupte: nicio mana reala nu are peste 1 MB
+    private static final int MAX_RECORD = 1 << 20;
+
+    private final List<Path> segments;
+    private int nextSegment = 0;
+    private FileChannel channel;
+    private ByteBuffer buf = ByteBuffer.allocate(256 * 1024);
+    private final CRC32 crc = new CRC32();
+
+    public HandJournalReader(Path directory) throws IOException {
+        this.segments = segments(directory);
+        buf.limit(0);
+    }
+
+    // Segmentele din director, in ordinea scrierii
+    static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) return List.of();
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> result = new ArrayList<>();
+            files.filter(f -> {
+                String name = f.getFileName().toString();
+                return name.startsWith(HandJournal.SEGMENT_PREFIX) && name.endsWith(HandJournal.SEGMENT_SUFFIX);
+            }).forEach(result::add);
+            result.sort(Comparator.comparingInt(HandJournal::segmentNumber));
+            return result;
+        }
+    }
+
+    // Urmatoarea mana din jurnal sau null la final
+    public HandHistory next() throws IOException {
+        while (true) {
+            if (channel == null) {
+                if (nextSegment >= segments.size()) return null;
+                channel = FileChannel.open(segments.get(nextSegment++), StandardOpenOption.READ);
+                buf.clear().limit(0);
+            }
+            HandHistory hand = readRecord();
+            if (hand != null) return hand;
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private HandHistory readRecord() throws IOException {
+        if (!fill(4)) return null;
+        int length = buf.getInt(buf.position());
+        if (length <= 0 || length > MAX_RECORD) return null;
+        if (!fill(length + 8)) return null;
+
+        buf.getInt();
+        int start = buf.position();
+        crc.reset();
+        crc.update(buf.array(), buf.arrayOffset() + start, length);
+        if ((int) crc.getValue() != buf.getInt(start + length)) return null;
+
+        HandHistory hand = HandHistory.readFrom(buf.slice(start, length));
+        buf.position(start + length + 4);
+        return hand;
+    }
+
+    // Asigura cel putin n octeti necititi in buffer (il mareste daca e nevoie)
+    private boolean fill(int n) throws IOException {
+        if (n > buf.capacity()) {
+            ByteBuffer bigger = ByteBuffer.allocate(Math.max(n, buf.capacity() * 2));
+            bigger.put(buf).flip();
+            buf = bigger;
+        }
+        while (buf.remaining() < n) {
+            buf.compact();
+            int read = channel.read(buf);
+            buf.flip();
+            if (read < 0) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) channel.close();
+        channel = null;
+        nextSegment = segments.size();
+    }
+
+    public static long forEach(Path directory, Consumer<HandHistory> consumer) throws IOException {
+        long count = 0;
+        try (HandJournalReader reader = new HandJournalReader(directory)) {
+            HandHistory hand;
+            while ((hand = reader.next()) != null) {
+                consumer.accept(hand);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Export JSON in flux: un array cu cate un obiect per mana, fara sa tinem jurnalul in memorie
+    public static long exportJson(Path directory, OutputStream out) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        long count = 0;
+        try (HandJournalReader reader = new HandJournalReader(directory);
+             JsonGenerator gen = mapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            // Stream-ul apartine apelantului
+            gen.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            gen.writeStartArray();
+            HandHistory hand;
+            while ((hand = reader.next()) != null) {
+                mapper.writeValue(gen, hand);
+                count++;
+            }
+            gen.writeEndArray();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,349 @@
+package com.proiect.chatgames.service;
+
+import com.proiect.chatgames.model.HangmanAlphabet;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Dictionarul pentru Hangman: o lista de cuvinte (UTF-8, unul pe linie), mapata in memorie, nu citita pe heap.
+ * Indexul sta intr-un fisier alaturat ("words.txt.idx"), mapat si el, si se reconstruieste doar cand lista
+ * se schimba (dimensiune sau data modificarii). Indexul contine:
+ *  - offset-ul fiecarui cuvant in lista, grupat pe (lungime, dificultate): un cuvant aleator e un acces direct;
+ *  - o tabela de dispersie cu adresare deschisa (offset + 1, 0 = liber) pentru validarea cuvintelor.
+ * Liniile care nu sunt cuvinte valide (alte caractere, sub 3 sau peste 64 de litere) si duplicatele sunt ignorate.
+ */
+@Component
+public class HangmanDictionary {
+
+    public enum Difficulty { EASY, MEDIUM, HARD }
+
+    public static final int MIN_LENGTH = 3;
+    public static final int MAX_LENGTH = Long.SIZE;
+
+    private static final int MAGIC = 0x48444958;   // "HDIX"
+    private static final int VERSION = 1;
+    private static final int HEADER_INTS = 8;
+    private static final int LEVELS = Difficulty.values().length;
+    // Galeata (lungime, dificultate) = lungime * LEVELS + dificultate; ordonate intai dupa lungime
+    private static final int BUCKETS = (MAX_LENGTH + 1) * LEVELS;
+
+    @Value("${app.hangman.dictionary.path:data/dictionary/words.txt}")
+    private String path = "data/dictionary/words.txt";
+
+    private MappedByteBuffer words;
+    private IntBuffer index;
+    private int count;
+    private int entriesBase;
+    private int tableBase;
+    private int tableMask;
+    private volatile boolean loaded;
+    private boolean rebuilt;
+
+    @PostConstruct
+    public void init() {
+        Path file = Path.of(path);
+        if (!Files.exists(file)) {
+            System.out.println("Dictionary: " + file + " not found, hangman words are not validated");
+            return;
+        }
+        try {
+            open(file);
+        } catch (IOException e) {
+            System.err.println("Dictionary error: " + e.getMessage());
+        }
+    }
+
+    public synchronized void open(Path file) throws IOException {
+        long start = System.nanoTime();
+        Path indexFile = file.resolveSibling(file.getFileName() + ".idx");
+        long size = Files.size(file);
+        long modified = Files.getLastModifiedTime(file).toMillis();
+        if (size > Integer.MAX_VALUE) throw new IOException("Dictionary larger than 2 GB: " + file);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            words = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        IntBuffer mapped = mapIndex(indexFile, size, modified);
+        rebuilt = mapped == null;
+        if (rebuilt) {
+            buildIndex(words, indexFile, size, modified);
+            mapped = mapIndex(indexFile, size, modified);
+            if (mapped == null) throw new IOException("Dictionary index could not be written: " + indexFile);
+        }
+
+        index = mapped;
+        count = index.get(6);
+        entriesBase = HEADER_INTS + BUCKETS + 1;
+        tableBase = entriesBase + count;
+        tableMask = index.get(7) - 1;
+        loaded = true;
+        System.out.println("Dictionary: " + count + " words from " + file + (rebuilt ? " (index rebuilt)" : "")
+                + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    // true daca la ultima deschidere indexul de pe disc lipsea sau era vechi
+    public boolean isRebuilt() {
+        return rebuilt;
+    }
+
+    public int size() {
+        return loaded ? count : 0;
+    }
+
+    // Validare: O(1) in medie, fara sa tina dictionarul pe heap; nu conteaza majusculele si nici Ş/Ș
+    public boolean contains(String word) {
+        if (!loaded || word == null || word.length() < MIN_LENGTH || word.length() > MAX_LENGTH) return false;
+        byte[] letters = new byte[word.length()];
+        for (int i = 0; i < letters.length; i++) {
+            int letter = HangmanAlphabet.indexOf(word.charAt(i));
+            if (letter < 0) return false;
+            letters[i] = (byte) letter;
+        }
+        byte[] candidate = new byte[MAX_LENGTH];
+        for (int slot = hash(letters, letters.length) & tableMask; ; slot = (slot + 1) & tableMask) {
+            int offset = index.get(tableBase + slot) - 1;
+            if (offset < 0) return false;
+            int length = decode(words, offset, candidate);
+            if (length == letters.length && Arrays.equals(letters, 0, length, candidate, 0, length)) return true;
+        }
+    }
+
+    // Un cuvant aleator cu lungimea intre minLength si maxLength; difficulty null = orice dificultate.
+    // Cel mult o trecere prin cele 65 de lungimi posibile, niciodata prin cuvinte; null daca nu exista niciunul
+    public String randomWord(int minLength, int maxLength, Difficulty difficulty) {
+        if (!loaded) return null;
+        int min = Math.max(MIN_LENGTH, minLength);
+        int max = Math.min(MAX_LENGTH, maxLength);
+        int total = 0;
+        for (int length = min; length <= max; length++) total += bucketSize(length, difficulty);
+        if (total == 0) return null;
+
+        int pick = ThreadLocalRandom.current().nextInt(total);
+        for (int length = min; ; length++) {
+            int bucketSize = bucketSize(length, difficulty);
+            if (pick < bucketSize) return word(index.get(entriesBase + bucketStart(length, difficulty) + pick));
+            pick -= bucketSize;
+        }
+    }
+
+    // Pentru HangmanSolver: intrarile de aceeasi lungime sunt consecutive (toate dificultatile), in [firstEntry, endEntry)
+    public int firstEntry(int length) {
+        return index.get(HEADER_INTS + length * LEVELS);
+    }
+
+    public int endEntry(int length) {
+        return index.get(HEADER_INTS + (length + 1) * LEVELS);
+    }
+
+    // Literele intrarii (indexuri HangmanAlphabet) in array-ul dat; intoarce lungimea
+    public int letters(int entry, byte[] into) {
+        return decode(words, index.get(entriesBase + entry), into);
+    }
+
+    private int bucketStart(int length, Difficulty difficulty) {
+        int bucket = length * LEVELS + (difficulty != null ? difficulty.ordinal() : 0);
+        return index.get(HEADER_INTS + bucket);
+    }
+
+    private int bucketSize(int length, Difficulty difficulty) {
+        int first = length * LEVELS + (difficulty != null ? difficulty.ordinal() : 0);
+        int last = difficulty != null ? first + 1 : first + LEVELS;
+        return index.get(HEADER_INTS + last) - index.get(HEADER_INTS + first);
+    }
+
+    // Cuvantul de la offset-ul dat, cu majuscule si diacriticele in forma cu virgula
+    private String word(int offset) {
+        byte[] letters = new byte[MAX_LENGTH];
+        int length = decode(words, offset, letters);
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) chars[i] = HangmanAlphabet.LETTERS.charAt(letters[i]);
+        return new String(chars);
+    }
+
+    // --- Indexul de pe disc ---
+
+    // Indexul existent, daca e pentru exact aceasta versiune a listei; altfel null
+    private static IntBuffer mapIndex(Path indexFile, long size, long modified) throws IOException {
+        if (!Files.exists(indexFile) || Files.size(indexFile) < HEADER_INTS * 4L) return null;
+        MappedByteBuffer buf;
+        try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buf.getInt(0) != MAGIC || buf.getInt(4) != VERSION || buf.getLong(8) != size || buf.getLong(16) != modified) {
+            return null;
+        }
+        long expected = (HEADER_INTS + BUCKETS + 1L + buf.getInt(24) + buf.getInt(28)) * 4;
+        return buf.capacity() == expected ? buf.asIntBuffer() : null;
+    }
+
+    // Singura trecere completa prin lista; ruleaza doar cand lista e noua sau s-a schimbat.
+    // Pe heap stau temporar doar array-uri primitive (cateva zeci de octeti per cuvant), nu cuvintele
+    private static void buildIndex(ByteBuffer words, Path indexFile, long size, long modified) throws IOException {
+        int limit = words.limit();
+        int[] offsets = new int[1024];
+        int[] masks = new int[1024];
+        byte[] lengths = new byte[1024];
+        long[] letterCounts = new long[HangmanAlphabet.SIZE];
+        byte[] letters = new byte[MAX_LENGTH];
+        int n = 0;
+
+        // 1. Cuvintele valide si frecventa fiecarei litere in dictionar
+        int line = hasBom(words) ? 3 : 0;
+        while (line < limit) {
+            int length = decode(words, line, letters);
+            if (length >= MIN_LENGTH) {
+                if (n == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, n * 2);
+                    masks = Arrays.copyOf(masks, n * 2);
+                    lengths = Arrays.copyOf(lengths, n * 2);
+                }
+                int mask = 0;
+                for (int i = 0; i < length; i++) {
+                    mask |= 1 << letters[i];
+                    letterCounts[letters[i]]++;
+                }
+                offsets[n] = line;
+                masks[n] = mask;
+                lengths[n] = (byte) length;
+                n++;
+            }
+            while (line < limit && words.get(line) != '\n') line++;
+            line++;
+        }
+
+        // 2. Tabela de dispersie; duplicatele raman in afara ei si in afara galetilor
+        int tableSize = Integer.highestOneBit(Math.max(2, n * 2 - 1)) << 1;
+        int[] table = new int[tableSize];
+        boolean[] duplicate = new boolean[n];
+        byte[] other = new byte[MAX_LENGTH];
+        int unique = 0;
+        for (int w = 0; w < n; w++) {
+            int length = decode(words, offsets[w], letters);
+            int slot = hash(letters, length) & (tableSize - 1);
+            for (; table[slot] != 0; slot = (slot + 1) & (tableSize - 1)) {
+                int otherLength = decode(words, table[slot] - 1, other);
+                if (otherLength == length && Arrays.equals(letters, 0, length, other, 0, length)) {
+                    duplicate[w] = true;
+                    break;
+                }
+            }
+            if (duplicate[w]) continue;
+            table[slot] = offsets[w] + 1;
+            unique++;
+        }
+
+        // 3. Dificultatea: media frecventelor literelor distincte (litere rare = cuvant greu), impartita in treimi
+        long totalLetters = 0;
+        for (long c : letterCounts) totalLetters += c;
+        float[] scores = new float[n];
+        float[] sorted = new float[unique];
+        for (int w = 0, u = 0; w < n; w++) {
+            double sum = 0;
+            for (int mask = masks[w]; mask != 0; mask &= mask - 1) sum += letterCounts[Integer.numberOfTrailingZeros(mask)];
+            scores[w] = (float) (sum / totalLetters / Integer.bitCount(masks[w]));
+            if (!duplicate[w]) sorted[u++] = scores[w];
+        }
+        Arrays.sort(sorted);
+        float medium = unique > 0 ? sorted[unique / 3] : 0;
+        float easy = unique > 0 ? sorted[unique * 2 / 3] : 0;
+
+        // 4. Sortare pe galeti (counting sort): offset-urile fiecarei galeti stau unul langa altul
+        int[] bucketOf = new int[n];
+        int[] starts = new int[BUCKETS + 1];
+        for (int w = 0; w < n; w++) {
+            if (duplicate[w]) continue;
+            Difficulty level = scores[w] >= easy ? Difficulty.EASY : scores[w] >= medium ? Difficulty.MEDIUM : Difficulty.HARD;
+            bucketOf[w] = lengths[w] * LEVELS + level.ordinal();
+            starts[bucketOf[w] + 1]++;
+        }
+        for (int b = 0; b < BUCKETS; b++) starts[b + 1] += starts[b];
+        int[] entries = new int[unique];
+        int[] next = Arrays.copyOf(starts, BUCKETS);
+        for (int w = 0; w < n; w++) {
+            if (!duplicate[w]) entries[next[bucketOf[w]]++] = offsets[w];
+        }
+
+        // 5. Scris intr-un fisier temporar si mutat peste cel vechi, ca un index scris pe jumatate sa nu fie folosit
+        Files.createDirectories(indexFile.toAbsolutePath().getParent());
+        Path tmp = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer out = ByteBuffer.allocate(1 << 20);
+            out.putInt(MAGIC).putInt(VERSION).putLong(size).putLong(modified).putInt(unique).putInt(tableSize);
+            writeInts(channel, out, starts);
+            writeInts(channel, out, entries);
+            writeInts(channel, out, table);
+            out.flip();
+            while (out.hasRemaining()) channel.write(out);
+            channel.force(true);
+        }
+        Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void writeInts(FileChannel channel, ByteBuffer out, int[] values) throws IOException {
+        for (int value : values) {
+            if (out.remaining() < 4) {
+                out.flip();
+                while (out.hasRemaining()) channel.write(out);
+                out.clear();
+            }
+            out.putInt(value);
+        }
+    }
+
+    private static boolean hasBom(ByteBuffer words) {
+        return words.limit() >= 3 && (words.get(0) & 0xFF) == 0xEF && (words.get(1) & 0xFF) == 0xBB
+                && (words.get(2) & 0xFF) == 0xBF;
+    }
+
+    // Literele (indexuri HangmanAlphabet) liniei care incepe la offset; -1 daca linia nu e un cuvant valid.
+    // Citire absoluta din buffer (fara pozitie), deci sigura din mai multe thread-uri
+    private static int decode(ByteBuffer buf, int offset, byte[] letters) {
+        int limit = buf.limit();
+        int length = 0;
+        int i = offset;
+        while (i < limit) {
+            int b = buf.get(i) & 0xFF;
+            if (b == '\n' || b == '\r') break;
+            char c;
+            if (b < 0x80) {
+                c = (char) b;
+                i++;
+            } else if ((b & 0xE0) == 0xC0 && i + 1 < limit) {
+                // Toate literele alfabetului din afara ASCII se scriu pe doi octeti in UTF-8
+                c = (char) (((b & 0x1F) << 6) | (buf.get(i + 1) & 0x3F));
+                i += 2;
+            } else {
+                return -1;
+            }
+            int letter = HangmanAlphabet.indexOf(c);
+            if (letter < 0 || length == MAX_LENGTH) return -1;
+            letters[length++] = (byte) letter;
+        }
+        return length;
+    }
+
+    private static int hash(byte[] letters, int length) {
+        int h = length;
+        for (int i = 0; i < length; i++) h = h * 31 + letters[i];
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,215 @@
+package com.proiect.chatgames.service;
+
+import com.proiect.chatgames.model.HangmanAlphabet;
+import com.proiect.chatgames.model.HangmanHint;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Indicii pentru Hangman si ghicitorul automat (bot).
+ * Pentru fiecare lungime de cuvant, construim o data (la prima cerere) seturi de biti peste cuvintele din dictionar:
+ * "litera c pe pozitia p" si "cuvantul contine litera c". O stare a jocului devine o lista de AND / AND NOT
+ * intre aceste seturi; litera sugerata e cea continuta de cele mai multe cuvinte ramase.
+ * Pe liste mari, filtrarea si numaratoarea ruleaza in paralel, pe bucati de cuvinte, pe un pool fork/join.
+ */
+@Service
+public class HangmanSolver {
+
+    // Sub acest numar de long-uri (64 de cuvinte fiecare) o bucata nu mai e impartita
+    private static final int CHUNK_LONGS = 1_024;
+    // Cand dictionarul nu ajuta (lipseste sau cuvantul nu e in el): literele in ordinea frecventei in romana
+    private static final String FALLBACK_ORDER = "AEIRNTULCSOĂDPMÎȘȚVBFGZÂHJKXYWQ";
+
+    @Autowired
+    private HangmanDictionary dictionary;
+
+    private ForkJoinPool pool;
+    private final Map<Integer, LengthIndex> indexes = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    // Pentru teste si benchmark: dictionar deschis direct, fara Spring
+    public void setDictionary(HangmanDictionary dictionary) {
+        this.dictionary = dictionary;
+        indexes.clear();
+    }
+
+    // Seturile de biti pentru cuvintele de o anumita lungime
+    private static final class LengthIndex {
+        final int words;
+        final int longs;
+        // [p * SIZE + c]: cuvintele cu litera c pe pozitia p; null daca nu exista niciunul
+        final long[][] atPosition;
+        // [c]: cuvintele care contin litera c; null daca nu exista niciunul
+        final long[][] withLetter;
+
+        LengthIndex(HangmanDictionary dictionary, int length) {
+            int first = dictionary.firstEntry(length);
+            words = dictionary.endEntry(length) - first;
+            longs = (words + 63) >>> 6;
+            atPosition = new long[length * HangmanAlphabet.SIZE][];
+            withLetter = new long[HangmanAlphabet.SIZE][];
+
+            byte[] letters = new byte[HangmanDictionary.MAX_LENGTH];
+            for (int w = 0; w < words; w++) {
+                dictionary.letters(first + w, letters);
+                long bit = 1L << w;
+                for (int p = 0; p < length; p++) {
+                    int c = letters[p];
+                    set(atPosition, p * HangmanAlphabet.SIZE + c, w >>> 6, bit);
+                    set(withLetter, c, w >>> 6, bit);
+                }
+            }
+        }
+
+        private void set(long[][] sets, int set, int word, long bit) {
+            if (sets[set] == null) sets[set] = new long[longs];
+            sets[set][word] |= bit;
+        }
+    }
+
+    // Sugestia pentru starea data (maskedWord ca "_ A _ _", literele deja incercate); null daca nu mai e nicio litera
+    public HangmanHint hint(String maskedWord, Collection<String> guessedLetters) {
+        int guessed = 0;
+        for (String letter : guessedLetters) {
+            int index = letter.isEmpty() ? -1 : HangmanAlphabet.indexOf(letter.charAt(0));
+            if (index >= 0) guessed |= 1 << index;
+        }
+        int open = HangmanAlphabet.ALL & ~guessed;
+        if (open == 0) return null;
+
+        int[] counts = maskedWord != null ? count(maskedWord, guessed, open) : null;
+        int candidates = counts != null ? counts[HangmanAlphabet.SIZE] : 0;
+        int best = -1;
+        if (candidates > 0) {
+            for (int mask = open; mask != 0; mask &= mask - 1) {
+                int c = Integer.numberOfTrailingZeros(mask);
+                if (best < 0 || counts[c] > counts[best]) best = c;
+            }
+        }
+        if (best < 0 || counts[best] == 0) {
+            for (int i = 0; i < FALLBACK_ORDER.length(); i++) {
+                int c = HangmanAlphabet.indexOf(FALLBACK_ORDER.charAt(i));
+                if ((open & (1 << c)) != 0) return new HangmanHint(HangmanAlphabet.letter(c), candidates, 0);
+            }
+        }
+        return new HangmanHint(HangmanAlphabet.letter(best), candidates, (double) counts[best] / candidates);
+    }
+
+    // counts[c] = cuvinte ramase care contin litera c, counts[SIZE] = cuvinte ramase; null daca nu avem dictionar
+    private int[] count(String maskedWord, int guessed, int open) {
+        int length = (maskedWord.length() + 1) / 2;
+        if (!dictionary.isLoaded() || length < HangmanDictionary.MIN_LENGTH || length > HangmanDictionary.MAX_LENGTH) {
+            return null;
+        }
+        LengthIndex index = indexes.computeIfAbsent(length, l -> new LengthIndex(dictionary, l));
+        if (index.words == 0) return null;
+
+        // Literele descoperite sunt ghicite corect; celelalte litere ghicite nu apar nicaieri in cuvant
+        int[] revealed = new int[length];
+        int correct = 0;
+        for (int p = 0; p < length; p++) {
+            char c = maskedWord.charAt(2 * p);
+            revealed[p] = c == '_' ? -1 : HangmanAlphabet.indexOf(c);
+            if (revealed[p] >= 0) correct |= 1 << revealed[p];
+        }
+
+        List<long[]> keep = new ArrayList<>();
+        List<long[]> drop = new ArrayList<>();
+        for (int p = 0; p < length; p++) {
+            if (revealed[p] >= 0) {
+                long[] set = index.atPosition[p * HangmanAlphabet.SIZE + revealed[p]];
+                if (set == null) return null;
+                keep.add(set);
+            } else {
+                // O pozitie ascunsa nu poate avea o litera deja ghicita corect (ar fi fost descoperita)
+                for (int mask = correct; mask != 0; mask &= mask - 1) {
+                    long[] set = index.atPosition[p * HangmanAlphabet.SIZE + Integer.numberOfTrailingZeros(mask)];
+                    if (set != null) drop.add(set);
+                }
+            }
+        }
+        for (int mask = guessed & ~correct; mask != 0; mask &= mask - 1) {
+            long[] set = index.withLetter[Integer.numberOfTrailingZeros(mask)];
+            if (set != null) drop.add(set);
+        }
+
+        CountTask task = new CountTask(index, keep.toArray(new long[0][]), drop.toArray(new long[0][]), open, 0, index.longs);
+        return index.longs <= CHUNK_LONGS ? task.compute() : pool.invoke(task);
+    }
+
+    // Filtreaza si numara o bucata de cuvinte; bucatile mari se impart in doua (fork/join)
+    private static final class CountTask extends RecursiveTask<int[]> {
+        private final LengthIndex index;
+        private final long[][] keep;
+        private final long[][] drop;
+        private final int open;
+        private final int from;
+        private final int to;
+
+        CountTask(LengthIndex index, long[][] keep, long[][] drop, int open, int from, int to) {
+            this.index = index;
+            this.keep = keep;
+            this.drop = drop;
+            this.open = open;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from > CHUNK_LONGS) {
+                int mid = (from + to) >>> 1;
+                CountTask left = new CountTask(index, keep, drop, open, from, mid);
+                left.fork();
+                int[] right = new CountTask(index, keep, drop, open, mid, to).compute();
+                int[] counts = left.join();
+                for (int i = 0; i < counts.length; i++) counts[i] += right[i];
+                return counts;
+            }
+
+            long[] candidates = new long[to - from];
+            Arrays.fill(candidates, -1L);
+            // Ultimul long are biti doar pentru cuvintele care exista
+            if (to == index.longs && (index.words & 63) != 0) candidates[to - from - 1] = (1L << (index.words & 63)) - 1;
+            for (long[] set : keep) {
+                for (int i = 0; i < candidates.length; i++) candidates[i] &= set[from + i];
+            }
+            for (long[] set : drop) {
+                for (int i = 0; i < candidates.length; i++) candidates[i] &= ~set[from + i];
+            }
+
+            int[] counts = new int[HangmanAlphabet.SIZE + 1];
+            for (long word : candidates) counts[HangmanAlphabet.SIZE] += Long.bitCount(word);
+            if (counts[HangmanAlphabet.SIZE] == 0) return counts;
+            for (int mask = open; mask != 0; mask &= mask - 1) {
+                int c = Integer.numberOfTrailingZeros(mask);
+                long[] set = index.withLetter[c];
+                if (set == null) continue;
+                int count = 0;
+                for (int i = 0; i < candidates.length; i++) count += Long.bitCount(candidates[i] & set[from + i]);
+                counts[c] = count;
+            }
+            return counts;
+        }
+    }
+}
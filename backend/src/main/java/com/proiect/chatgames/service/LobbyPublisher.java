@@ -0,0 +1,82 @@
+package com.proiect.chatgames.service;
+
+import com.proiect.chatgames.websocket.MainWebSocketHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Publica lista de jocuri (lobby) comasat.
+ * Orice schimbare doar marcheaza lobby-ul ca "murdar"; cel mult o data pe interval construim
+ * un snapshot versionat, il serializam o singura data si il trimitem tuturor.
+ * Clientii noi primesc snapshot-ul din cache, fara broadcast global.
+ */
+@Component
+public class LobbyPublisher {
+
+    @Autowired
+    @Lazy
+    private GameService gameService;
+
+    @Autowired
+    @Lazy
+    private MainWebSocketHandler ws;
+
+    private final Lobby hangmanLobby = new Lobby("hangman_lobby_update");
+    private final Lobby pokerLobby = new Lobby("poker_lobby_update");
+
+    public void markHangmanDirty() {
+        hangmanLobby.dirty.set(true);
+    }
+
+    public void markPokerDirty() {
+        pokerLobby.dirty.set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${app.lobby.publishIntervalMs:500}")
+    public void publish() {
+        try {
+            if (hangmanLobby.dirty.getAndSet(false)) {
+                ws.broadcastFrame(hangmanLobby.rebuild(gameService.getHangmanLobby()));
+            }
+            if (pokerLobby.dirty.getAndSet(false)) {
+                ws.broadcastFrame(pokerLobby.rebuild(gameService.getPokerLobby()));
+            }
+        } catch (IOException e) { e.printStackTrace(); }
+    }
+
+    // Snapshot-urile curente, doar pentru sesiunea noua
+    public void sendCurrent(WebSocketSession session) throws IOException {
+        ws.sendFrame(session, hangmanLobby.current(gameService.getHangmanLobby()));
+        ws.sendFrame(session, pokerLobby.current(gameService.getPokerLobby()));
+    }
+
+    private class Lobby {
+        private final String type;
+        private final AtomicBoolean dirty = new AtomicBoolean();
+        private long version = 0;
+        private volatile TextMessage frame;
+
+        Lobby(String type) {
+            this.type = type;
+        }
+
+        synchronized TextMessage rebuild(Object games) throws IOException {
+            version++;
+            frame = ws.encode(Map.of("type", type, "version", version, "games", games));
+            return frame;
+        }
+
+        TextMessage current(Object games) throws IOException {
+            TextMessage cached = frame;
+            return cached != null ? cached : rebuild(games);
+        }
+    }
+}
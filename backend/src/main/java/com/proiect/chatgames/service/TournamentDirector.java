@@ -0,0 +1,437 @@
+package com.proiect.chatgames.service;
+
+import com.proiect.chatgames.actor.GameMailbox;
+import com.proiect.chatgames.model.poker.BlindLevel;
+import com.proiect.chatgames.model.poker.HandHistory;
+import com.proiect.chatgames.model.poker.PokerGame;
+import com.proiect.chatgames.model.poker.PokerPlayer;
+import com.proiect.chatgames.model.poker.TournamentConfig;
+import com.proiect.chatgames.model.poker.TournamentSnapshot;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * Directorul unui turneu: nivelurile de blind-uri, eliminarile, spargerea meselor si echilibrarea lor.
+ * Ruleaza in propria cutie postala, ca o masa. Mesele raman in cutiile lor si primesc doar comenzi
+ * punctuale (aseaza/ridica un jucator, porneste mana). Jucatorii pleaca doar de la mese oprite intre
+ * maini, iar cei adusi la o masa in joc asteapta mana urmatoare, deci nicio masa nu asteapta directorul
+ * decat pe bula (mana cu mana) si nu exista lock global.
+ */
+public class TournamentDirector {
+
+    // Ce face directorul cu mesele. In afara de openTable, metodele ruleaza in cutia postala a mesei.
+    public interface TableHost {
+        PokerGame openTable(String tournamentId, String tableId, int smallBlind, int bigBlind, int maxPlayers,
+                            String player, int stack);
+
+        void seatPlayer(PokerGame table, String player, int stack);
+
+        void unseatPlayer(PokerGame table, String player);
+
+        void startHand(PokerGame table, int smallBlind, int bigBlind);
+    }
+
+    // Rezultatul unei maini, copiat in cutia postala a mesei (directorul nu citeste masa direct)
+    private record HandReport(String tableId, String[] tokens, int[] stacks, int[] startStacks, int dealerIndex) {}
+
+    private record Bust(String token, int startStack, Table table) {}
+
+    // Ce stie directorul despre o masa; modificat doar din cutia postala a directorului
+    private static final class Table {
+        final String id;
+        final PokerGame game;
+        final List<String> players = new ArrayList<>();
+        final List<String> leaving = new ArrayList<>();
+        final List<String> arriving = new ArrayList<>();
+        // Ordinea de la masa si dealer-ul din ultimul raport: cine urmeaza la big blind e mutat primul
+        String[] order = new String[0];
+        int dealerIndex = -1;
+        boolean running;
+        boolean broken;
+
+        Table(String id, PokerGame game) {
+            this.id = id;
+            this.game = game;
+        }
+    }
+
+    private final TournamentConfig config;
+    private final TableHost host;
+    private final LongSupplier clock;
+    private final GameMailbox mailbox = new GameMailbox();
+
+    private final List<String> entrants = new ArrayList<>();
+    private final Map<String, Table> tables = new LinkedHashMap<>();
+    // Mese sparte in runda curenta: nu mai primesc jucatori, dar trebuie golite
+    private final List<Table> closing = new ArrayList<>();
+    private final Map<String, Integer> stacks = new HashMap<>();
+    // Ordinea eliminarilor: ultimul eliminat are cel mai bun loc
+    private final List<String> eliminated = new ArrayList<>();
+    // Pe bula, rapoartele se strang pana termina mana toate mesele
+    private final List<HandReport> pending = new ArrayList<>();
+    private final CompletableFuture<List<String>> result = new CompletableFuture<>();
+    private List<String> standings = List.of();
+
+    private String status = "registering";
+    private int remaining;
+    private int level;
+    private long levelStartedAt;
+    private boolean handForHand;
+    private int nextTable = 1;
+    private long moves;
+    private int tablesBroken;
+    private long handForHandRounds;
+    private boolean changed;
+
+    private volatile TournamentSnapshot snapshot;
+
+    public TournamentDirector(TournamentConfig config, TableHost host, LongSupplier clock) {
+        this.config = config;
+        this.host = host;
+        this.clock = clock;
+        publish();
+    }
+
+    public String getTournamentId() {
+        return config.tournamentId();
+    }
+
+    // Citire fara lock, din orice thread
+    public TournamentSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    // Clasamentul final (indexul 0 = locul 1), cand ramane un singur jucator
+    public CompletableFuture<List<String>> getResult() {
+        return result;
+    }
+
+    public void register(String player) {
+        mailbox.run(() -> {
+            if (!status.equals("registering")) throw new IllegalArgumentException("Inscrierile s-au inchis.");
+            if (entrants.contains(player)) throw new IllegalArgumentException("Esti deja inscris.");
+            entrants.add(player);
+            changed = true;
+            publish();
+        });
+    }
+
+    public void start() {
+        mailbox.run(() -> {
+            if (!status.equals("registering")) throw new IllegalArgumentException("Turneul a pornit deja.");
+            if (entrants.size() < 2) throw new IllegalArgumentException("Nu sunt suficienti jucatori.");
+            status = "running";
+            remaining = entrants.size();
+            levelStartedAt = clock.getAsLong();
+
+            // Locuri trase la sorti, impartite egal: mesele difera cu cel mult un jucator
+            Collections.shuffle(entrants, ThreadLocalRandom.current());
+            int count = (remaining + config.tableSize() - 1) / config.tableSize();
+            List<List<String>> seating = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) seating.add(new ArrayList<>());
+            for (int i = 0; i < remaining; i++) seating.get(i % count).add(entrants.get(i));
+
+            BlindLevel blinds = config.levels().get(0);
+            for (List<String> players : seating) {
+                String tableId = config.tournamentId() + "-" + nextTable++;
+                PokerGame game = host.openTable(config.tournamentId(), tableId, blinds.smallBlind(), blinds.bigBlind(),
+                        config.tableSize(), players.get(0), config.startingStack());
+                Table table = new Table(tableId, game);
+                table.players.addAll(players);
+                table.arriving.addAll(players.subList(1, players.size()));
+                for (String p : players) stacks.put(p, config.startingStack());
+                tables.put(tableId, table);
+            }
+            handForHand = onBubble();
+            changed = true;
+            dispatch();
+            publish();
+        });
+    }
+
+    /**
+     * Apelat din cutia postala a mesei cand se termina o mana. Copiem acolo ce ne trebuie
+     * si continuam in cutia directorului; masa ramane oprita pana primeste urmatoarea comanda.
+     */
+    public void handFinished(PokerGame table, HandHistory hand) {
+        List<PokerPlayer> players = table.getPlayers();
+        String[] tokens = new String[players.size()];
+        int[] after = new int[tokens.length];
+        int[] before = new int[tokens.length];
+        for (int i = 0; i < tokens.length; i++) {
+            PokerPlayer p = players.get(i);
+            tokens[i] = p.getToken();
+            after[i] = p.getStack();
+            before[i] = p.getSeat() >= 0 && p.getSeat() < hand.seats().size() ? hand.seats().get(p.getSeat()).stack() : p.getStack();
+        }
+        HandReport report = new HandReport(table.getGameId(), tokens, after, before, table.getDealerIndex());
+        mailbox.execute(() -> onHandFinished(report));
+    }
+
+    private void onHandFinished(HandReport report) {
+        Table table = tables.get(report.tableId());
+        if (!status.equals("running") || table == null) return;
+        table.running = false;
+        table.order = report.tokens();
+        table.dealerIndex = report.dealerIndex();
+        for (int i = 0; i < report.tokens().length; i++) {
+            if (table.players.contains(report.tokens()[i])) stacks.put(report.tokens()[i], report.stacks()[i]);
+        }
+
+        if (!handForHand) {
+            settle(List.of(report));
+            return;
+        }
+        // Mana cu mana: eliminarile de la mese diferite din aceeasi runda se departajeaza impreuna
+        pending.add(report);
+        if (!anyRunning()) settleRound();
+    }
+
+    private void settleRound() {
+        List<HandReport> round = new ArrayList<>(pending);
+        pending.clear();
+        handForHandRounds++;
+        settle(round);
+    }
+
+    private boolean anyRunning() {
+        for (Table t : tables.values()) {
+            if (t.running) return true;
+        }
+        return false;
+    }
+
+    private void settle(List<HandReport> reports) {
+        eliminate(reports);
+        advanceLevel();
+        if (remaining <= 1) {
+            finish();
+            return;
+        }
+        boolean bubble = onBubble();
+        if (bubble != handForHand) changed = true;
+        handForHand = bubble;
+
+        breakTables();
+        balanceTables();
+        dispatch();
+        publish();
+    }
+
+    // O runda sincronizata poate elimina cam cate un jucator de la fiecare masa: intram mana cu mana
+    // cu atatea eliminari inainte de bani, ca nimeni sa nu ajunga pe loc platit doar jucand mai incet
+    private boolean onBubble() {
+        return remaining > config.paidPlaces() && remaining <= config.paidPlaces() + tables.size();
+    }
+
+    // Fara fise = eliminat. In aceeasi mana, cine a inceput cu mai putine fise ia locul mai slab.
+    private void eliminate(List<HandReport> reports) {
+        List<Bust> busts = new ArrayList<>();
+        for (HandReport report : reports) {
+            Table table = tables.get(report.tableId());
+            for (int i = 0; i < report.tokens().length; i++) {
+                String token = report.tokens()[i];
+                if (report.stacks()[i] == 0 && table.players.contains(token)) {
+                    busts.add(new Bust(token, report.startStacks()[i], table));
+                }
+            }
+        }
+        busts.sort(Comparator.comparingInt(Bust::startStack));
+        for (Bust b : busts) {
+            b.table().players.remove(b.token());
+            b.table().leaving.add(b.token());
+            stacks.remove(b.token());
+            eliminated.add(b.token());
+            remaining--;
+            changed = true;
+        }
+    }
+
+    private void advanceLevel() {
+        List<BlindLevel> levels = config.levels();
+        long now = clock.getAsLong();
+        while (level < levels.size() - 1 && now - levelStartedAt >= levels.get(level).durationMs()) {
+            levelStartedAt += levels.get(level).durationMs();
+            level++;
+            changed = true;
+        }
+    }
+
+    // Cat timp ajung mai putine mese, spargem cate una oprita intre maini (cea mai goala)
+    private void breakTables() {
+        int needed = (remaining + config.tableSize() - 1) / config.tableSize();
+        while (tables.size() > needed) {
+            Table victim = null;
+            for (Table t : tables.values()) {
+                if (!t.running && (victim == null || t.players.size() < victim.players.size())) victim = t;
+            }
+            if (victim == null) return;
+            victim.broken = true;
+            tables.remove(victim.id);
+            closing.add(victim);
+            for (String player : new ArrayList<>(victim.players)) {
+                move(player, victim, smallestTable(null));
+            }
+            tablesBroken++;
+            changed = true;
+        }
+    }
+
+    // O masa oprita cu prea multi jucatori da din ei celei mai goale, pana diferenta e cel mult unu
+    private void balanceTables() {
+        if (tables.size() < 2) return;
+        for (Table t : tables.values()) {
+            if (t.running) continue;
+            while (true) {
+                Table target = smallestTable(t);
+                if (target == null || t.players.size() <= target.players.size() + 1) break;
+                move(nextMover(t), t, target);
+            }
+        }
+    }
+
+    private Table smallestTable(Table except) {
+        Table best = null;
+        for (Table t : tables.values()) {
+            if (t == except || t.players.size() >= config.tableSize()) continue;
+            if (best == null || t.players.size() < best.players.size()) best = t;
+        }
+        return best;
+    }
+
+    // Cel care ar plati big blind-ul mainii urmatoare (asa nu sare si nici nu plateste de doua ori)
+    private String nextMover(Table t) {
+        int n = t.order.length;
+        for (int i = 0; i < n; i++) {
+            String token = t.order[(t.dealerIndex + 3 + i) % n];
+            if (t.players.contains(token) && !t.arriving.contains(token)) return token;
+        }
+        return t.players.get(t.players.size() - 1);
+    }
+
+    private void move(String player, Table from, Table to) {
+        from.players.remove(player);
+        // Adus aici in aceeasi runda si inca neasezat: nu mai trebuie ridicat
+        if (!from.arriving.remove(player)) from.leaving.add(player);
+        to.players.add(player);
+        to.arriving.add(player);
+        moves++;
+        changed = true;
+    }
+
+    /**
+     * Trimite fiecarei mese atinse o singura comanda: ridica plecatii, aseaza venitii si, daca e oprita
+     * si are cel putin doi jucatori, porneste mana. Pe bula pornesc toate odata, dupa ce s-au oprit toate.
+     */
+    private void dispatch() {
+        boolean mayStart = !handForHand || !anyRunning();
+
+        BlindLevel blinds = config.levels().get(level);
+        List<Table> touched = new ArrayList<>(tables.values());
+        touched.addAll(closing);
+        closing.clear();
+        for (Table t : touched) {
+            boolean start = mayStart && !t.running && !t.broken && t.players.size() >= 2;
+            if (t.leaving.isEmpty() && t.arriving.isEmpty() && !start) continue;
+
+            List<String> leaving = List.copyOf(t.leaving);
+            List<String> arriving = List.copyOf(t.arriving);
+            int[] arrivingStacks = new int[arriving.size()];
+            for (int i = 0; i < arriving.size(); i++) arrivingStacks[i] = stacks.get(arriving.get(i));
+            t.leaving.clear();
+            t.arriving.clear();
+            if (start) t.running = true;
+
+            PokerGame game = t.game;
+            game.getMailbox().execute(() -> {
+                for (String player : leaving) host.unseatPlayer(game, player);
+                List<String> refused = new ArrayList<>();
+                for (int i = 0; i < arriving.size(); i++) {
+                    try {
+                        host.seatPlayer(game, arriving.get(i), arrivingStacks[i]);
+                    } catch (IllegalArgumentException e) {
+                        // Masa l-a refuzat (ex. plina): ceilalti joaca mai departe, iar directorul il aseaza din nou
+                        System.err.println("Tournament Error: " + arriving.get(i) + " la " + game.getGameId() + ": " + e.getMessage());
+                        refused.add(arriving.get(i));
+                    }
+                }
+                // Directorul ii numara si pe cei refuzati (aici sau la o comanda anterioara, inca nemutati):
+                // fara ei masa poate avea prea putini jucatori, iar o mana care nu porneste nu se termina niciodata
+                boolean stalled = start && activePlayers(game) < 2;
+                if (start) host.startHand(game, blinds.smallBlind(), blinds.bigBlind());
+                if (!refused.isEmpty() || stalled) mailbox.execute(() -> seatRefused(t, refused, stalled));
+            });
+        }
+    }
+
+    // Din cutia postala a mesei: cine ramane la masa cand mana noua ii scoate pe cei fara fise
+    private static int activePlayers(PokerGame game) {
+        int count = 0;
+        for (PokerPlayer p : game.getPlayers()) {
+            if (p.getStack() > 0) count++;
+        }
+        return count;
+    }
+
+    // Jucatorii neasezati trec la coada celei mai goale mese (sau inapoi la aceeasi, daca doar ea are loc)
+    private void seatRefused(Table table, List<String> refused, boolean stalled) {
+        if (!status.equals("running")) return;
+        if (stalled) table.running = false;
+        for (String player : refused) {
+            // Intre timp masa a fost sparta sau jucatorul a fost mutat: e deja la coada altei mese
+            if (!table.players.contains(player) || table.arriving.contains(player)) continue;
+            Table target = smallestTable(table);
+            if (target == null) target = table;
+            else moves++;
+            // Fara move(): la masa asta nu a stat, deci nu trebuie ridicat
+            table.players.remove(player);
+            target.players.add(player);
+            target.arriving.add(player);
+        }
+        changed = true;
+        // Pe bula, runda se incheia cand s-a oprit ultima masa; cea blocata nu mai trimite raport
+        if (stalled && handForHand && !pending.isEmpty() && !anyRunning()) {
+            settleRound();
+            return;
+        }
+        dispatch();
+        publish();
+    }
+
+    private void finish() {
+        status = "finished";
+        List<String> order = new ArrayList<>(entrants.size());
+        for (Table t : tables.values()) order.addAll(t.players);
+        for (int i = eliminated.size() - 1; i >= 0; i--) order.add(eliminated.get(i));
+        standings = List.copyOf(order);
+        handForHand = false;
+        for (Table t : tables.values()) {
+            List<String> everyone = new ArrayList<>(t.players);
+            everyone.addAll(t.leaving);
+            t.players.clear();
+            t.leaving.clear();
+            t.arriving.clear();
+            PokerGame game = t.game;
+            game.getMailbox().execute(() -> {
+                for (String player : everyone) host.unseatPlayer(game, player);
+            });
+        }
+        tables.clear();
+        changed = true;
+        publish();
+        result.complete(standings);
+    }
+
+    private void publish() {
+        if (snapshot != null && !changed) return;
+        changed = false;
+        BlindLevel blinds = config.levels().get(level);
+        snapshot = new TournamentSnapshot(config.tournamentId(), status, entrants.size(), remaining, level,
+                blinds.smallBlind(), blinds.bigBlind(), handForHand, List.copyOf(tables.keySet()),
+                moves, tablesBroken, handForHandRounds,
+                standings);
+    }
+}
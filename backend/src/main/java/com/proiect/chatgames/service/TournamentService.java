@@ -0,0 +1,94 @@
+package com.proiect.chatgames.service;
+
+import com.proiect.chatgames.model.poker.HandHistory;
+import com.proiect.chatgames.model.poker.PokerGame;
+import com.proiect.chatgames.model.poker.TournamentConfig;
+import com.proiect.chatgames.model.poker.TournamentSnapshot;
+import com.proiect.chatgames.websocket.MainWebSocketHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Turneele de poker (sit-and-go si multi-masa). Fiecare turneu are un TournamentDirector;
+ * mesele lui sunt mese obisnuite din GameService, create si conduse prin metodele de mai jos.
+ */
+@Service
+public class TournamentService {
+
+    private final Map<String, TournamentDirector> tournaments = new ConcurrentHashMap<>();
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    @Lazy
+    private MainWebSocketHandler ws;
+
+    // Legatura dintre director si mesele din GameService
+    private final TournamentDirector.TableHost host = new TournamentDirector.TableHost() {
+        @Override
+        public PokerGame openTable(String tournamentId, String tableId, int smallBlind, int bigBlind, int maxPlayers,
+                                   String player, int stack) {
+            return gameService.createTournamentTable(tournamentId, tableId, smallBlind, bigBlind, maxPlayers, player, stack);
+        }
+
+        @Override
+        public void seatPlayer(PokerGame table, String player, int stack) {
+            gameService.seatTournamentPlayer(table, player, stack, ws);
+        }
+
+        @Override
+        public void unseatPlayer(PokerGame table, String player) {
+            gameService.unseatTournamentPlayer(table, player, ws);
+        }
+
+        @Override
+        public void startHand(PokerGame table, int smallBlind, int bigBlind) {
+            gameService.startTournamentHand(table, smallBlind, bigBlind, ws);
+        }
+    };
+
+    public void createTournament(TournamentConfig config) {
+        TournamentDirector director = new TournamentDirector(config, host, System::currentTimeMillis);
+        if (tournaments.putIfAbsent(config.tournamentId(), director) != null) {
+            throw new IllegalArgumentException("Tournament ID exists");
+        }
+    }
+
+    public void register(String tournamentId, String username) {
+        getDirector(tournamentId).register(username);
+    }
+
+    public void start(String tournamentId) {
+        getDirector(tournamentId).start();
+    }
+
+    public TournamentSnapshot getTournament(String tournamentId) {
+        TournamentDirector director = tournaments.get(tournamentId);
+        return director != null ? director.getSnapshot() : null;
+    }
+
+    public List<TournamentSnapshot> getTournaments() {
+        List<TournamentSnapshot> list = new ArrayList<>(tournaments.size());
+        for (TournamentDirector director : tournaments.values()) list.add(director.getSnapshot());
+        return list;
+    }
+
+    // Apelat din cutia postala a mesei, dupa fiecare mana terminata la o masa de turneu
+    public void onHandFinished(PokerGame table, HandHistory hand) {
+        TournamentDirector director = tournaments.get(table.getTournamentId());
+        if (director != null) director.handFinished(table, hand);
+    }
+
+    private TournamentDirector getDirector(String tournamentId) {
+        TournamentDirector director = tournaments.get(tournamentId);
+        if (director == null) throw new IllegalArgumentException("Tournament not found");
+        return director;
+    }
+}
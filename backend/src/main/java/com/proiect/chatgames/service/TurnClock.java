@@ -0,0 +1,42 @@
+package com.proiect.chatgames.service;
+
+import com.proiect.chatgames.actor.TimingWheel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ceasul comun pentru termenele de joc (randul la poker, ghicitorul la spanzuratoare).
+ * O singura roata de timp si un singur thread pentru toate mesele, in loc de un task programat per masa.
+ */
+@Component
+public class TurnClock {
+
+    @Value("${app.turn.tickMs:100}")
+    private long tickMs = 100;
+
+    @Value("${app.turn.wheelSize:512}")
+    private int wheelSize = 512;
+
+    private TimingWheel wheel;
+
+    @PostConstruct
+    public void init() {
+        wheel = new TimingWheel(tickMs, wheelSize, "turn-clock");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        wheel.close();
+    }
+
+    // Task-ul ruleaza pe thread-ul ceasului: trebuie doar sa puna o comanda in cutia postala a jocului
+    public TimingWheel.Timeout schedule(Runnable task, long delayMs) {
+        return wheel.schedule(task, delayMs);
+    }
+
+    public int pending() {
+        return wheel.pending();
+    }
+}
@@ -3,8 +3,13 @@ package com.proiect.chatgames.websocket;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.proiect.chatgames.service.GameService;
+import com.proiect.chatgames.service.LobbyPublisher;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.*;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
@@ -12,22 +17,65 @@ import org.springframework.web.socket.handler.TextWebSocketHandler;
 import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Component
 public class MainWebSocketHandler extends TextWebSocketHandler {
 
     // Lista sesiunilor active (Socket -> Username)
     private static final Map<WebSocketSession, String> sessions = new ConcurrentHashMap<>();
+    // Index invers (Username -> Socket-uri), un user poate avea mai multe tab-uri deschise
+    private static final Map<String, Set<OutboundSession>> sessionsByUser = new ConcurrentHashMap<>();
+    // Coada de trimitere asincrona a fiecarui socket
+    private static final Map<WebSocketSession, OutboundSession> outboundSessions = new ConcurrentHashMap<>();
     // Lista camerelor de chat (NumeCamera -> ListaUseri)
     private static final Map<String, Set<String>> chatRooms = new ConcurrentHashMap<>();
 
     private final ObjectMapper mapper = new ObjectMapper();
+    private final OutboundStats outboundStats = new OutboundStats();
+    private final PresenceTracker presence = new PresenceTracker();
+    private ExecutorService sendExecutor;
+
+    // Limitele pentru clientii lenti
+    @Value("${app.ws.sendTimeLimitMs:5000}")
+    private int sendTimeLimitMs = 5000;
+
+    @Value("${app.ws.bufferSizeLimit:524288}")
+    private int bufferSizeLimit = 524288;
+
+    @Value("${app.ws.overflowPolicy:CLOSE}")
+    private OutboundSession.OverflowPolicy overflowPolicy = OutboundSession.OverflowPolicy.CLOSE;
+
+    @Value("${app.ws.senderThreads:0}")
+    private int senderThreads = 0;
 
     // Folosim @Lazy pentru a evita dependenta circulara (Service <-> Handler)
     @Autowired
     @Lazy
     private GameService gameService;
 
+    @Autowired
+    @Lazy
+    private LobbyPublisher lobbyPublisher;
+
+    @PostConstruct
+    public void init() {
+        int threads = senderThreads > 0 ? senderThreads : Runtime.getRuntime().availableProcessors() * 2;
+        AtomicInteger counter = new AtomicInteger();
+        sendExecutor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "ws-send-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sendExecutor.shutdownNow();
+    }
+
     @Override
     public void afterConnectionEstablished(WebSocketSession session) throws Exception {
         // Extragem username din URL: ws://localhost:3000/ws?username=Alex
@@ -42,23 +90,55 @@ public class MainWebSocketHandler extends TextWebSocketHandler {
             }
         }
 
-        sessions.put(session, username);
+        registerSession(session, username);
         System.out.println("User conectat: " + username);
 
-        // 1. Trimitem lista de useri online tuturor
-        broadcastUserList();
+        // 1. Lista completa de useri online doar celui nou; ceilalti primesc diferenta la urmatorul tick
+        sendJson(session, presence.snapshot());
 
         // 2. Trimitem lista de camere disponibile doar celui nou conectat
         sendJson(session, Map.of("type", "available_rooms", "content", chatRooms.keySet()));
 
-        // 3. Trimitem actualizari lobby jocuri
-        broadcastLobbyUpdate();
-        broadcastPokerLobbyUpdate();
+        // 3. Snapshot-ul curent al lobby-urilor (din cache), doar celui nou conectat
+        lobbyPublisher.sendCurrent(session);
+    }
+
+    // Socket-ul intra in indexuri (si in lista de prezenta, daca e primul tab al userului); public pentru benchmark
+    public void registerSession(WebSocketSession session, String username) {
+        OutboundSession outbound = new OutboundSession(session, sendExecutor, outboundStats,
+                sendTimeLimitMs, bufferSizeLimit, overflowPolicy);
+        outboundSessions.put(session, outbound);
+        sessions.put(session, username);
+        // Adaugarea se face atomic in compute, ca sa nu se intercaleze cu stergerea cheii la deconectare;
+        // in lambda doar modificam indexul, restul (prezenta) vine dupa
+        boolean[] firstTab = {false};
+        sessionsByUser.compute(username, (user, userSessions) -> {
+            firstTab[0] = userSessions == null;
+            Set<OutboundSession> set = userSessions != null ? userSessions : ConcurrentHashMap.newKeySet();
+            set.add(outbound);
+            return set;
+        });
+        if (firstTab[0]) refreshPresence(username);
     }
 
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
+        OutboundSession outbound = outboundSessions.remove(session);
+        if (outbound != null) outbound.discard();
         String username = sessions.remove(session);
+        if (username == null) return;
+        // Scoatem socket-ul din index; cheia dispare doar cand userul nu mai are niciun tab deschis
+        boolean[] lastTab = {false};
+        sessionsByUser.computeIfPresent(username, (user, userSessions) -> {
+            userSessions.remove(outbound);
+            lastTab[0] = userSessions.isEmpty();
+            return lastTab[0] ? null : userSessions;
+        });
+        if (lastTab[0]) {
+            refreshPresence(username);
+            // Nu mai are niciun tab deschis (si nici nu s-a reconectat intre timp): nu mai urmareste nicio masa
+            if (!sessionsByUser.containsKey(username)) gameService.userOffline(username);
+        }
         System.out.println("User deconectat: " + username);
 
         // Scoatem userul din toate camerele de chat
@@ -69,8 +149,6 @@ public class MainWebSocketHandler extends TextWebSocketHandler {
                 } catch (Exception e) {}
             }
         });
-
-        broadcastUserList();
     }
 
     @Override
@@ -134,6 +212,9 @@ public class MainWebSocketHandler extends TextWebSocketHandler {
             // --- HANGMAN ---
             case "hangman_set_word":
             case "hangman_guess_letter":
+            case "hangman_spectate":
+            case "hangman_unspectate":
+            case "hangman_hint":
                 gameService.handleHangmanMessage(sender, json, this);
                 break;
 
@@ -142,6 +223,10 @@ public class MainWebSocketHandler extends TextWebSocketHandler {
             case "poker_start_game":
             case "poker_start_new_hand":
             case "poker_leave_game":
+            case "poker_resync":
+            case "poker_equity":
+            case "poker_spectate":
+            case "poker_unspectate":
                 gameService.handlePokerMessage(sender, json, this);
                 break;
         }
@@ -149,28 +234,70 @@ public class MainWebSocketHandler extends TextWebSocketHandler {
 
     // --- METODE AJUTATOARE ---
 
+    // In afara compute-ului, un tab deschis si unul inchis in paralel pot ajunge aici in orice ordine:
+    // citim indexul sub lock-ul prezentei, deci ultimul apel lasa prezenta la fel ca indexul
+    private void refreshPresence(String username) {
+        synchronized (presence) {
+            if (sessionsByUser.containsKey(username)) presence.userOnline(username);
+            else presence.userOffline(username);
+        }
+    }
+
+    // Serializam o singura data; acelasi TextMessage (imutabil) e trimis tuturor destinatarilor
+    public TextMessage encode(Object message) throws IOException {
+        return new TextMessage(mapper.writeValueAsBytes(message));
+    }
+
     public void broadcastAll(Object message) throws IOException {
-        String jsonMsg = mapper.writeValueAsString(message);
-        for (WebSocketSession s : sessions.keySet()) {
-            if (s.isOpen()) s.sendMessage(new TextMessage(jsonMsg));
+        broadcastFrame(encode(message));
+    }
+
+    public void broadcastFrame(TextMessage frame) throws IOException {
+        for (OutboundSession s : outboundSessions.values()) {
+            s.send(frame);
         }
     }
 
-    private void broadcastUserList() throws IOException {
-        broadcastAll(Map.of("type", "usernames", "content", new ArrayList<>(sessions.values())));
+    // Intrarile si iesirile dintr-un tick pleaca intr-un singur mesaj, serializat o data pentru toti
+    @Scheduled(fixedDelayString = "${app.presence.tickMs:250}")
+    public void flushPresence() {
+        Map<String, Object> delta = presence.drainDelta();
+        if (delta == null) return;
+        try {
+            broadcastAll(delta);
+        } catch (IOException e) { e.printStackTrace(); }
     }
 
     public void sendJson(WebSocketSession session, Object message) throws IOException {
         if (session != null && session.isOpen()) {
-            session.sendMessage(new TextMessage(mapper.writeValueAsString(message)));
+            sendFrame(session, encode(message));
+        }
+    }
+
+    // Nu scriem niciodata direct pe socket: frame-ul intra in coada sesiunii
+    public void sendFrame(WebSocketSession session, TextMessage frame) throws IOException {
+        OutboundSession outbound = session != null ? outboundSessions.get(session) : null;
+        if (outbound != null) {
+            outbound.send(frame);
         }
     }
 
     public void sendToUser(String username, Object message) throws IOException {
-        for (Map.Entry<WebSocketSession, String> entry : sessions.entrySet()) {
-            if (entry.getValue().equals(username)) {
-                sendJson(entry.getKey(), message);
-            }
+        if (!sessionsByUser.containsKey(username)) return;
+        sendFrameToUser(username, encode(message));
+    }
+
+    public void sendFrameToUser(String username, TextMessage frame) throws IOException {
+        Set<OutboundSession> userSessions = sessionsByUser.get(username);
+        if (userSessions == null) return;
+        for (OutboundSession s : userSessions) {
+            s.send(frame);
+        }
+    }
+
+    public void sendFrameToUsers(Collection<String> usernames, TextMessage frame) throws IOException {
+        for (String user : usernames) {
+            sendFrameToUser(user, frame);
         }
     }
 
@@ -181,8 +308,9 @@ public class MainWebSocketHandler extends TextWebSocketHandler {
                 "to", recipient,
                 "text", text
         );
-        sendToUser(recipient, msg);
-        sendToUser(sender, msg);
+        TextMessage frame = encode(msg);
+        sendFrameToUser(recipient, frame);
+        if (!sender.equals(recipient)) sendFrameToUser(sender, frame);
     }
 
     private void broadcastToRoom(String room, String sender, String text) throws IOException {
@@ -194,34 +322,25 @@ public class MainWebSocketHandler extends TextWebSocketHandler {
                     "sender", sender,
                     "text", text
             );
-            for (Map.Entry<WebSocketSession, String> entry : sessions.entrySet()) {
-                if (usersInRoom.contains(entry.getValue())) {
-                    sendJson(entry.getKey(), msg);
-                }
-            }
+            // Cost O(membri camera), nu O(toate sesiunile); payload-ul e serializat o singura data
+            sendFrameToUsers(usersInRoom, encode(msg));
         }
     }
 
-    private void broadcastRoomCount(String room) throws IOException {
-        int count = chatRooms.containsKey(room) ? chatRooms.get(room).size() : 0;
-        broadcastAll(Map.of("type", "room_user_count", "room", room, "count", count));
+    // Watchdog: inchidem socket-urile blocate intr-un send mai mult decat limita
+    @Scheduled(fixedDelayString = "${app.ws.watchdogMs:1000}")
+    public void checkSlowConsumers() {
+        for (OutboundSession s : outboundSessions.values()) {
+            s.checkSendTimeLimit();
+        }
     }
 
-    public void broadcastLobbyUpdate() {
-        try {
-            broadcastAll(Map.of(
-                    "type", "hangman_lobby_update",
-                    "games", gameService.getAllHangmanGames()
-            ));
-        } catch (IOException e) { e.printStackTrace(); }
+    public OutboundStats getOutboundStats() {
+        return outboundStats;
     }
 
-    private void broadcastPokerLobbyUpdate() {
-        try {
-            broadcastAll(Map.of(
-                    "type", "poker_lobby_update",
-                    "games", gameService.getAllPokerGames()
-            ));
-        } catch (IOException e) { e.printStackTrace(); }
+    private void broadcastRoomCount(String room) throws IOException {
+        int count = chatRooms.containsKey(room) ? chatRooms.get(room).size() : 0;
+        broadcastAll(Map.of("type", "room_user_count", "room", room, "count", count));
     }
-}
\ No newline at end of file
+}
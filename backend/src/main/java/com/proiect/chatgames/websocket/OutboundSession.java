@@ -0,0 +1,175 @@
+package com.proiect.chatgames.websocket;
+
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Trimitere asincrona catre un singur socket.
+ * Cine face broadcast doar pune frame-ul in coada si pleaca; coada e golita pe un pool comun,
+ * cate un singur drain activ per sesiune (deci mesajele raman in ordine si nu avem scrieri concurente).
+ * Un client lent care depaseste limitele este deconectat sau pierde mesaje, fara sa-i blocheze pe ceilalti.
+ */
+public class OutboundSession {
+
+    public enum OverflowPolicy { DROP, CLOSE }
+
+    private final WebSocketSession session;
+    private final Executor executor;
+    private final OutboundStats stats;
+    private final long sendTimeLimitNanos;
+    private final int bufferSizeLimit;
+    private final OverflowPolicy overflowPolicy;
+
+    private final Queue<TextMessage> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queueSize = new AtomicInteger();
+    private final AtomicInteger bufferedBytes = new AtomicInteger();
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    // Momentul in care a inceput trimiterea curenta (0 = nu se trimite nimic)
+    private volatile long sendStartNanos = 0;
+    // Evacuarea si inchiderea se fac o singura data, oricate thread-uri ar detecta problema
+    private final AtomicBoolean evicted = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile String evictReason;
+
+    public OutboundSession(WebSocketSession session, Executor executor, OutboundStats stats,
+                           int sendTimeLimitMs, int bufferSizeLimit, OverflowPolicy overflowPolicy) {
+        this.session = session;
+        this.executor = executor;
+        this.stats = stats;
+        this.sendTimeLimitNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeLimitMs);
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public WebSocketSession getSession() {
+        return session;
+    }
+
+    public boolean isOpen() {
+        return !evicted.get() && !closed.get() && session.isOpen();
+    }
+
+    public int getQueueDepth() {
+        return queueSize.get();
+    }
+
+    public void send(TextMessage frame) {
+        if (!isOpen()) return;
+        if (isSendTimeExceeded()) {
+            evict("send time limit exceeded");
+            return;
+        }
+
+        int size = frame.getPayloadLength();
+        if (bufferedBytes.addAndGet(size) > bufferSizeLimit && queueSize.get() > 0) {
+            bufferedBytes.addAndGet(-size);
+            if (overflowPolicy == OverflowPolicy.DROP) {
+                stats.onDropped();
+            } else {
+                evict("buffer size limit exceeded");
+            }
+            return;
+        }
+
+        queue.add(frame);
+        queueSize.incrementAndGet();
+        stats.onQueued();
+        scheduleDrain();
+    }
+
+    // Apelat periodic de watchdog: un socket blocat intr-un send prea lung este inchis
+    public void checkSendTimeLimit() {
+        if (!isSendTimeExceeded()) return;
+        evict("send time limit exceeded");
+        // Thread-ul de trimitere sta in sendMessage si nu ajunge sa inchida: doar inchiderea socket-ului il deblocheaza
+        close();
+    }
+
+    private boolean isSendTimeExceeded() {
+        long start = sendStartNanos;
+        return start != 0 && System.nanoTime() - start > sendTimeLimitNanos;
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            TextMessage frame;
+            while (!evicted.get() && !closed.get() && (frame = queue.poll()) != null) {
+                queueSize.decrementAndGet();
+                sendStartNanos = System.nanoTime();
+                try {
+                    session.sendMessage(frame);
+                    stats.onSent();
+                } catch (Exception e) {
+                    stats.onDiscarded(1);
+                    // Socket-ul inchis de client (inainte sau dupa discard()) nu e un client lent
+                    if (closed.get() || !session.isOpen()) discard();
+                    else evict("send error: " + e.getMessage());
+                } finally {
+                    sendStartNanos = 0;
+                    bufferedBytes.addAndGet(-frame.getPayloadLength());
+                }
+            }
+        } finally {
+            draining.set(false);
+            // Un mesaj poate fi adaugat intre ultimul poll si resetarea flag-ului
+            if (!evicted.get() && !closed.get() && !queue.isEmpty()) scheduleDrain();
+        }
+        if (evicted.get() || closed.get()) {
+            discardQueue();
+            close();
+        }
+    }
+
+    /**
+     * Doar marcheaza sesiunea; poate fi apelat de pe cutia postala a unei mese sau din bucla de broadcast,
+     * deci nu inchidem socket-ul aici (inchiderea poate bloca). Coada se goleste si socket-ul se inchide
+     * pe pool-ul de trimitere, dupa ultimul sendMessage, nu in paralel cu el.
+     */
+    private void evict(String reason) {
+        if (!evicted.compareAndSet(false, true)) return;
+        evictReason = reason;
+        stats.onEvicted();
+        System.err.println("Sesiune WebSocket evacuata (" + session.getId() + "): " + reason);
+        scheduleDrain();
+    }
+
+    /**
+     * Socket-ul s-a inchis (deconectare normala): nu mai trimitem nimic si aruncam coada,
+     * fara sa numaram o evacuare. Un drain in curs se opreste dupa frame-ul curent.
+     */
+    public void discard() {
+        if (!closed.compareAndSet(false, true)) return;
+        discardQueue();
+    }
+
+    private void close() {
+        if (!closed.compareAndSet(false, true)) return;
+        try {
+            session.close(CloseStatus.SESSION_NOT_RELIABLE.withReason(evictReason));
+        } catch (Exception ignored) {}
+    }
+
+    private void discardQueue() {
+        int discarded = 0;
+        while (queue.poll() != null) discarded++;
+        if (discarded > 0) {
+            queueSize.addAndGet(-discarded);
+            stats.onDiscarded(discarded);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.proiect.chatgames.websocket;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Contoare globale pentru cozile de trimitere (toate sesiunile)
+public class OutboundStats {
+    private final AtomicLong queuedMessages = new AtomicLong();
+    private final AtomicLong sentMessages = new AtomicLong();
+    private final AtomicLong droppedMessages = new AtomicLong();
+    private final AtomicLong evictedSessions = new AtomicLong();
+
+    void onQueued() { queuedMessages.incrementAndGet(); }
+
+    void onSent() {
+        queuedMessages.decrementAndGet();
+        sentMessages.incrementAndGet();
+    }
+
+    void onDiscarded(int count) { queuedMessages.addAndGet(-count); }
+
+    void onDropped() { droppedMessages.incrementAndGet(); }
+
+    void onEvicted() { evictedSessions.incrementAndGet(); }
+
+    // Numarul total de mesaje aflate in cozi in acest moment
+    public long getQueueDepth() { return queuedMessages.get(); }
+
+    public long getSentMessages() { return sentMessages.get(); }
+
+    public long getDroppedMessages() { return droppedMessages.get(); }
+
+    public long getEvictedSessions() { return evictedSessions.get(); }
+
+    @Override
+    public String toString() {
+        return "queued=" + getQueueDepth() + ", sent=" + getSentMessages()
+                + ", dropped=" + getDroppedMessages() + ", evicted=" + getEvictedSessions();
+    }
+}
@@ -0,0 +1,58 @@
+package com.proiect.chatgames.websocket;
+
+import java.util.*;
+
+/**
+ * Prezenta userilor online, transmisa incremental.
+ * Un client nou primeste o singura data lista completa (cu versiunea curenta), apoi doar
+ * diferente (cine a intrat / cine a iesit). Schimbarile dintr-un tick sunt comasate:
+ * un user care iese si intra la loc inainte de tick nu genereaza niciun mesaj.
+ */
+public class PresenceTracker {
+
+    private final Set<String> online = new LinkedHashSet<>();
+    // Schimbari inca netrimise: username -> true (a intrat) / false (a iesit)
+    private final Map<String, Boolean> pending = new LinkedHashMap<>();
+    private long version = 0;
+
+    public synchronized void userOnline(String username) {
+        if (online.add(username)) recordChange(username, true);
+    }
+
+    public synchronized void userOffline(String username) {
+        if (online.remove(username)) recordChange(username, false);
+    }
+
+    private void recordChange(String username, boolean joined) {
+        Boolean previous = pending.remove(username);
+        // O schimbare opusa inca netrimisa se anuleaza cu cea curenta
+        if (previous == null) pending.put(username, joined);
+    }
+
+    // Lista completa, trimisa doar celui care tocmai s-a conectat
+    public synchronized Map<String, Object> snapshot() {
+        return Map.of(
+                "type", "usernames",
+                "version", version,
+                "content", new ArrayList<>(online)
+        );
+    }
+
+    // Diferentele acumulate de la ultimul tick, sau null daca nu s-a schimbat nimic
+    public synchronized Map<String, Object> drainDelta() {
+        if (pending.isEmpty()) return null;
+
+        List<String> joined = new ArrayList<>();
+        List<String> left = new ArrayList<>();
+        pending.forEach((user, isJoin) -> (isJoin ? joined : left).add(user));
+        pending.clear();
+        version++;
+
+        return Map.of(
+                "type", "presence_delta",
+                "version", version,
+                "joined", joined,
+                "left", left
+        );
+    }
+}
@@ -0,0 +1,68 @@
+package com.proiect.chatgames.actor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    @Test
+    void firesHundredThousandDeadlinesNeverEarly() throws Exception {
+        int count = 100_000;
+        Random random = new Random(1);
+        AtomicInteger early = new AtomicInteger();
+        AtomicInteger firedCancelled = new AtomicInteger();
+
+        // Roata mica (64 galeti x 10 ms), deci multe termene fac mai multe ture
+        try (TimingWheel wheel = new TimingWheel(10, 64, "test-wheel")) {
+            // Anulam doar termene departe in viitor, ca sa nu fi expirat deja pana le anulam
+            long[] delays = new long[count];
+            int toFire = 0;
+            for (int i = 0; i < count; i++) {
+                delays[i] = random.nextInt(2000);
+                if (i % 2 == 0 || delays[i] < 1000) toFire++;
+            }
+            CountDownLatch remaining = new CountDownLatch(toFire);
+
+            List<TimingWheel.Timeout> toCancel = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                long delay = delays[i];
+                long due = System.nanoTime() + delay * 1_000_000L;
+                boolean cancel = i % 2 == 1 && delay >= 1000;
+                TimingWheel.Timeout t = wheel.schedule(() -> {
+                    if (cancel) firedCancelled.incrementAndGet();
+                    if (System.nanoTime() < due) early.incrementAndGet();
+                    remaining.countDown();
+                }, delay);
+                if (cancel) toCancel.add(t);
+            }
+            toCancel.forEach(t -> assertTrue(t.cancel()));
+
+            assertTrue(remaining.await(10, TimeUnit.SECONDS), "nu au expirat toate termenele");
+            assertEquals(0, early.get());
+            // Termenele anulate sunt tot sub 2 s: dupa inca cateva tick-uri, niciunul nu trebuie sa fi rulat
+            Thread.sleep(200);
+            assertEquals(0, firedCancelled.get());
+            assertEquals(0, wheel.pending());
+        }
+    }
+
+    @Test
+    void cancelAfterExpiryReturnsFalse() throws Exception {
+        CountDownLatch fired = new CountDownLatch(1);
+        try (TimingWheel wheel = new TimingWheel(5, 16, "test-wheel")) {
+            TimingWheel.Timeout t = wheel.schedule(fired::countDown, 20);
+            assertTrue(fired.await(1, TimeUnit.SECONDS));
+            assertFalse(t.cancel());
+            assertTrue(t.isExpired());
+            assertEquals(0, t.remainingMs());
+        }
+    }
+}
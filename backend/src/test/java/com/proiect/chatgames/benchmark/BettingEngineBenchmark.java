@@ -0,0 +1,64 @@
+package com.proiect.chatgames.benchmark;
+
+import com.proiect.chatgames.model.poker.PokerGame;
+import com.proiect.chatgames.model.poker.PokerPlayer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+// O actiune de pariere in regim stabil (raise / call pe o masa de 6, fara evenimente pentru clienti).
+// Cu profilerul GC, gc.alloc.rate.norm trebuie sa fie ~0 B/op: motorul nu mai aloca nimic per actiune.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BettingEngineBenchmark {
+
+    private static final int SEATS = 6;
+    // Dupa atatea actiuni incepem o mana noua, ca istoricul mainii sa ramana in array-urile deja alocate
+    private static final int ACTIONS_PER_HAND = 48;
+    private static final int STACK = 1_000_000_000;
+
+    private PokerGame game;
+    private int actions;
+    private long seed;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        game = new PokerGame("bench", "p0", null, 1, 2, SEATS);
+        game.setRecordEvents(false);
+        for (int i = 0; i < SEATS; i++) game.addPlayer("p" + i, "p" + i, STACK);
+        game.startGame(seed++);
+    }
+
+    @Benchmark
+    public int action() {
+        if (++actions == ACTIONS_PER_HAND) {
+            actions = 0;
+            // Mana se abandoneaza fara showdown; refacem stack-urile ca masa sa nu se goleasca
+            for (PokerPlayer p : game.getPlayers()) p.setStack(STACK);
+            game.startNewHand(seed++);
+        }
+        PokerPlayer p = game.getPlayersByToken().get(game.getCurrentPlayerToken());
+        // Jucatorii alterneaza: unul creste cu minimul, urmatorul plateste
+        if ((actions & 1) == 0) {
+            game.handlePlayerAction(p.getToken(), "raise", game.getHighestBet() + 2);
+        } else {
+            game.handlePlayerAction(p.getToken(), "call", 0);
+        }
+        return game.getPot();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BettingEngineBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,62 @@
+package com.proiect.chatgames.benchmark;
+
+import com.proiect.chatgames.model.poker.ShuffledDeck;
+import com.proiect.chatgames.service.DeckPool;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+// Un val de maini noi pe mai multe thread-uri deodata: fiecare iteratie porneste cu pool-ul plin si fiecare
+// thread ia BURST pachete (in total jumatate din pool), ca mesele care incep o mana in acelasi timp.
+// Rezultatul e timpul unui val pe thread (impartit la BURST: costul unui take); la final se afiseaza
+// cate pachete au trebuit amestecate pe loc, pe thread-ul mesei.
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, batchSize = DeckPoolBenchmark.BURST)
+@Measurement(iterations = 50, batchSize = DeckPoolBenchmark.BURST)
+@Threads(DeckPoolBenchmark.THREADS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeckPoolBenchmark {
+
+    static final int THREADS = 4;
+    static final int POOL = 4096;
+    static final int BURST = POOL / 2 / THREADS;
+
+    private DeckPool pool;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        pool = new DeckPool();
+        pool.start();
+    }
+
+    // Intre valuri mesele joaca, iar thread-ul de fundal umple benzile la loc
+    @Setup(Level.Iteration)
+    public void refill() throws InterruptedException {
+        for (int i = 0; i < 500 && pool.available() < pool.capacity(); i++) Thread.sleep(10);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        pool.close();
+        System.out.printf("%nDeckPool: %,d pachete luate, %,d amestecate pe loc (%.2f%%)%n",
+                pool.getTaken(), pool.getMisses(), 100.0 * pool.getMisses() / pool.getTaken());
+    }
+
+    @Benchmark
+    public ShuffledDeck take() {
+        return pool.take();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DeckPoolBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,75 @@
+package com.proiect.chatgames.benchmark;
+
+import com.proiect.chatgames.model.poker.Card;
+import com.proiect.chatgames.service.EquityService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Latenta unei cereri de equity heads-up (un adversar necunoscut): river si turn, enumerate exhaustiv.
+// Spoturile sunt fixe (seed), parcurse pe rand ca sa nu masuram mereu aceeasi mana.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EquityBenchmark {
+
+    private static final int SPOTS = 64;
+
+    private final EquityService equity = new EquityService();
+    private final List<List<String>> hands = new ArrayList<>();
+    private final List<List<String>> boards = new ArrayList<>();
+    private int next;
+
+    @Setup
+    public void setup() {
+        ReflectionTestUtils.setField(equity, "maxSamples", 200_000);
+        ReflectionTestUtils.setField(equity, "timeBudgetMs", 250);
+        ReflectionTestUtils.setField(equity, "exhaustiveLimit", 2_000_000L);
+        equity.init();
+
+        Random random = new Random(7);
+        for (int i = 0; i < SPOTS; i++) {
+            long used = 0;
+            List<String> cards = new ArrayList<>(7);
+            for (int j = 0; j < 7; j++) {
+                int c;
+                do { c = random.nextInt(52); } while ((used & (1L << c)) != 0);
+                used |= 1L << c;
+                cards.add(Card.of(c).toString());
+            }
+            hands.add(cards.subList(0, 2));
+            boards.add(cards.subList(2, 7));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        equity.shutdown();
+    }
+
+    @Benchmark
+    public Object river() {
+        int i = next++ & (SPOTS - 1);
+        return equity.calculate(hands.get(i), boards.get(i), 1, 0);
+    }
+
+    @Benchmark
+    public Object turn() {
+        int i = next++ & (SPOTS - 1);
+        return equity.calculate(hands.get(i), boards.get(i).subList(0, 4), 1, 0);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(EquityBenchmark.class.getSimpleName()).build()).run();
+    }
+}
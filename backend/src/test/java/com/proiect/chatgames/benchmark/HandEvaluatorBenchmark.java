@@ -0,0 +1,63 @@
+package com.proiect.chatgames.benchmark;
+
+import com.proiect.chatgames.model.poker.Card;
+import com.proiect.chatgames.model.poker.LookupHandEvaluator;
+import com.proiect.chatgames.model.poker.PokerHandEvaluator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Evaluarea a 1024 de maini de 7 carti: implementarea de referinta vs tabelele precalculate
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HandEvaluatorBenchmark {
+
+    private static final int HANDS = 1024;
+
+    private final int[][] codes = new int[HANDS][7];
+    private final List<List<Card>> cards = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        Random random = new Random(7);
+        for (int i = 0; i < HANDS; i++) {
+            long used = 0;
+            List<Card> hand = new ArrayList<>(7);
+            for (int j = 0; j < 7; j++) {
+                int c;
+                do { c = random.nextInt(52); } while ((used & (1L << c)) != 0);
+                used |= 1L << c;
+                codes[i][j] = c;
+                hand.add(Card.of(c));
+            }
+            cards.add(hand);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(HANDS)
+    public void reference(Blackhole bh) {
+        for (List<Card> hand : cards) bh.consume(PokerHandEvaluator.evaluateHand(hand));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(HANDS)
+    public void lookup(Blackhole bh) {
+        for (int[] h : codes) bh.consume(LookupHandEvaluator.evaluate(h[0], h[1], h[2], h[3], h[4], h[5], h[6]));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(HandEvaluatorBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,70 @@
+package com.proiect.chatgames.benchmark;
+
+import com.proiect.chatgames.model.HangmanAlphabet;
+import com.proiect.chatgames.model.HangmanGame;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+// 100.000 de jocuri Hangman deschise simultan; fiecare operatie e o ghicire in urmatorul joc (ca mesajele
+// venite de la ghicitori diferiti). Un joc terminat e inlocuit cu unul nou; costul inlocuirii se imparte
+// la ghicirile jocului. O ghicire nu aloca decat noul String al mastii cand litera e in cuvant.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HangmanBenchmark {
+
+    private static final int GAMES = 100_000;
+    private static final String[] WORDS = {
+            "spanzuratoare", "calculator", "știință", "bibliotecă", "întrebare",
+            "programare", "abecedar", "țară", "fereastră", "universitate"
+    };
+    // Ordinea in care ghicesc jucatorii: intai literele frecvente in romana
+    private static final String ORDER = "AEIRNTULCSOĂDPMÎȘȚVBFGZÂHJKXYWQ";
+
+    private HangmanGame[] games;
+    private int[] nextLetter;
+    private int cursor;
+    private int created;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        games = new HangmanGame[GAMES];
+        nextLetter = new int[GAMES];
+        for (int i = 0; i < GAMES; i++) games[i] = newGame();
+    }
+
+    private HangmanGame newGame() {
+        HangmanGame game = new HangmanGame("g" + created, "host");
+        game.join("guest");
+        game.chooseWord(WORDS[created++ % WORDS.length]);
+        return game;
+    }
+
+    @Benchmark
+    public int guess() {
+        int i = cursor;
+        cursor = cursor + 1 == GAMES ? 0 : cursor + 1;
+        HangmanGame game = games[i];
+        if (!game.getStatus().equals("in_progress")) {
+            game = games[i] = newGame();
+            nextLetter[i] = 0;
+        }
+        game.guessLetter(HangmanAlphabet.letter(HangmanAlphabet.indexOf(ORDER.charAt(nextLetter[i]++))));
+        return game.getMistakes();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(HangmanBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,65 @@
+package com.proiect.chatgames.benchmark;
+
+import com.proiect.chatgames.service.HangmanDictionary;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Validarea unui cuvant propus si alegerea unui cuvant aleator, intr-un dictionar mapat construit dintr-o lista
+// de 500.000 de cuvinte (cu duplicate).
+// Timpul de construire a indexului si de deschidere din cache il scrie HangmanDictionary.open in log.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HangmanDictionaryBenchmark {
+
+    private static final int WORDS = 500_000;
+    private static final int PROBES = 1024;
+
+    private Path file;
+    private HangmanDictionary dictionary;
+    private final String[] probes = new String[PROBES];
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        file = Files.createTempDirectory("hangman").resolve("words.txt");
+        List<String> words = WordLists.write(file, WORDS, 7);
+        dictionary = new HangmanDictionary();
+        dictionary.open(file);
+        SplittableRandom random = new SplittableRandom(1);
+        for (int i = 0; i < PROBES; i++) probes[i] = words.get(random.nextInt(words.size()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        WordLists.delete(file);
+    }
+
+    @Benchmark
+    public boolean contains() {
+        int i = cursor;
+        cursor = (cursor + 1) & (PROBES - 1);
+        return dictionary.contains(probes[i]);
+    }
+
+    @Benchmark
+    public String randomWord() {
+        return dictionary.randomWord(6, 9, HangmanDictionary.Difficulty.MEDIUM);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(HangmanDictionaryBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,75 @@
+package com.proiect.chatgames.benchmark;
+
+import com.proiect.chatgames.model.HangmanGame;
+import com.proiect.chatgames.model.HangmanHint;
+import com.proiect.chatgames.service.HangmanDictionary;
+import com.proiect.chatgames.service.HangmanSolver;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Un indiciu al botului intr-un dictionar construit din 1.500.000 de cuvinte generate: fiecare operatie cere
+// indiciul pentru jocul curent si ghiceste litera primita; un joc terminat e inlocuit cu urmatorul cuvant.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HangmanSolverBenchmark {
+
+    private static final int TARGETS = 1024;
+
+    private Path file;
+    private final HangmanSolver solver = new HangmanSolver();
+    private final String[] targets = new String[TARGETS];
+    private int next;
+    private HangmanGame game;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        file = Files.createTempDirectory("hangman").resolve("words.txt");
+        List<String> words = WordLists.write(file, 1_500_000, 3);
+        HangmanDictionary dictionary = new HangmanDictionary();
+        dictionary.open(file);
+        solver.setDictionary(dictionary);
+        solver.init();
+        SplittableRandom random = new SplittableRandom(5);
+        for (int i = 0; i < TARGETS; i++) targets[i] = words.get(random.nextInt(words.size()));
+        game = newGame();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        solver.shutdown();
+        WordLists.delete(file);
+    }
+
+    private HangmanGame newGame() {
+        HangmanGame g = new HangmanGame("h", "host");
+        g.join("[bot]");
+        g.chooseWord(targets[next]);
+        next = (next + 1) & (TARGETS - 1);
+        return g;
+    }
+
+    @Benchmark
+    public HangmanHint hint() {
+        if (!game.getStatus().equals("in_progress")) game = newGame();
+        HangmanHint hint = solver.hint(game.getMaskedWord(), game.getGuessedLetters());
+        game.guessLetter(hint.letter());
+        return hint;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(HangmanSolverBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,108 @@
+package com.proiect.chatgames.benchmark;
+
+import com.proiect.chatgames.websocket.MainWebSocketHandler;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Trimitere tintita (mesaj privat, starea unei mese de 9 jucatori) cu 100 / 10.000 / 100.000 de conexiuni deschise.
+// Userii sunt gasiti in indexul username -> sesiuni, deci costul per destinatar nu trebuie sa creasca odata cu
+// numarul total de conexiuni. Socket-urile sunt simulate: sendMessage nu face nimic, ramane doar costul cozii.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TargetedDeliveryBenchmark {
+
+    private static final int TABLE = 9;
+    // Destinatarii se rotesc printre primii useri, ca nicio coada sa nu se umple
+    private static final int TARGETS = 90;
+
+    @Param({"100", "10000", "100000"})
+    public int connections;
+
+    private MainWebSocketHandler ws;
+    private TextMessage frame;
+    private String[] targets;
+    private List<List<String>> tables;
+    private int nextUser;
+    private int nextTable;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        ws = new MainWebSocketHandler();
+        ws.init();
+        for (int i = 0; i < connections; i++) ws.registerSession(session(i), "u" + i);
+
+        frame = ws.encode(Map.of("type", "private_message", "sender", "u0", "to", "u1", "text", "salut"));
+        targets = new String[TARGETS];
+        for (int i = 0; i < TARGETS; i++) targets[i] = "u" + i;
+        tables = new ArrayList<>();
+        for (int i = 0; i < TARGETS; i += TABLE) tables.add(Arrays.asList(targets).subList(i, i + TABLE));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ws.shutdown();
+    }
+
+    // Socket fara retea: doar ce foloseste handler-ul (id, deschis, trimitere fara efect)
+    private static WebSocketSession session(int i) {
+        String id = "s" + i;
+        URI uri = URI.create("ws://localhost/ws?username=u" + i);
+        Map<String, Object> attributes = new HashMap<>();
+        return (WebSocketSession) Proxy.newProxyInstance(WebSocketSession.class.getClassLoader(),
+                new Class<?>[]{WebSocketSession.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getId": return id;
+                        case "getUri": return uri;
+                        case "getAttributes": return attributes;
+                        case "isOpen": return true;
+                        case "hashCode": return System.identityHashCode(proxy);
+                        case "equals": return proxy == args[0];
+                        case "toString": return id;
+                        case "getTextMessageSizeLimit":
+                        case "getBinaryMessageSizeLimit": return 0;
+                        default: return null;
+                    }
+                });
+    }
+
+    @Benchmark
+    public void sendToUser() throws IOException {
+        int i = nextUser;
+        nextUser = i + 1 == TARGETS ? 0 : i + 1;
+        ws.sendFrameToUser(targets[i], frame);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TABLE)
+    public void sendToTable() throws IOException {
+        int i = nextTable;
+        nextTable = i + 1 == tables.size() ? 0 : i + 1;
+        ws.sendFrameToUsers(tables.get(i), frame);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TargetedDeliveryBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
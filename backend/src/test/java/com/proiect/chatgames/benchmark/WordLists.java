@@ -0,0 +1,45 @@
+package com.proiect.chatgames.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Lista de cuvinte pentru benchmark-urile Hangman, generata determinist din silabe (cu diacritice, cu duplicate)
+final class WordLists {
+
+    private static final String[] SYLLABLES = {
+            "ma", "re", "pi", "lo", "tu", "ca", "ne", "si", "dor", "ban", "cra", "ști", "ță", "în", "vâr",
+            "gre", "pla", "zu", "fo", "hi", "ja", "ke", "xa", "wy", "qu", "mă", "răs", "ți", "bul", "ent"
+    };
+
+    private WordLists() {
+    }
+
+    static List<String> write(Path file, int count, long seed) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<String> words = new ArrayList<>(count);
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < count; i++) {
+                StringBuilder word = new StringBuilder();
+                int syllables = 2 + random.nextInt(4);
+                for (int s = 0; s < syllables; s++) word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+                words.add(word.toString());
+                out.write(word.toString());
+                out.write('\n');
+            }
+        }
+        return words;
+    }
+
+    // Sterge lista si indexul scris langa ea
+    static void delete(Path file) throws IOException {
+        Files.deleteIfExists(file.resolveSibling(file.getFileName() + ".idx"));
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(file.getParent());
+    }
+}
@@ -0,0 +1,77 @@
+package com.proiect.chatgames.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HangmanGameTest {
+
+    private static HangmanGame game(String word) {
+        HangmanGame game = new HangmanGame("h", "host");
+        game.join("guest");
+        game.chooseWord(word);
+        return game;
+    }
+
+    @Test
+    void guessesRevealEveryPositionOfTheLetter() {
+        HangmanGame game = game("banana");
+        assertEquals("_ _ _ _ _ _", game.getMaskedWord());
+
+        game.guessLetter("a");
+        assertEquals("_ A _ A _ A", game.getMaskedWord());
+        game.guessLetter("x");
+        assertEquals(1, game.getMistakes());
+        // O litera repetata nu mai conteaza
+        game.guessLetter("A");
+        assertEquals(List.of("A", "X"), game.getGuessedLetters());
+
+        game.guessLetter("n");
+        game.guessLetter("b");
+        assertEquals("won", game.getStatus());
+        assertEquals("B A N A N A", game.getMaskedWord());
+    }
+
+    @Test
+    void romanianDiacriticsAreLetters() {
+        HangmanGame game = game("știință");
+        // Ş cu sedila e aceeasi litera ca Ș cu virgula
+        game.guessLetter("ş");
+        game.guessLetter("t");
+        game.guessLetter("i");
+        game.guessLetter("n");
+        assertEquals("Ș T I I N _ _", game.getMaskedWord());
+        game.guessLetter("ț");
+        // Î e alta litera decat I
+        game.guessLetter("î");
+        assertEquals(1, game.getMistakes());
+        game.guessLetter("ă");
+        assertEquals("won", game.getStatus());
+        assertEquals(List.of("Ș", "T", "I", "N", "Ț", "Î", "Ă"), game.getGuessedLetters());
+    }
+
+    @Test
+    void lostGameShowsTheWord() {
+        HangmanGame game = game("cuvant");
+        for (String letter : List.of("x", "y", "z", "q", "w")) game.guessLetter(letter);
+        game.expireTurn();
+        assertEquals("lost", game.getStatus());
+        assertEquals("C U V A N T", game.getMaskedWord());
+    }
+
+    @Test
+    void invalidWordsAndGuessesAreRejected() {
+        HangmanGame game = new HangmanGame("h", "host");
+        game.join("guest");
+        assertThrows(IllegalArgumentException.class, () -> game.chooseWord("doua cuvinte"));
+        assertThrows(IllegalArgumentException.class, () -> game.chooseWord("a".repeat(65)));
+        game.chooseWord("a".repeat(64));
+        assertThrows(IllegalArgumentException.class, () -> game.guessLetter("ab"));
+        assertThrows(IllegalArgumentException.class, () -> game.guessLetter("1"));
+
+        game.guessLetter("a");
+        assertEquals("won", game.getStatus());
+    }
+}
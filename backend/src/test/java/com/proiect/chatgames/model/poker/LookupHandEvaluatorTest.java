@@ -0,0 +1,81 @@
+package com.proiect.chatgames.model.poker;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LookupHandEvaluatorTest {
+
+    // Aceeasi codificare ca puterea din LookupHandEvaluator: categorie << 20 | 5 valori de cate 4 biti
+    private static int referenceStrength(List<Card> cards) {
+        EvaluatedHand hand = PokerHandEvaluator.evaluateHand(cards);
+        int strength = hand.getRank();
+        for (int value : hand.getHighCardValues()) strength = (strength << 4) | value;
+        return strength;
+    }
+
+    @Test
+    void matchesReferenceOnAllFiveCardHands() {
+        List<Card> deck = new ArrayList<>();
+        for (int c = 0; c < 52; c++) deck.add(Card.of(c));
+
+        int[] categories = new int[9];
+        List<Card> hand = new ArrayList<>(5);
+        for (int a = 0; a < 52; a++)
+            for (int b = a + 1; b < 52; b++)
+                for (int c = b + 1; c < 52; c++)
+                    for (int d = c + 1; d < 52; d++)
+                        for (int e = d + 1; e < 52; e++) {
+                            hand.clear();
+                            hand.add(deck.get(a)); hand.add(deck.get(b)); hand.add(deck.get(c));
+                            hand.add(deck.get(d)); hand.add(deck.get(e));
+                            int fast = LookupHandEvaluator.evaluate(new int[]{a, b, c, d, e}, 5);
+                            assertEquals(referenceStrength(hand), fast, hand.toString());
+                            categories[LookupHandEvaluator.category(fast)]++;
+                        }
+
+        // Frecventele cunoscute ale celor 2.598.960 de maini de 5 carti
+        assertArrayEquals(new int[]{1302540, 1098240, 123552, 54912, 10200, 5108, 3744, 624, 40}, categories);
+    }
+
+    @Test
+    void matchesReferenceOnRandomSevenCardHands() {
+        Random random = new Random(42);
+        int[] cards = new int[7];
+        for (int i = 0; i < 200_000; i++) {
+            long used = 0;
+            List<Card> hand = new ArrayList<>(7);
+            for (int j = 0; j < 7; j++) {
+                int c;
+                do { c = random.nextInt(52); } while ((used & (1L << c)) != 0);
+                used |= 1L << c;
+                cards[j] = c;
+                hand.add(Card.of(c));
+            }
+            int fast = LookupHandEvaluator.evaluate(cards[0], cards[1], cards[2], cards[3], cards[4], cards[5], cards[6]);
+            assertEquals(referenceStrength(hand), fast, hand.toString());
+        }
+    }
+
+    @Test
+    void mapsStrengthToEvaluatedHand() {
+        // A A A K K + 2 7 -> Full House, asii inaintea regilor
+        List<Card> cards = List.of(Card.of("A", "h"), Card.of("A", "d"), Card.of("A", "c"),
+                Card.of("K", "s"), Card.of("K", "h"), Card.of("2", "d"), Card.of("7", "c"));
+        EvaluatedHand hand = LookupHandEvaluator.toEvaluatedHand(LookupHandEvaluator.evaluate(cards));
+        assertEquals(6, hand.getRank());
+        assertEquals("Full House", hand.getName());
+        assertEquals(List.of(14, 14, 14, 13, 13), hand.getHighCardValues());
+
+        // Chinta A-2-3-4-5 pierde in fata chintei 2-6
+        int wheel = LookupHandEvaluator.evaluate(List.of(Card.of("A", "h"), Card.of("2", "d"),
+                Card.of("3", "c"), Card.of("4", "s"), Card.of("5", "h")));
+        int sixHigh = LookupHandEvaluator.evaluate(List.of(Card.of("6", "h"), Card.of("2", "d"),
+                Card.of("3", "c"), Card.of("4", "s"), Card.of("5", "h")));
+        assertTrue(sixHigh > wheel);
+    }
+}
@@ -0,0 +1,168 @@
+package com.proiect.chatgames.model.poker;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PokerGameTest {
+
+    private static PokerGame table(int... stacks) {
+        PokerGame game = new PokerGame("t", "p0", null, 10, 20, 9);
+        for (int i = 0; i < stacks.length; i++) game.addPlayer("p" + i, "p" + i, stacks[i]);
+        return game;
+    }
+
+    private static int strength(PokerGame game, String token) {
+        return LookupHandEvaluator.evaluate(game.getPlayersByToken().get(token).getHand(), game.getBoard());
+    }
+
+    private static int stack(PokerGame game, String token) {
+        return game.getPlayersByToken().get(token).getStack();
+    }
+
+    @Test
+    void allInPreflopRunsOutTheBoard() {
+        PokerGame game = table(100, 100);
+        game.startGame(5);
+        // Dealer p0, small blind p1, big blind p0; p1 actioneaza primul
+        game.handlePlayerAction("p1", "raise", 100);
+        game.handlePlayerAction("p0", "call", 0);
+
+        assertEquals("showdown", game.getRound());
+        assertEquals(5, game.getBoard().size());
+        assertEquals(200, stack(game, "p0") + stack(game, "p1"));
+    }
+
+    @Test
+    void shortAllInWinsOnlyTheMainPot() {
+        int checked = 0;
+        for (long seed = 0; seed < 200; seed++) {
+            PokerGame game = table(50, 200, 200);
+            game.startGame(seed);
+            // Dealer p0 (primul la actiune), small blind p1, big blind p2
+            game.handlePlayerAction("p0", "raise", 50);
+            game.handlePlayerAction("p1", "raise", 200);
+            game.handlePlayerAction("p2", "call", 0);
+            assertEquals("showdown", game.getRound());
+
+            int s0 = strength(game, "p0"), s1 = strength(game, "p1"), s2 = strength(game, "p2");
+            if (s0 == s1 || s0 == s2 || s1 == s2) continue;
+            checked++;
+
+            // Pot principal 3 x 50 pentru oricine; pot lateral 2 x 150 doar pentru p1 / p2
+            int[] expected = new int[3];
+            int best = Math.max(s0, Math.max(s1, s2));
+            expected[best == s0 ? 0 : best == s1 ? 1 : 2] += 150;
+            expected[s1 > s2 ? 1 : 2] += 300;
+            assertEquals(expected[0], stack(game, "p0"), "seed " + seed);
+            assertEquals(expected[1], stack(game, "p1"), "seed " + seed);
+            assertEquals(expected[2], stack(game, "p2"), "seed " + seed);
+        }
+        assertTrue(checked > 100);
+    }
+
+    @Test
+    void blindsThatPutEveryoneAllInFinishTheHand() {
+        PokerGame game = table(10, 15);
+        game.startGame(9);
+        assertEquals("showdown", game.getRound());
+        assertEquals(25, stack(game, "p0") + stack(game, "p1"));
+    }
+
+    @Test
+    void everyoneFoldsToTheBigBlind() {
+        PokerGame game = table(1000, 1000, 1000, 1000);
+        for (long seed = 0; seed < 2; seed++) {
+            if (seed == 0) game.startGame(seed);
+            else game.startNewHand(seed);
+            // Toti in afara de big blind dau fold: mana se termina fara ca big blind-ul sa mai fie intrebat
+            for (int folds = 0; folds < 3; folds++) game.handlePlayerAction(game.getCurrentPlayerToken(), "fold", 0);
+            assertEquals("showdown", game.getRound());
+            assertNull(game.getCurrentPlayerToken());
+        }
+        int total = 0;
+        for (PokerPlayer p : game.getPlayers()) total += p.getStack();
+        assertEquals(4000, total);
+        // Big blind-ul ia small blind-ul: p2 castiga mana intai si o plateste pe a doua, p3 castiga a doua
+        assertEquals(990, stack(game, "p1"));
+        assertEquals(1000, stack(game, "p2"));
+        assertEquals(1010, stack(game, "p3"));
+    }
+
+    @Test
+    void shortStackCanGoAllInBelowTheMinimumRaise() {
+        PokerGame game = table(500, 500, 500, 30);
+        game.startGame(6);
+        // Dealer p0, blind-uri p1 / p2; p3 are 30: peste call (20), sub raise-ul minim (40)
+        game.handlePlayerAction("p3", "raise", 30);
+        assertEquals(PlayerStatus.ALL_IN, game.getPlayersByToken().get("p3").getStatus());
+        assertEquals(0, stack(game, "p3"));
+
+        // Ceilalti trebuie sa plateasca diferenta pana la 30
+        assertThrows(IllegalArgumentException.class, () -> game.handlePlayerAction("p0", "check", 0));
+        game.handlePlayerAction("p0", "call", 0);
+        assertEquals(470, stack(game, "p0"));
+        // Sub all-in-ul intreg, raise-ul prea mic ramane refuzat
+        assertThrows(IllegalArgumentException.class, () -> game.handlePlayerAction("p1", "raise", 40));
+    }
+
+    @Test
+    void leavingPlayerBetStaysInThePot() {
+        PokerGame game = table(500, 500, 500);
+        game.startGame(3);
+        // p0 la actiune; small blind (p1) pleaca inainte sa-i vina randul
+        game.handlePlayerAction("p0", "call", 0);
+        game.removePlayer("p1");
+        assertEquals("p2", game.getCurrentPlayerToken());
+        game.handlePlayerAction("p2", "check", 0);
+        while (!game.getRound().equals("showdown")) {
+            game.handlePlayerAction(game.getCurrentPlayerToken(), "check", 0);
+        }
+        assertEquals(1500 - 490, stack(game, "p0") + stack(game, "p2"));
+    }
+
+    @Test
+    void playerJoiningMidHandWaitsForTheNextHand() {
+        PokerGame game = table(500, 500);
+        game.startGame(4);
+        game.addPlayer("p2", "p2", 500);
+        assertEquals(PlayerStatus.WAITING, game.getPlayersByToken().get("p2").getStatus());
+
+        // Mana curenta se termina fara el: nu ajunge la actiune si nu ia nimic din pot
+        while (!game.getRound().equals("showdown")) {
+            String token = game.getCurrentPlayerToken();
+            assertNotEquals("p2", token);
+            game.handlePlayerAction(token, game.timeoutAction(), 0);
+        }
+        assertEquals(500, stack(game, "p2"));
+        assertEquals(1000, stack(game, "p0") + stack(game, "p1"));
+
+        game.startNewHand(5);
+        assertEquals(2, game.getPlayersByToken().get("p2").getHand().size());
+    }
+
+    @Test
+    void bustedPlayerCanLeaveAfterTheNextHand() {
+        for (long seed = 0; seed < 200; seed++) {
+            PokerGame game = table(50, 200, 300);
+            game.startGame(seed);
+            game.handlePlayerAction("p0", "raise", 50);
+            game.handlePlayerAction("p1", "raise", 200);
+            game.handlePlayerAction("p2", "call", 0);
+            if (stack(game, "p0") > 0) continue;
+
+            // La mana urmatoare jucatorul fara bani dispare si din lista, si din index
+            game.startNewHand(seed + 1);
+            assertFalse(game.getPlayersByToken().containsKey("p0"));
+            int seated = game.getPlayers().size();
+            long version = game.getStateVersion();
+
+            // Cererea lui de plecare, venita dupa, nu mai schimba nimic
+            assertDoesNotThrow(() -> game.removePlayer("p0"));
+            assertEquals(seated, game.getPlayers().size());
+            assertEquals(version, game.getStateVersion());
+            return;
+        }
+        fail("niciun seed in care p0 pierde tot");
+    }
+}
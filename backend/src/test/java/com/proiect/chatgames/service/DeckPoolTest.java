@@ -0,0 +1,78 @@
+package com.proiect.chatgames.service;
+
+import com.proiect.chatgames.actor.GameMailbox;
+import com.proiect.chatgames.model.poker.Card;
+import com.proiect.chatgames.model.poker.Deck;
+import com.proiect.chatgames.model.poker.ShuffledDeck;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeckPoolTest {
+
+    private static void awaitFull(DeckPool pool) throws InterruptedException {
+        for (int i = 0; i < 500 && pool.available() < pool.capacity(); i++) Thread.sleep(10);
+    }
+
+    @Test
+    void preparedDecksAreReproducibleFromTheirSeed() throws Exception {
+        DeckPool pool = new DeckPool();
+        pool.start();
+        try {
+            awaitFull(pool);
+            for (int i = 0; i < pool.capacity() / 2; i++) {
+                ShuffledDeck prepared = pool.take();
+                Deck loaded = new Deck();
+                loaded.load(prepared);
+                Deck replayed = new Deck();
+                replayed.shuffle(prepared.seed());
+
+                Set<Card> cards = new HashSet<>();
+                for (int c = 0; c < 52; c++) {
+                    Card card = loaded.deal();
+                    assertEquals(card, replayed.deal());
+                    cards.add(card);
+                }
+                assertEquals(52, cards.size());
+            }
+            assertEquals(0, pool.getMisses());
+        } finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    void hundredsOfTablesDealingAtOnce() throws Exception {
+        DeckPool pool = new DeckPool();
+        pool.start();
+        try {
+            awaitFull(pool);
+            int tables = 500;
+            int hands = 20;
+            GameMailbox[] mailboxes = new GameMailbox[tables];
+            for (int t = 0; t < tables; t++) mailboxes[t] = new GameMailbox();
+            Set<Long> seeds = ConcurrentHashMap.newKeySet();
+
+            // Toate mesele incep o mana in acelasi timp, apoi joaca (aici: o pauza scurta) pana la urmatoarea
+            for (int h = 0; h < hands; h++) {
+                CompletableFuture<?>[] done = new CompletableFuture<?>[tables];
+                for (int t = 0; t < tables; t++) {
+                    done[t] = mailboxes[t].submit(() -> seeds.add(pool.take().seed()));
+                }
+                CompletableFuture.allOf(done).join();
+                Thread.sleep(50);
+            }
+
+            // Fiecare mana are seed-ul ei, fie ca pachetul vine din benzi, fie ca a fost amestecat pe loc
+            assertEquals(tables * hands, seeds.size());
+            assertEquals(tables * hands, pool.getTaken());
+        } finally {
+            pool.close();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.proiect.chatgames.service;
+
+import com.proiect.chatgames.model.poker.EquityResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EquityServiceTest {
+
+    private final EquityService equity = new EquityService();
+
+    @BeforeEach
+    void start() {
+        // Valorile implicite din @Value, cu buget de timp larg ca Monte Carlo sa nu fie taiat pe o masina incarcata
+        ReflectionTestUtils.setField(equity, "maxSamples", 200_000);
+        ReflectionTestUtils.setField(equity, "timeBudgetMs", 5_000);
+        ReflectionTestUtils.setField(equity, "exhaustiveLimit", 2_000_000L);
+        equity.init();
+    }
+
+    @AfterEach
+    void stop() {
+        equity.shutdown();
+    }
+
+    @Test
+    void riverNutsWinEveryOpponentHand() {
+        EquityResult result = equity.calculate(List.of("Ah", "Kh"), List.of("Qh", "Jh", "Th", "2c", "3d"), 1, 0);
+        assertTrue(result.exhaustive());
+        assertEquals(990, result.samples()); // C(45, 2)
+        assertEquals(1.0, result.win());
+        assertEquals(1.0, result.equity());
+    }
+
+    @Test
+    void turnAgainstASetNeedsOneOfTheTwoAces() {
+        // Doar Ac si As de pe river castiga; perechea pe board ii da full adversarului
+        EquityResult result = equity.calculateVersus(
+                List.of("Ah", "Ad"), List.of("Ks", "Kc"), List.of("Kd", "7c", "2h", "3s"));
+        assertTrue(result.exhaustive());
+        assertEquals(44, result.samples());
+        assertEquals(2 / 44.0, result.win(), 1e-12);
+        assertEquals(0.0, result.tie());
+    }
+
+    @Test
+    void acesAgainstKingsPreflop() {
+        EquityResult result = equity.calculateVersus(List.of("Ah", "Ad"), List.of("Ks", "Kc"), List.of());
+        assertTrue(result.exhaustive());
+        assertEquals(1_712_304, result.samples()); // C(48, 5)
+        assertEquals(0.82, result.equity(), 0.01);
+    }
+
+    @Test
+    void acesAgainstOneRandomHandWithMonteCarlo() {
+        EquityResult result = equity.calculate(List.of("Ah", "Ad"), List.of(), 1, 100_000);
+        assertFalse(result.exhaustive());
+        assertEquals(0.85, result.equity(), 0.01);
+        assertEquals(1.0, result.win() + result.tie() + result.loss(), 1e-9);
+    }
+
+    @Test
+    void rejectsDuplicateCardsAndBadBoards() {
+        assertThrows(IllegalArgumentException.class,
+                () -> equity.calculate(List.of("Ah", "Ah"), List.of(), 1, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> equity.calculate(List.of("Ah", "Kd"), List.of("2c", "Ah", "7s"), 1, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> equity.calculateVersus(List.of("Ah", "Kd"), List.of("Kd", "2c"), List.of()));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> equity.calculate(List.of("Ah", "Kd"), List.of("2c"), 1, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> equity.calculate(List.of("Ah", "Kd"), List.of("2c", "3c"), 1, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> equity.calculate(List.of("Ah", "Kd"), List.of("2c", "3c", "4c", "5c", "6c", "7c"), 1, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> equity.calculate(List.of("Ah"), List.of(), 1, 0));
+    }
+}
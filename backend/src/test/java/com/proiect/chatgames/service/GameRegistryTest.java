@@ -0,0 +1,166 @@
+package com.proiect.chatgames.service;
+
+import com.proiect.chatgames.actor.GameMailbox;
+import com.proiect.chatgames.model.HangmanGame;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameRegistryTest {
+
+    private final TurnClock clock = new TurnClock();
+    // In ordinea expirarii
+    private final Queue<String> expired = new ConcurrentLinkedQueue<>();
+    // Jocurile cu ciclul de viata controlat din afara (ca mesele de turneu)
+    private final Set<String> pinned = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    void start() {
+        clock.init();
+    }
+
+    @AfterEach
+    void stop() {
+        clock.shutdown();
+    }
+
+    private GameRegistry<HangmanGame> registry(long idleTtlMs, long finishedTtlMs, int maxGames) {
+        return new GameRegistry<>("hangman", clock, new GameRegistry.Lifecycle<>() {
+            @Override
+            public String id(HangmanGame game) {
+                return game.getGameId();
+            }
+
+            @Override
+            public GameMailbox mailbox(HangmanGame game) {
+                return game.getMailbox();
+            }
+
+            @Override
+            public GameRegistry.State state(HangmanGame game) {
+                if (pinned.contains(game.getGameId())) return GameRegistry.State.PINNED;
+                return game.getStatus().equals("won") ? GameRegistry.State.FINISHED : GameRegistry.State.ACTIVE;
+            }
+
+            @Override
+            public void expired(HangmanGame game) {
+                expired.add(game.getGameId());
+            }
+        }, idleTtlMs, finishedTtlMs, maxGames);
+    }
+
+    private static void await(BooleanSupplier condition, long timeoutMs) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "timeout");
+            Thread.sleep(20);
+        }
+    }
+
+    @Test
+    void idleGamesExpireUnlessTouched() throws InterruptedException {
+        GameRegistry<HangmanGame> games = registry(600, 60_000, 100_000);
+        int count = 20_000;
+        for (int i = 0; i < count; i++) games.add(new HangmanGame("g" + i, "host"));
+        pinned.add("g0");
+
+        // Jumatate din jocuri primesc o comanda inainte sa expire
+        Thread.sleep(300);
+        for (int i = 0; i < count; i += 2) {
+            HangmanGame game = games.get("g" + i);
+            game.getMailbox().execute(() -> games.touch(game));
+        }
+
+        // Cele atinse expira si ele, dar dupa toate celelalte; cel fixat ramane, cu un singur termen pe roata
+        await(() -> games.size() == 1, 5_000);
+        assertTrue(expired.stream().limit(count / 2).allMatch(id -> Integer.parseInt(id.substring(1)) % 2 == 1));
+        assertNotNull(games.get("g0"));
+        assertEquals(count - 1, games.expiredCount());
+        await(() -> clock.pending() == 1, 2_000);
+    }
+
+    @Test
+    void finishedGamesUseTheShortTtlAndRemovedGamesStopTheirTimer() throws InterruptedException {
+        GameRegistry<HangmanGame> games = registry(60_000, 200, 10);
+        HangmanGame finished = new HangmanGame("done", "host");
+        HangmanGame left = new HangmanGame("left", "host");
+        games.add(finished);
+        games.add(left);
+
+        finished.getMailbox().execute(() -> {
+            finished.setStatus("won");
+            games.touch(finished);
+        });
+        await(() -> !expired.isEmpty(), 2_000);
+        assertNull(games.get("done"));
+
+        // O masa scoasa direct (ultimul jucator a plecat) nu mai trece prin expirare
+        assertTrue(left.getMailbox().call(() -> games.remove(left)));
+        await(() -> clock.pending() == 0, 2_000);
+        assertEquals(List.of("done"), List.copyOf(expired));
+    }
+
+    @Test
+    void capacityAndDuplicateIdsAreRejected() {
+        GameRegistry<HangmanGame> games = registry(60_000, 60_000, 2);
+        games.add(new HangmanGame("a", "host"));
+        assertThrows(IllegalArgumentException.class, () -> games.add(new HangmanGame("a", "other")));
+        games.add(new HangmanGame("b", "host"));
+        assertThrows(IllegalArgumentException.class, () -> games.add(new HangmanGame("c", "host")));
+
+        // Jocurile refacute la pornire intra peste limita
+        games.restore(Map.of("c", new HangmanGame("c", "host")));
+        assertEquals(3, games.size());
+        assertEquals(Set.of("a", "b", "c"), games.asMap().keySet());
+    }
+
+    @Test
+    void concurrentCreatesNeverOverfillTheRegistry() throws InterruptedException {
+        GameRegistry<HangmanGame> games = registry(60_000, 60_000, 100);
+        int threads = 8;
+        CountDownLatch ready = new CountDownLatch(1);
+        AtomicInteger added = new AtomicInteger();
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            workers[t] = new Thread(() -> {
+                try {
+                    ready.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 50; i++) {
+                    try {
+                        games.add(new HangmanGame("t" + thread + "-" + i, "host"));
+                        added.incrementAndGet();
+                    } catch (IllegalArgumentException e) {
+                        // Registru plin
+                    }
+                }
+            });
+            workers[t].start();
+        }
+        ready.countDown();
+        for (Thread worker : workers) worker.join();
+
+        assertEquals(100, added.get());
+        assertEquals(100, games.size());
+        // Un loc eliberat poate fi ocupat din nou
+        HangmanGame any = games.values().iterator().next();
+        assertTrue(any.getMailbox().call(() -> games.remove(any)));
+        games.add(new HangmanGame("again", "host"));
+        assertThrows(IllegalArgumentException.class, () -> games.add(new HangmanGame("over", "host")));
+    }
+}
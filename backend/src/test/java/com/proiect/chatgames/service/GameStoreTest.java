@@ -0,0 +1,178 @@
+package com.proiect.chatgames.service;
+
+import com.proiect.chatgames.model.HangmanGame;
+import com.proiect.chatgames.model.poker.PokerGame;
+import com.proiect.chatgames.model.poker.PokerPlayer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameStoreTest {
+
+    private static final int TABLES = 10_000;
+
+    @TempDir
+    Path dir;
+
+    // Actiuni legale aleatoare; fiecare e scrisa in log ca in GameService (store == null: doar joaca)
+    private static void play(PokerGame game, GameStore store, Random random, int actions) {
+        for (int i = 0; i < actions && game.isInProgress(); i++) {
+            if (game.getRound().equals("showdown")) {
+                long seed = random.nextLong();
+                game.startNewHand(seed);
+                if (store != null) store.log(game, "poker_hand", game.getCreatorUsername(), null, seed);
+                continue;
+            }
+            String token = game.getCurrentPlayerToken();
+            PokerPlayer p = game.getPlayersByToken().get(token);
+            int highest = 0;
+            for (PokerPlayer other : game.getPlayers()) highest = Math.max(highest, other.getCurrentBet());
+            String action;
+            int amount = 0;
+            int roll = random.nextInt(6);
+            if (roll == 0) {
+                action = "fold";
+            } else if (roll == 1 && p.getStack() + p.getCurrentBet() >= highest + 40) {
+                action = "raise";
+                amount = highest + 40;
+            } else {
+                action = p.getCurrentBet() == highest ? "check" : "call";
+            }
+            game.handlePlayerAction(token, action, amount);
+            if (store != null) store.log(game, "poker_action", token, action, amount);
+            game.takeCompletedHand();
+            game.drainEvents();
+        }
+    }
+
+    private static void assertSameTable(PokerGame expected, PokerGame actual) {
+        assertEquals(expected.publishSnapshot(), actual.publishSnapshot());
+        assertEquals(expected.getStoreSeq(), actual.getStoreSeq());
+        assertEquals(expected.getDeck().remaining(), actual.getDeck().remaining());
+        assertEquals(expected.getSeatCount(), actual.getSeatCount());
+        assertArrayEquals(Arrays.copyOf(expected.getContributions(), expected.getSeatCount()),
+                Arrays.copyOf(actual.getContributions(), actual.getSeatCount()));
+        assertArrayEquals(Arrays.copyOf(expected.getHandActions(), expected.getActionCount()),
+                Arrays.copyOf(actual.getHandActions(), actual.getActionCount()));
+        for (PokerPlayer p : expected.getPlayers()) {
+            assertEquals(p.getHand(), actual.getPlayersByToken().get(p.getToken()).getHand());
+        }
+    }
+
+    @Test
+    void recoversTenThousandTablesFromSnapshotAndLogTail() throws Exception {
+        GameStore store = new GameStore();
+        store.start(dir);
+        Map<String, PokerGame> poker = new ConcurrentHashMap<>();
+        Map<String, HangmanGame> hangman = new ConcurrentHashMap<>();
+        Random random = new Random(11);
+
+        for (int i = 0; i < TABLES; i++) {
+            PokerGame game = new PokerGame("t" + i, "a" + i, null, 10, 20, 9);
+            game.addPlayer("a" + i, "a" + i, 1000);
+            poker.put(game.getGameId(), game);
+            store.created(game);
+            game.addPlayer("b" + i, "b" + i, 1000);
+            store.log(game, "poker_join", "b" + i, null, 1000);
+            long seed = random.nextLong();
+            game.startGame(seed);
+            store.log(game, "poker_start", "a" + i, null, seed);
+            play(game, store, random, 4);
+        }
+        for (int i = 0; i < 100; i++) {
+            HangmanGame game = new HangmanGame("h" + i, "host" + i);
+            hangman.put(game.getGameId(), game);
+            store.created(game);
+            game.join("guest" + i);
+            store.log(game, "hangman_join", "guest" + i, null, 0);
+            game.chooseWord("spanzuratoare");
+            store.log(game, "hangman_word", "host" + i, "spanzuratoare", 0);
+        }
+
+        store.snapshot(poker, hangman).join();
+
+        // Coada logului: comenzi dupa snapshot, o masa golita si una creata dupa snapshot
+        for (PokerGame game : poker.values()) play(game, store, random, 3);
+        for (HangmanGame game : hangman.values()) {
+            game.guessLetter("a");
+            store.log(game, "hangman_guess", game.getGuesserUsername(), "a", 0);
+            game.expireTurn();
+            store.log(game, "hangman_timeout", null, null, 0);
+        }
+        PokerGame emptied = poker.remove("t0");
+        for (String token : List.of("a0", "b0")) {
+            emptied.removePlayer(token);
+            store.log(emptied, "poker_leave", token, null, 0);
+        }
+        PokerGame late = new PokerGame("late", "x", "parola", 5, 10, 6);
+        late.addPlayer("x", "x", 500);
+        poker.put("late", late);
+        store.created(late);
+        late.addPlayer("y", "y", 500);
+        store.log(late, "poker_join", "y", null, 500);
+        store.close();
+
+        GameStore.Recovered recovered = GameStore.recover(dir, new AtomicLong());
+
+        assertEquals(poker.keySet(), recovered.pokerGames().keySet());
+        assertEquals(hangman.keySet(), recovered.hangmanGames().keySet());
+        for (PokerGame game : poker.values()) {
+            assertSameTable(game, recovered.pokerGames().get(game.getGameId()));
+        }
+        for (HangmanGame game : hangman.values()) {
+            HangmanGame copy = recovered.hangmanGames().get(game.getGameId());
+            assertEquals(game.getMaskedWord(), copy.getMaskedWord());
+            assertEquals(game.getGuessedLetters(), copy.getGuessedLetters());
+            assertEquals(game.getMistakes(), copy.getMistakes());
+            assertEquals(game.getStatus(), copy.getStatus());
+        }
+
+        // O masa refacuta continua exact ca originalul (acelasi pachet, aceleasi reguli)
+        for (int i = 1; i < 200; i++) {
+            PokerGame original = poker.get("t" + i);
+            PokerGame copy = recovered.pokerGames().get("t" + i);
+            play(original, null, new Random(i), 20);
+            play(copy, null, new Random(i), 20);
+            assertSameTable(original, copy);
+        }
+        assertTrue(recovered.elapsedMs() < 10_000, "refacerea a durat " + recovered.elapsedMs() + " ms");
+    }
+
+    @Test
+    void ignoresTornLogTailAndContinuesInANewSegment() throws Exception {
+        GameStore store = new GameStore();
+        store.start(dir);
+        PokerGame game = new PokerGame("t", "a", null, 10, 20, 9);
+        game.addPlayer("a", "a", 1000);
+        store.created(game);
+        game.addPlayer("b", "b", 1000);
+        store.log(game, "poker_join", "b", null, 1000);
+        game.addPlayer("c", "c", 1000);
+        store.log(game, "poker_join", "c", null, 1000);
+        store.close();
+
+        // Oprire brusca: ultima comanda e scrisa pe jumatate
+        Path segment = GameStore.files(dir, GameStore.LOG_PREFIX, GameStore.LOG_SUFFIX).get(0);
+        byte[] bytes = Files.readAllBytes(segment);
+        Files.write(segment, Arrays.copyOf(bytes, bytes.length - 3));
+
+        PokerGame recovered = GameStore.recover(dir, new AtomicLong()).pokerGames().get("t");
+        assertEquals(List.of("a", "b"), recovered.getPlayers().stream().map(PokerPlayer::getToken).toList());
+
+        // Dupa restart scriem intr-un segment nou, nu peste coada rupta
+        GameStore restarted = new GameStore();
+        restarted.start(dir);
+        restarted.close();
+        assertEquals(2, GameStore.files(dir, GameStore.LOG_PREFIX, GameStore.LOG_SUFFIX).size());
+    }
+}
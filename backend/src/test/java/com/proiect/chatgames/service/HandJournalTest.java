@@ -0,0 +1,128 @@
+package com.proiect.chatgames.service;
+
+import com.proiect.chatgames.model.poker.HandHistory;
+import com.proiect.chatgames.model.poker.PokerGame;
+import com.proiect.chatgames.model.poker.PokerPlayer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HandJournalTest {
+
+    @TempDir
+    Path dir;
+
+    // Joaca maini cu actiuni aleatoare dar legale (fara all-in); intoarce mainile terminate, in ordine
+    private static List<HandHistory> playHands(int count, long seed) {
+        Random random = new Random(seed);
+        List<HandHistory> hands = new ArrayList<>();
+        PokerGame game = null;
+        while (hands.size() < count) {
+            if (game == null || !game.isInProgress()) {
+                game = new PokerGame("t" + hands.size(), "p0", null, 10, 20, 9);
+                int players = 2 + random.nextInt(5);
+                for (int i = 0; i < players; i++) game.addPlayer("p" + i, "p" + i, 200 + random.nextInt(800));
+                game.startGame(random.nextLong());
+            } else {
+                game.startNewHand(random.nextLong());
+            }
+
+            while (game.isInProgress() && !game.getRound().equals("showdown")) {
+                String token = game.getCurrentPlayerToken();
+                PokerPlayer p = game.getPlayersByToken().get(token);
+                int highest = game.getPlayers().stream().mapToInt(PokerPlayer::getCurrentBet).max().orElse(0);
+                int max = p.getStack() + p.getCurrentBet() - 1;
+                int roll = random.nextInt(10);
+                if (roll == 1 && max >= highest + 20) {
+                    game.handlePlayerAction(token, "raise", highest + 20 + random.nextInt(max - highest - 20 + 1));
+                } else if (p.getCurrentBet() == highest) {
+                    game.handlePlayerAction(token, "check", 0);
+                } else if (roll == 0 || highest - p.getCurrentBet() >= p.getStack()) {
+                    game.handlePlayerAction(token, "fold", 0);
+                } else {
+                    game.handlePlayerAction(token, "call", 0);
+                }
+            }
+            HandHistory hand = game.takeCompletedHand();
+            if (hand != null) hands.add(hand);
+        }
+        return hands;
+    }
+
+    @Test
+    void writesReadsAndReplaysHands() throws Exception {
+        List<HandHistory> hands = playHands(5_000, 7);
+
+        HandJournal journal = new HandJournal();
+        journal.setSegmentBytes(64 * 1024);
+        journal.start(dir);
+        hands.forEach(journal::append);
+        journal.close();
+        assertEquals(0, journal.getDropped());
+        assertEquals(hands.size(), journal.getWritten());
+        assertTrue(HandJournalReader.segments(dir).size() > 1, "jurnalul trebuia impartit in segmente");
+
+        List<HandHistory> read = new ArrayList<>();
+        HandJournalReader.forEach(dir, read::add);
+        assertEquals(hands, read);
+
+        // Replay: acelasi seed + aceleasi actiuni dau acelasi board si aceleasi castiguri
+        for (HandHistory hand : read) {
+            HandHistory replayed = hand.replay().takeCompletedHand();
+            assertNotNull(replayed, hand.toString());
+            assertEquals(hand.board(), replayed.board());
+            assertEquals(hand.seats(), replayed.seats());
+            assertEquals(hand.actions(), replayed.actions());
+        }
+    }
+
+    @Test
+    void replaysAHandWhereAPlayerBeforeTheDealerLeft() {
+        PokerGame game = new PokerGame("t", "p0", null, 10, 20, 9);
+        for (int i = 0; i < 4; i++) game.addPlayer("p" + i, "p" + i, 1000);
+        game.startGame(1);
+        while (!game.getRound().equals("showdown")) game.handlePlayerAction(game.getCurrentPlayerToken(), "fold", 0);
+        game.takeCompletedHand();
+
+        // Mana a doua: dealer p1; p0 sta inaintea lui si pleaca in timpul mainii, apoi toti dau fold
+        game.startNewHand(2);
+        game.removePlayer("p0");
+        while (!game.getRound().equals("showdown")) game.handlePlayerAction(game.getCurrentPlayerToken(), "fold", 0);
+        HandHistory hand = game.takeCompletedHand();
+        assertEquals(1, hand.dealerIndex());
+
+        HandHistory replayed = hand.replay().takeCompletedHand();
+        assertNotNull(replayed);
+        assertEquals(hand.seats(), replayed.seats());
+        assertEquals(hand.actions(), replayed.actions());
+    }
+
+    @Test
+    void exportsJsonAndSurvivesTornTail() throws Exception {
+        HandJournal journal = new HandJournal();
+        journal.start(dir);
+        playHands(10, 3).forEach(journal::append);
+        journal.close();
+
+        // Simulam o oprire brusca: ultima inregistrare e scrisa pe jumatate
+        Path segment = HandJournalReader.segments(dir).get(0);
+        byte[] bytes = Files.readAllBytes(segment);
+        Files.write(segment, Arrays.copyOf(bytes, bytes.length - 5));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(9, HandJournalReader.exportJson(dir, out));
+        String json = out.toString(StandardCharsets.UTF_8);
+        assertTrue(json.startsWith("[{\"gameId\""), json);
+        assertTrue(json.contains("\"actions\""), json);
+    }
+}
@@ -0,0 +1,101 @@
+package com.proiect.chatgames.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HangmanDictionaryTest {
+
+    private static final String[] SYLLABLES = {
+            "ma", "re", "pi", "lo", "tu", "ca", "ne", "si", "dor", "ban", "cra", "ști", "ță", "în", "vâr",
+            "gre", "pla", "zu", "fo", "hi", "ja", "ke", "xa", "wy", "qu", "mă", "răs", "ți", "bul", "ent"
+    };
+
+    @TempDir
+    Path dir;
+
+    // Lista de cuvinte generata determinist din silabe (cu diacritice, cu duplicate), unul pe linie
+    static List<String> writeWordList(Path file, int count, long seed) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<String> words = new ArrayList<>(count);
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < count; i++) {
+                StringBuilder word = new StringBuilder();
+                int syllables = 2 + random.nextInt(4);
+                for (int s = 0; s < syllables; s++) word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+                words.add(word.toString());
+                out.write(word.toString());
+                out.write('\n');
+            }
+        }
+        return words;
+    }
+
+    @Test
+    void validatesAndPicksWordsFromTheMappedList() throws IOException {
+        Path file = dir.resolve("words.txt");
+        Files.writeString(file, "\uFEFFmasă\r\nȘcoală\nşcoală\nab\ndouă cuvinte\nstradă\nmasă\n" + "a".repeat(65) + "\nțară",
+                StandardCharsets.UTF_8);
+
+        HangmanDictionary dictionary = new HangmanDictionary();
+        dictionary.open(file);
+
+        // BOM, CRLF, Ş cu sedila si duplicatele nu produc intrari noi; liniile invalide sunt sarite
+        assertEquals(4, dictionary.size());
+        assertTrue(dictionary.contains("MASĂ"));
+        assertTrue(dictionary.contains("școală"));
+        assertTrue(dictionary.contains("ŞCOALĂ"));
+        assertTrue(dictionary.contains("țară"));
+        assertFalse(dictionary.contains("masa"));
+        assertFalse(dictionary.contains("ab"));
+        assertFalse(dictionary.contains("două cuvinte"));
+
+        Set<String> picked = new HashSet<>();
+        for (int i = 0; i < 200; i++) picked.add(dictionary.randomWord(4, 6, null));
+        assertEquals(Set.of("MASĂ", "ȘCOALĂ", "STRADĂ", "ȚARĂ"), picked);
+        assertTrue(Set.of("MASĂ", "ȚARĂ").contains(dictionary.randomWord(0, 4, null)));
+        assertNull(dictionary.randomWord(10, 20, null));
+    }
+
+    @Test
+    void indexIsCachedOnDiskAndRebuiltWhenTheListChanges() throws IOException {
+        Path file = dir.resolve("words.txt");
+        List<String> words = writeWordList(file, 500_000, 7);
+
+        HangmanDictionary first = new HangmanDictionary();
+        first.open(file);
+        assertTrue(first.isRebuilt());
+
+        HangmanDictionary second = new HangmanDictionary();
+        second.open(file);
+        assertFalse(second.isRebuilt());
+        assertEquals(new HashSet<>(words).size(), second.size());
+
+        SplittableRandom random = new SplittableRandom(1);
+        for (int i = 0; i < 100_000; i++) assertTrue(second.contains(words.get(random.nextInt(words.size()))));
+        for (HangmanDictionary.Difficulty level : HangmanDictionary.Difficulty.values()) {
+            String word = second.randomWord(6, 9, level);
+            assertTrue(word.length() >= 6 && word.length() <= 9, word);
+            assertTrue(second.contains(word));
+        }
+
+        // Lista schimbata: indexul vechi nu mai e folosit
+        Files.writeString(file, "cuvant\n", StandardCharsets.UTF_8);
+        HangmanDictionary third = new HangmanDictionary();
+        third.open(file);
+        assertTrue(third.isRebuilt());
+        assertEquals(1, third.size());
+    }
+}
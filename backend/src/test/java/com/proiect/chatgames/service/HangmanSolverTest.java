@@ -0,0 +1,100 @@
+package com.proiect.chatgames.service;
+
+import com.proiect.chatgames.model.HangmanGame;
+import com.proiect.chatgames.model.HangmanHint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HangmanSolverTest {
+
+    @TempDir
+    Path dir;
+
+    private final HangmanSolver solver = new HangmanSolver();
+
+    @AfterEach
+    void shutdown() {
+        solver.shutdown();
+    }
+
+    private HangmanDictionary open(Path file) throws IOException {
+        HangmanDictionary dictionary = new HangmanDictionary();
+        dictionary.open(file);
+        solver.setDictionary(dictionary);
+        solver.init();
+        return dictionary;
+    }
+
+    @Test
+    void hintsNarrowToTheWordsThatMatchTheMask() throws IOException {
+        Path file = dir.resolve("words.txt");
+        Files.writeString(file, "masă\ncasă\ncasa\nrasă\nmare\nțară\nlună\n", StandardCharsets.UTF_8);
+        open(file);
+
+        // Patru litere, nimic ghicit: A apare in 5 din 7 cuvinte
+        HangmanHint hint = solver.hint("_ _ _ _", List.of());
+        assertEquals("A", hint.letter());
+        assertEquals(7, hint.candidates());
+
+        // A descoperit doar pe pozitia 2, fara E si fara M: CASA nu mai poate fi (ar avea A si la final),
+        // raman CASĂ, RASĂ, ȚARĂ; Ă e sigur in cuvant
+        hint = solver.hint("_ A _ _", List.of("A", "E", "M"));
+        assertEquals(3, hint.candidates());
+        assertEquals("Ă", hint.letter());
+        assertEquals(1.0, hint.probability(), 1e-9);
+
+        // Raman CASĂ si RASĂ: o sansa din doua
+        hint = solver.hint("_ A S Ă", List.of("A", "E", "M", "Ă", "S"));
+        assertEquals(2, hint.candidates());
+        assertEquals("C", hint.letter());
+        assertEquals(0.5, hint.probability(), 1e-9);
+
+        // Cuvant necunoscut dictionarului: ordinea frecventei literelor
+        hint = solver.hint("_ _ _ _ _ _ _ _ _ _", List.of("A"));
+        assertEquals(0, hint.candidates());
+        assertEquals("E", hint.letter());
+    }
+
+    @Test
+    void botSolvesMostWordsFromALargeDictionary() throws IOException {
+        Path file = dir.resolve("words.txt");
+        List<String> words = HangmanDictionaryTest.writeWordList(file, 1_500_000, 3);
+        HangmanDictionary dictionary = open(file);
+        assertTrue(dictionary.size() >= 500_000, "doar " + dictionary.size() + " cuvinte");
+
+        SplittableRandom random = new SplittableRandom(5);
+        int games = 500;
+        int won = 0;
+        for (int i = 0; i < games; i++) {
+            if (play(words.get(random.nextInt(words.size())))) won++;
+        }
+        // Botul nu ghiceste orbeste: majoritatea cuvintelor din dictionar ies inainte de sase greseli
+        assertTrue(won > games / 2, won + " castigate");
+    }
+
+    private HangmanGame game(String word) {
+        HangmanGame game = new HangmanGame("h", "host");
+        game.join("[bot]");
+        game.chooseWord(word);
+        return game;
+    }
+
+    // Botul joaca tot cuvantul; true daca l-a ghicit
+    private boolean play(String word) {
+        HangmanGame game = game(word);
+        while (game.getStatus().equals("in_progress")) {
+            game.guessLetter(solver.hint(game.getMaskedWord(), game.getGuessedLetters()).letter());
+        }
+        return game.getStatus().equals("won");
+    }
+}
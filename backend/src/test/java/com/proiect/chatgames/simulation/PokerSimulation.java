@@ -0,0 +1,208 @@
+package com.proiect.chatgames.simulation;
+
+import com.proiect.chatgames.model.poker.HandHistory;
+import com.proiect.chatgames.model.poker.PlayerStatus;
+import com.proiect.chatgames.model.poker.PokerGame;
+import com.proiect.chatgames.model.poker.PokerPlayer;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Simulare fara Spring si fara WebSocket: agenti aleatori joaca maini direct prin PokerGame,
+ * cate o masa pe fiecare thread. Verifica la fiecare mana ca fisele se conserva si raporteaza
+ * maini/secunda, rata de alocare si distributia categoriilor de maini la showdown.
+ *
+ * Rulare: java ... com.proiect.chatgames.simulation.PokerSimulation [maini] [thread-uri] [seed]
+ */
+public class PokerSimulation {
+
+    // O mana care nu se termina in atatea actiuni e considerata blocata
+    private static final int MAX_ACTIONS_PER_HAND = 1000;
+
+    private static final String[] CATEGORIES = {
+            "High Card", "One Pair", "Two Pair", "Three of a Kind", "Straight",
+            "Flush", "Full House", "Four of a Kind", "Straight Flush"
+    };
+
+    public static final class Stats {
+        public long hands;
+        public long actions;
+        public long showdowns;       // maini ajunse la showdown cu cel putin doi jucatori
+        public long splitPots;       // maini cu mai multi castigatori (egalitate sau pot-uri laterale)
+        public long allInHands;      // maini in care cel putin un jucator a fost all-in
+        public long chipErrors;      // fise create sau pierdute (trebuie sa fie 0)
+        public long payoutErrors;    // castiguri din istoric diferite de ce s-a pus in pot (trebuie sa fie 0)
+        public long stuckHands;      // maini fara jucator la rand inainte de showdown (trebuie sa fie 0)
+        public long allocatedBytes;
+        public final long[] categories = new long[CATEGORIES.length];
+
+        void add(Stats o) {
+            hands += o.hands; actions += o.actions; showdowns += o.showdowns; splitPots += o.splitPots;
+            allInHands += o.allInHands; chipErrors += o.chipErrors; payoutErrors += o.payoutErrors;
+            stuckHands += o.stuckHands; allocatedBytes += o.allocatedBytes;
+            for (int i = 0; i < categories.length; i++) categories[i] += o.categories[i];
+        }
+    }
+
+    public static Stats run(long hands, int threads, long seed) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            SplittableRandom seeds = new SplittableRandom(seed);
+            List<Future<Stats>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long share = hands / threads + (t < hands % threads ? 1 : 0);
+                SplittableRandom random = seeds.split();
+                futures.add(pool.submit(() -> play(share, random)));
+            }
+            Stats total = new Stats();
+            for (Future<Stats> f : futures) total.add(f.get());
+            return total;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static Stats play(long hands, SplittableRandom random) {
+        Stats stats = new Stats();
+        long allocatedBefore = allocatedBytes();
+        PokerGame game = null;
+
+        while (stats.hands < hands) {
+            long chipsIn;
+            if (game == null || !game.isInProgress()) {
+                game = newTable(random);
+                chipsIn = totalChips(game);
+                game.startGame(random.nextLong());
+            } else {
+                chipsIn = totalChips(game);
+                game.startNewHand(random.nextLong());
+                // Au ramas prea putini jucatori cu fise: masa noua
+                if (!game.isInProgress()) continue;
+            }
+            boolean allIn = false;
+
+            int actions = 0;
+            while (!game.getRound().equals("showdown")) {
+                String token = game.getCurrentPlayerToken();
+                if (token == null || actions++ > MAX_ACTIONS_PER_HAND) {
+                    stats.stuckHands++;
+                    break;
+                }
+                act(game, game.getPlayersByToken().get(token), random);
+                for (PokerPlayer p : game.getPlayers()) allIn |= p.getStatus() == PlayerStatus.ALL_IN;
+            }
+            stats.actions += actions;
+            stats.hands++;
+            if (allIn) stats.allInHands++;
+            if (totalChips(game) != chipsIn) stats.chipErrors++;
+
+            HandHistory hand = game.takeCompletedHand();
+            game.drainEvents();
+            if (hand != null) record(stats, game, hand);
+        }
+
+        stats.allocatedBytes = allocatedBytes() - allocatedBefore;
+        return stats;
+    }
+
+    private static PokerGame newTable(SplittableRandom random) {
+        int seats = random.nextInt(2, 10);
+        PokerGame game = new PokerGame("sim", "p0", null, 10, 20, 9);
+        for (int i = 0; i < seats; i++) game.addPlayer("p" + i, "p" + i, random.nextInt(100, 2001));
+        return game;
+    }
+
+    // Agent aleator: fold rar (uneori chiar si cand ar putea da check), raise uneori (cateodata all-in), altfel check/call
+    private static void act(PokerGame game, PokerPlayer p, SplittableRandom random) {
+        int highest = 0;
+        for (PokerPlayer o : game.getPlayers()) highest = Math.max(highest, o.getCurrentBet());
+        int toCall = highest - p.getCurrentBet();
+        int maxTotal = p.getStack() + p.getCurrentBet();
+        int minRaise = highest + game.getBigBlind();
+        int roll = random.nextInt(100);
+
+        if (roll < (toCall > 0 ? 15 : 3)) {
+            game.handlePlayerAction(p.getToken(), "fold", 0);
+        } else if (roll < 30 && maxTotal > highest) {
+            // Sub raise-ul minim se poate doar all-in, cu tot stack-ul
+            int total = roll < 18 || maxTotal < minRaise ? maxTotal : random.nextInt(minRaise, maxTotal + 1);
+            game.handlePlayerAction(p.getToken(), "raise", total);
+        } else if (toCall == 0) {
+            game.handlePlayerAction(p.getToken(), "check", 0);
+        } else {
+            game.handlePlayerAction(p.getToken(), "call", 0);
+        }
+    }
+
+    private static void record(Stats stats, PokerGame game, HandHistory hand) {
+        long staked = 0;
+        long paid = 0;
+        int winners = 0;
+        for (HandHistory.Seat s : hand.seats()) {
+            paid += s.payout();
+            if (s.payout() > 0) winners++;
+        }
+        for (HandHistory.Seat s : hand.seats()) {
+            PokerPlayer p = game.getPlayersByToken().get(s.token());
+            staked += s.stack() - (p.getStack() - s.payout());
+        }
+        if (staked != paid) stats.payoutErrors++;
+        if (winners > 1) stats.splitPots++;
+
+        int shown = 0;
+        for (PokerPlayer p : game.getPlayers()) {
+            if (p.getStatus() != PlayerStatus.FOLDED && p.getHand().size() == 2) shown++;
+        }
+        if (shown < 2) return;
+        stats.showdowns++;
+        for (PokerPlayer p : game.getPlayers()) {
+            if (p.getStatus() != PlayerStatus.FOLDED && p.getEvaluatedHand() != null) stats.categories[p.getEvaluatedHand().getRank()]++;
+        }
+    }
+
+    // Fisele jucatorilor intre maini (pot-ul mainii anterioare a fost deja impartit)
+    private static long totalChips(PokerGame game) {
+        long chips = 0;
+        for (PokerPlayer p : game.getPlayers()) chips += p.getStack() + p.getCurrentBet();
+        return chips;
+    }
+
+    private static long allocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean sun && sun.isThreadAllocatedMemorySupported()) {
+            return sun.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    public static void main(String[] args) throws Exception {
+        long hands = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+
+        long start = System.nanoTime();
+        Stats s = run(hands, threads, seed);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("Seed %d, %d thread-uri%n", seed, threads);
+        System.out.printf("Maini: %,d in %.2f s (%,.0f maini/s), actiuni: %,d%n", s.hands, seconds, s.hands / seconds, s.actions);
+        System.out.printf("Alocari: %,.1f MB (%,.1f MB/s, %,d octeti/mana)%n",
+                s.allocatedBytes / 1e6, s.allocatedBytes / 1e6 / seconds, s.hands > 0 ? s.allocatedBytes / s.hands : 0);
+        System.out.printf("Conservarea fiselor: %d erori, castiguri gresite: %d, maini blocate: %d%n",
+                s.chipErrors, s.payoutErrors, s.stuckHands);
+        System.out.printf("All-in: %,d maini, pot impartit: %,d maini, showdown: %,d maini%n", s.allInHands, s.splitPots, s.showdowns);
+        long shown = 0;
+        for (long c : s.categories) shown += c;
+        for (int i = CATEGORIES.length - 1; i >= 0; i--) {
+            System.out.printf("  %-16s %12d  %6.3f%%%n", CATEGORIES[i], s.categories[i], shown > 0 ? 100.0 * s.categories[i] / shown : 0);
+        }
+        if (s.chipErrors + s.payoutErrors + s.stuckHands > 0) System.exit(1);
+    }
+}
@@ -0,0 +1,22 @@
+package com.proiect.chatgames.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PokerSimulationTest {
+
+    @Test
+    void randomAgentsConserveChips() throws Exception {
+        PokerSimulation.Stats stats = PokerSimulation.run(50_000, 4, 42);
+
+        assertEquals(50_000, stats.hands);
+        assertEquals(0, stats.chipErrors);
+        assertEquals(0, stats.payoutErrors);
+        assertEquals(0, stats.stuckHands);
+        // Agentii ajung des in situatiile care trebuie verificate
+        assertTrue(stats.allInHands > 1_000, "all-in: " + stats.allInHands);
+        assertTrue(stats.splitPots > 100, "pot impartit: " + stats.splitPots);
+        assertTrue(stats.showdowns > 1_000, "showdown: " + stats.showdowns);
+    }
+}
@@ -0,0 +1,176 @@
+package com.proiect.chatgames.simulation;
+
+import com.proiect.chatgames.model.poker.BlindLevel;
+import com.proiect.chatgames.model.poker.PokerGame;
+import com.proiect.chatgames.model.poker.PokerPlayer;
+import com.proiect.chatgames.model.poker.TournamentConfig;
+import com.proiect.chatgames.model.poker.TournamentSnapshot;
+import com.proiect.chatgames.service.TournamentDirector;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Turneu simulat fara Spring si fara WebSocket: TournamentDirector conduce mese PokerGame reale,
+ * fiecare in cutia ei postala, iar agenti aleatori (mai prudenti decat cei din PokerSimulation,
+ * ca turneul sa treaca prin mai multe niveluri) joaca fiecare mana pana la capat.
+ * Ceasul e virtual: o mana avanseaza timpul cu un minut impartit la numarul de mese deschise,
+ * deci nivelurile cresc ca intr-un turneu real, oricat de repede ar rula masina.
+ *
+ * Rulare: java ... com.proiect.chatgames.simulation.TournamentSimulation [jucatori] [locuri platite]
+ */
+public class TournamentSimulation {
+
+    private static final int MAX_ACTIONS_PER_HAND = 1000;
+
+    public static final class Stats {
+        public final AtomicLong hands = new AtomicLong();
+        public final AtomicLong actions = new AtomicLong();
+        public final AtomicLong stuckHands = new AtomicLong();      // maini care nu s-au terminat (trebuie sa fie 0)
+        public final AtomicLong overfullTables = new AtomicLong();  // maini cu mai multi jucatori decat locuri (0)
+        public final AtomicLong chipsSeated = new AtomicLong();     // fise asezate - fise ridicate (0 la final)
+        public final AtomicLong biggestStack = new AtomicLong();    // castigatorul pleaca cu toate fisele
+        public List<String> results;
+        public TournamentSnapshot tournament;
+    }
+
+    private static final class SimulatedHost implements TournamentDirector.TableHost {
+        final Stats stats;
+        final int tableSize;
+        final AtomicLong clock = new AtomicLong();
+        final AtomicInteger openTables = new AtomicInteger();
+        // Cate asezari refuza masa (ca un GameService care arunca IllegalArgumentException), cate una pe rand
+        final AtomicInteger refusals = new AtomicInteger();
+        TournamentDirector director;
+
+        SimulatedHost(Stats stats, int tableSize) {
+            this.stats = stats;
+            this.tableSize = tableSize;
+        }
+
+        @Override
+        public PokerGame openTable(String tournamentId, String tableId, int smallBlind, int bigBlind, int maxPlayers,
+                                   String player, int stack) {
+            PokerGame game = new PokerGame(tableId, player, null, smallBlind, bigBlind, maxPlayers);
+            game.setTournamentId(tournamentId);
+            // Nu exista clienti: evenimentele doar ar ocupa memorie
+            game.setRecordEvents(false);
+            game.addPlayer(player, player, stack);
+            stats.chipsSeated.addAndGet(stack);
+            openTables.incrementAndGet();
+            return game;
+        }
+
+        @Override
+        public void seatPlayer(PokerGame table, String player, int stack) {
+            if (refusals.getAndUpdate(n -> Math.max(0, n - 1)) > 0) throw new IllegalArgumentException("Masa este plina.");
+            table.addPlayer(player, player, stack);
+            stats.chipsSeated.addAndGet(stack);
+        }
+
+        @Override
+        public void unseatPlayer(PokerGame table, String player) {
+            PokerPlayer p = table.getPlayersByToken().get(player);
+            if (p == null) return;
+            stats.chipsSeated.addAndGet(-p.getStack());
+            stats.biggestStack.accumulateAndGet(p.getStack(), Math::max);
+            table.removePlayer(player);
+            if (table.getPlayers().isEmpty()) openTables.decrementAndGet();
+        }
+
+        // Ca in GameService: porneste mana, iar cand se termina, directorul primeste rezultatul
+        @Override
+        public void startHand(PokerGame table, int smallBlind, int bigBlind) {
+            if (table.getPlayers().size() > tableSize) stats.overfullTables.incrementAndGet();
+            table.setSmallBlind(smallBlind);
+            table.setBigBlind(bigBlind);
+            long seed = ThreadLocalRandom.current().nextLong();
+            table.startNewHand(seed);
+            // Prea putini jucatori asezati: nu porneste nicio mana (directorul afla din dispatch)
+            if (!table.isInProgress()) return;
+            SplittableRandom random = new SplittableRandom(seed);
+
+            int actions = 0;
+            while (table.isInProgress() && !table.getRound().equals("showdown")) {
+                String token = table.getCurrentPlayerToken();
+                if (token == null || actions++ > MAX_ACTIONS_PER_HAND) break;
+                act(table, table.getPlayersByToken().get(token), random);
+            }
+            stats.actions.addAndGet(actions);
+            stats.hands.incrementAndGet();
+            clock.addAndGet(60_000 / Math.max(1, openTables.get()));
+
+            if (!table.getRound().equals("showdown")) {
+                stats.stuckHands.incrementAndGet();
+                return;
+            }
+            director.handFinished(table, table.takeCompletedHand());
+        }
+    }
+
+    // Agent de turneu: fold des cand trebuie sa plateasca, raise mic uneori, all-in rar
+    private static void act(PokerGame game, PokerPlayer p, SplittableRandom random) {
+        int highest = 0;
+        for (PokerPlayer o : game.getPlayers()) highest = Math.max(highest, o.getCurrentBet());
+        int toCall = highest - p.getCurrentBet();
+        int maxTotal = p.getStack() + p.getCurrentBet();
+        int raiseTo = highest + 2 * game.getBigBlind();
+        int roll = random.nextInt(100);
+
+        if (toCall > 0 && roll < 35) {
+            game.handlePlayerAction(p.getToken(), "fold", 0);
+        } else if (roll >= 97 && maxTotal > highest) {
+            game.handlePlayerAction(p.getToken(), maxTotal >= highest + game.getBigBlind() ? "raise" : "call", maxTotal);
+        } else if (roll >= 85 && maxTotal >= raiseTo) {
+            game.handlePlayerAction(p.getToken(), "raise", raiseTo);
+        } else {
+            game.handlePlayerAction(p.getToken(), toCall == 0 ? "check" : "call", 0);
+        }
+    }
+
+    public static Stats run(int entrants, int paidPlaces, long timeoutSeconds) throws Exception {
+        return run(entrants, paidPlaces, 0, timeoutSeconds);
+    }
+
+    public static Stats run(int entrants, int paidPlaces, int refusedSeats, long timeoutSeconds) throws Exception {
+        Stats stats = new Stats();
+        SimulatedHost host = new SimulatedHost(stats, 9);
+        host.refusals.set(refusedSeats);
+        TournamentConfig config = new TournamentConfig("sim", 1500, 9, paidPlaces,
+                BlindLevel.schedule(20, 10 * 60_000L, 40));
+        TournamentDirector director = new TournamentDirector(config, host, host.clock::get);
+        host.director = director;
+
+        for (int i = 0; i < entrants; i++) director.register("p" + i);
+        director.start();
+        stats.results = director.getResult().get(timeoutSeconds, TimeUnit.SECONDS);
+        // Clasamentul vine inainte ca mesele sa-si ridice ultimii jucatori (comenzile sunt inca in cutiile lor)
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        while (host.openTables.get() > 0 && System.nanoTime() < deadline) Thread.sleep(1);
+        stats.tournament = director.getSnapshot();
+        return stats;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int entrants = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int paid = args.length > 1 ? Integer.parseInt(args[1]) : entrants / 10;
+
+        long start = System.nanoTime();
+        Stats s = run(entrants, paid, 3600);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        TournamentSnapshot t = s.tournament;
+        System.out.printf("%,d jucatori, %,d locuri platite: %.2f s%n", entrants, paid, seconds);
+        System.out.printf("Maini: %,d (%,.0f maini/s), actiuni: %,d, nivel final: %d (%d/%d)%n",
+                s.hands.get(), s.hands.get() / seconds, s.actions.get(), t.level(), t.smallBlind(), t.bigBlind());
+        System.out.printf("Jucatori mutati: %,d, mese sparte: %,d, runde mana cu mana: %,d%n",
+                t.moves(), t.tablesBroken(), t.handForHandRounds());
+        System.out.printf("Castigator: %s, fise ramase la mese: %d, maini blocate: %d, mese supraaglomerate: %d%n",
+                s.results.get(0), s.chipsSeated.get(), s.stuckHands.get(), s.overfullTables.get());
+        if (s.stuckHands.get() + s.overfullTables.get() + s.chipsSeated.get() > 0) System.exit(1);
+    }
+}
@@ -0,0 +1,53 @@
+package com.proiect.chatgames.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TournamentSimulationTest {
+
+    @Test
+    void tenThousandEntrantsFinishWithConsistentStandings() throws Exception {
+        TournamentSimulation.Stats stats = TournamentSimulation.run(10_000, 1_000, 600);
+
+        assertEquals(10_000, stats.results.size());
+        assertEquals(10_000, new HashSet<>(stats.results).size());
+        assertEquals("finished", stats.tournament.status());
+        assertEquals(0, stats.stuckHands.get());
+        assertEquals(0, stats.overfullTables.get());
+        // Fisele se conserva prin toate mutarile: castigatorul le ia pe toate, la mese nu mai ramane nimic
+        assertEquals(0, stats.chipsSeated.get());
+        assertEquals(10_000L * 1500, stats.biggestStack.get());
+        // 1112 mese la start, una singura la final; pe bula s-a jucat mana cu mana
+        assertEquals(1111, stats.tournament.tablesBroken());
+        assertTrue(stats.tournament.moves() > 0);
+        assertTrue(stats.tournament.handForHandRounds() > 0);
+    }
+
+    @Test
+    void sitAndGoNeedsNoBalancing() throws Exception {
+        TournamentSimulation.Stats stats = TournamentSimulation.run(6, 2, 60);
+
+        assertEquals(6, stats.results.size());
+        assertEquals(0, stats.tournament.tablesBroken());
+        assertEquals(0, stats.tournament.moves());
+        assertEquals(0, stats.chipsSeated.get());
+        assertEquals(6L * 1500, stats.biggestStack.get());
+    }
+
+    @Test
+    void refusedSeatsAreRetriedAndTheHandStillStarts() throws Exception {
+        // Primele 300 de asezari sunt refuzate: zeci de mese raman la inceput doar cu cel care le-a deschis
+        TournamentSimulation.Stats stats = TournamentSimulation.run(1_000, 100, 300, 120);
+
+        assertEquals(1_000, stats.results.size());
+        assertEquals(1_000, new HashSet<>(stats.results).size());
+        assertEquals("finished", stats.tournament.status());
+        assertEquals(0, stats.stuckHands.get());
+        assertEquals(0, stats.overfullTables.get());
+        assertEquals(0, stats.chipsSeated.get());
+        assertEquals(1_000L * 1500, stats.biggestStack.get());
+    }
+}
@@ -14,6 +14,31 @@ import PokerTable from "./components/poker/PokerTable";
 import HangmanLobby from "./components/hangman/HangmanLobby";
 import HangmanGame from "./components/hangman/HangmanGame";
 
+// Aplica o diferenta ("poker_event") peste ultima stare a mesei
+const applyPokerEvent = (state, { gameId, seq, event, data }) => {
+    if (!state || state.gameId !== gameId) return state;
+    const updatePlayer = (token, changes) =>
+        state.players.map(p => p.token === token ? { ...p, ...changes } : p);
+
+    switch (event) {
+        case 'bet':
+            return {
+                ...state, seq, pot: data.pot, currentPlayerToken: data.next,
+                players: updatePlayer(data.token, { stack: data.stack, currentBet: data.currentBet, status: data.status })
+            };
+        case 'fold':
+            return { ...state, seq, currentPlayerToken: data.next, players: updatePlayer(data.token, { status: 'folded' }) };
+        case 'pot':
+            return { ...state, seq, pot: data.pot, players: state.players.map(p => ({ ...p, currentBet: 0 })) };
+        case 'street':
+            return { ...state, seq, round: data.round, board: [...state.board, ...data.cards], currentPlayerToken: data.next };
+        case 'showdown':
+            return { ...state, seq, round: 'showdown', pot: data.pot, players: data.players, currentPlayerToken: null };
+        default:
+            return { ...state, seq };
+    }
+};
+
 const PrivateChatWrapper = ({ messages, users, username, sendMessage, connectionStatus, onChatPartnerChange }) => {
     const { chatPartner } = useParams();
 
@@ -99,16 +124,24 @@ function App() {
     const [pokerGames, setPokerGames] = useState([]);
     const [currentPokerGame, setCurrentPokerGame] = useState(null);
     const [myPokerHand, setMyPokerHand] = useState([]);
+    // Termenul jucatorului curent (timestamp local)
+    const [pokerTurn, setPokerTurn] = useState(null);
 
     // State-uri pentru Hangman
     const [hangmanGames, setHangmanGames] = useState([]);
     const [currentHangmanGame, setCurrentHangmanGame] = useState(null);
+    // Ultimul indiciu primit pentru jocul curent
+    const [hangmanHint, setHangmanHint] = useState(null);
 
     // Persistenta navigare
     const [lastPrivateChatPartner, setLastPrivateChatPartner] = useState(() => localStorage.getItem('lastPrivateChatPartner'));
     const [lastRoomChat, setLastRoomChat] = useState(() => localStorage.getItem('lastRoomChat'));
 
     const websocketRef = useRef(null);
+    // Versiunea listei de prezenta primita de la server (snapshot + diferente)
+    const presenceVersionRef = useRef(0);
+    // Ultimul eveniment de poker aplicat (seq); un gol inseamna ca cerem din nou snapshot-ul
+    const pokerSeqRef = useRef(-1);
     const navigate = useNavigate();
 
     // 2. Conectare WebSocket cand userul se logheaza
@@ -165,8 +198,19 @@ function App() {
                         setMessages((prev) => [...prev, {type:'private_message', sender: data.sender, to: data.to, text: data.text}]);
                         break;
                     case "usernames":
+                        presenceVersionRef.current = data.version ?? 0;
                         setUsers(data.content);
                         break;
+                    case "presence_delta":
+                        // Diferentele mai vechi decat snapshot-ul primit sunt deja incluse in el
+                        if (data.version <= presenceVersionRef.current) break;
+                        presenceVersionRef.current = data.version;
+                        setUsers(prev => {
+                            const next = prev.filter(u => !data.left.includes(u));
+                            data.joined.forEach(u => { if (!next.includes(u)) next.push(u); });
+                            return next;
+                        });
+                        break;
                     case 'available_rooms':
                         setAvailableRooms(data.content);
                         break;
@@ -186,23 +230,57 @@ function App() {
                         break;
                     case 'hangman_game_state':
                         setCurrentHangmanGame(data.gameState);
+                        // Indiciul era pentru starea anterioara
+                        setHangmanHint(null);
                         if (window.location.pathname !== `/home/hangman/game/${data.gameState.gameId}`) {
                             navigate(`/home/hangman/game/${data.gameState.gameId}`);
                         }
                         break;
+                    case 'hangman_hint':
+                        setHangmanHint(data);
+                        break;
 
                     // --- POKER (NOU) ---
                     case 'poker_lobby_update':
                         setPokerGames(data.games);
                         break;
                     case 'poker_game_state':
+                        pokerSeqRef.current = data.gameState.seq;
                         setCurrentPokerGame(data.gameState);
                         break;
+                    case 'poker_event':
+                        // Evenimente deja incluse in snapshot
+                        if (data.seq <= pokerSeqRef.current) break;
+                        if (data.seq !== pokerSeqRef.current + 1) {
+                            // Am pierdut un eveniment: ignoram restul pana la snapshot-ul nou
+                            pokerSeqRef.current = Number.MAX_SAFE_INTEGER;
+                            websocketRef.current.send(JSON.stringify({ type: "poker_resync", gameId: data.gameId }));
+                            break;
+                        }
+                        pokerSeqRef.current = data.seq;
+                        setCurrentPokerGame(prev => applyPokerEvent(prev, data));
+                        break;
+                    case 'poker_turn':
+                        // Timpul ramas vine relativ, ca sa nu depindem de ceasul clientului
+                        setPokerTurn({ gameId: data.gameId, token: data.token, deadline: Date.now() + data.remainingMs });
+                        break;
                     case 'poker_hand':
                         // Primim cartile noastre private
                         setMyPokerHand(data.hand);
                         break;
 
+                    // Jocul a stat nefolosit prea mult (sau s-a terminat de mult) si a fost inchis de server
+                    case 'game_expired':
+                        if (data.game === 'poker') {
+                            setCurrentPokerGame(prev => (prev && prev.gameId === data.gameId ? null : prev));
+                            setMyPokerHand([]);
+                            if (window.location.pathname === `/home/poker/table/${data.gameId}`) navigate('/home/poker');
+                        } else {
+                            setCurrentHangmanGame(prev => (prev && prev.gameId === data.gameId ? null : prev));
+                            if (window.location.pathname === `/home/hangman/game/${data.gameId}`) navigate('/home/hangman');
+                        }
+                        break;
+
                     case 'error':
                         alert(`Eroare server: ${data.message}`);
                         break;
@@ -262,12 +340,51 @@ function App() {
 
     const createHangmanGame = async (gameId) => {
         try {
-            await fetch('/api/hangman/create', {
+            const res = await fetch('/api/hangman/create', {
                 method: 'POST',
                 headers: { 'Content-Type': 'application/json' },
                 body: JSON.stringify({ gameId, username })
             });
-            navigate(`/home/hangman/game/${gameId}`);
+            const data = await res.json();
+            if (data.success) {
+                navigate(`/home/hangman/game/${gameId}`);
+            } else {
+                alert("Eroare creare joc: " + data.message);
+            }
+        } catch (e) { console.error(e); }
+    };
+
+    // Joc solo: serverul alege cuvantul din dictionar
+    const createSoloHangmanGame = async (gameId, difficulty) => {
+        try {
+            const res = await fetch('/api/hangman/solo', {
+                method: 'POST',
+                headers: { 'Content-Type': 'application/json' },
+                body: JSON.stringify({ gameId, username, difficulty })
+            });
+            const data = await res.json();
+            if (data.success) {
+                navigate(`/home/hangman/game/${gameId}`);
+            } else {
+                alert("Eroare joc solo: " + data.message);
+            }
+        } catch (e) { console.error(e); }
+    };
+
+    // Joc cu bot: noi alegem cuvantul, botul ghiceste
+    const createBotHangmanGame = async (gameId) => {
+        try {
+            const res = await fetch('/api/hangman/bot', {
+                method: 'POST',
+                headers: { 'Content-Type': 'application/json' },
+                body: JSON.stringify({ gameId, username })
+            });
+            const data = await res.json();
+            if (data.success) {
+                navigate(`/home/hangman/game/${gameId}`);
+            } else {
+                alert("Eroare joc cu bot: " + data.message);
+            }
         } catch (e) { console.error(e); }
     };
 
@@ -282,6 +399,11 @@ function App() {
         } catch (e) { console.error(e); }
     };
 
+    // Spectator: primim starea publica a jocului fara sa intram in el
+    const spectateHangmanGame = (gameId) => {
+        sendMessage({ type: 'hangman_spectate', gameId });
+    };
+
     const setHangmanWord = (word) => {
         if(currentHangmanGame){
             sendMessage({ type: 'hangman_set_word', gameId: currentHangmanGame.gameId, word });
@@ -294,6 +416,12 @@ function App() {
         }
     };
 
+    const requestHangmanHint = () => {
+        if(currentHangmanGame){
+            sendMessage({ type: 'hangman_hint', gameId: currentHangmanGame.gameId });
+        }
+    };
+
     // --- POKER Functions (NOU) ---
     const fetchPokerGames = async () => {
         try {
@@ -338,6 +466,13 @@ function App() {
         } catch (e) { console.error(e); }
     };
 
+    // Spectator: vedem masa (fara cartile altora) fara sa ocupam un loc
+    const spectatePokerGame = (gameId) => {
+        setMyPokerHand([]);
+        sendMessage({ type: "poker_spectate", gameId });
+        navigate(`/home/poker/table/${gameId}`);
+    };
+
     // Actiuni in timpul jocului de Poker (WebSocket)
     const sendPokerAction = (action, amount = 0) => {
         if (currentPokerGame) {
@@ -449,6 +584,7 @@ function App() {
                             availableGames={pokerGames}
                             onCreateGame={createPokerGame}
                             onJoinGame={joinPokerGame}
+                            onSpectateGame={spectatePokerGame}
                             onRefresh={fetchPokerGames}
                         />
                     }
@@ -459,6 +595,7 @@ function App() {
                         <PokerTable
                             pokerState={currentPokerGame}
                             myHand={myPokerHand}
+                            turn={pokerTurn}
                             username={username}
                             onPokerAction={sendPokerAction}
                             onStartGame={startPokerGame}
@@ -475,7 +612,10 @@ function App() {
                         <HangmanLobby
                             availableGames={hangmanGames}
                             onCreateGame={createHangmanGame}
+                            onCreateSoloGame={createSoloHangmanGame}
+                            onCreateBotGame={createBotHangmanGame}
                             onJoinGame={joinHangmanGame}
+                            onSpectateGame={spectateHangmanGame}
                             onRefresh={fetchHangmanGames}
                         />
                     }
@@ -488,6 +628,8 @@ function App() {
                             username={username}
                             onSetWord={setHangmanWord}
                             onGuessLetter={guessHangmanLetter}
+                            hint={hangmanHint}
+                            onRequestHint={requestHangmanHint}
                         />
                     }
                 />
@@ -0,0 +1,21 @@
+import React, { useState, useEffect } from 'react';
+
+// Secundele ramase pana la termenul turei (deadline = timestamp local, calculat din "remainingMs" primit)
+const TurnCountdown = ({ deadline, className = '' }) => {
+    const [now, setNow] = useState(Date.now());
+
+    useEffect(() => {
+        const id = setInterval(() => setNow(Date.now()), 250);
+        return () => clearInterval(id);
+    }, [deadline]);
+
+    if (!deadline) return null;
+    const seconds = Math.max(0, Math.ceil((deadline - now) / 1000));
+    return (
+        <span className={`badge ${seconds <= 10 ? 'bg-danger' : 'bg-secondary'} ${className}`}>
+            <i className="bi bi-stopwatch me-1"></i>{seconds}s
+        </span>
+    );
+};
+
+export default TurnCountdown;
@@ -1,4 +1,5 @@
-import React, { useState } from 'react';
+import React, { useState, useEffect } from 'react';
+import TurnCountdown from '../TurnCountdown';
 
 const HangmanDrawing = ({ mistakes }) => {
     const bodyParts = [
@@ -22,7 +23,7 @@ const HangmanDrawing = ({ mistakes }) => {
 };
 
 const Keyboard = ({ guessedLetters, onGuess }) => {
-    const alphabet = 'ABCDEFGHIJKLMNOPQRSTUVWXYZ'.split('');
+    const alphabet = 'ABCDEFGHIJKLMNOPQRSTUVWXYZĂÂÎȘȚ'.split('');
     return (
         <div className="d-flex flex-wrap justify-content-center gap-2 mt-4" style={{ maxWidth: '600px' }}>
             {alphabet.map(letter => (
@@ -40,8 +41,14 @@ const Keyboard = ({ guessedLetters, onGuess }) => {
     );
 };
 
-const HangmanGame = ({ gameState, username, onSetWord, onGuessLetter }) => {
+const HangmanGame = ({ gameState, username, onSetWord, onGuessLetter, hint, onRequestHint }) => {
     const [wordToSet, setWordToSet] = useState('');
+    // Termenul ghicitorului, recalculat local la fiecare stare primita
+    const [turnDeadline, setTurnDeadline] = useState(null);
+
+    useEffect(() => {
+        setTurnDeadline(gameState?.turnRemainingMs != null ? Date.now() + gameState.turnRemainingMs : null);
+    }, [gameState]);
 
     if (!gameState) {
         return <div className="d-flex justify-content-center align-items-center h-100"><h3>Se încarcă jocul...</h3></div>;
@@ -75,9 +82,9 @@ const HangmanGame = ({ gameState, username, onSetWord, onGuessLetter }) => {
 
             case 'in_progress':
                 if (isGuesser) {
-                    return <h4>Este rândul tău. Alege o literă!</h4>;
+                    return <h4>Este rândul tău. Alege o literă! <TurnCountdown deadline={turnDeadline} /></h4>;
                 }
-                return <h4 className="text-muted">Așteaptă ca {gameState.guesserUsername} să ghicească...</h4>;
+                return <h4 className="text-muted">Așteaptă ca {gameState.guesserUsername} să ghicească... <TurnCountdown deadline={turnDeadline} /></h4>;
 
             case 'won':
                 return <h2 className="text-success fw-bold">Felicitări, ai câștigat!</h2>;
@@ -106,6 +113,23 @@ const HangmanGame = ({ gameState, username, onSetWord, onGuessLetter }) => {
                     onGuess={onGuessLetter} 
                 />
             )}
+
+            {isGuesser && gameState.status === 'in_progress' && (
+                <div className="mt-3">
+                    <button className="btn btn-outline-info" onClick={onRequestHint}>
+                        <i className="bi bi-lightbulb me-2"></i>
+                        Indiciu
+                    </button>
+                    {hint && hint.gameId === gameState.gameId && (
+                        <div className="mt-2">
+                            Încearcă litera <strong>{hint.letter}</strong>
+                            {hint.candidates > 0 && (
+                                <span className="text-muted"> ({Math.round(hint.probability * 100)}% din {hint.candidates} cuvinte posibile)</span>
+                            )}
+                        </div>
+                    )}
+                </div>
+            )}
         </div>
     );
 };
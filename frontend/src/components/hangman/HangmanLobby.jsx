@@ -2,8 +2,9 @@
 import React, { useState, useEffect } from 'react';
 import { Link } from 'react-router-dom'; 
 
-const HangmanLobby = ({ availableGames, onCreateGame, onJoinGame, onRefresh }) => {
+const HangmanLobby = ({ availableGames, onCreateGame, onCreateSoloGame, onCreateBotGame, onJoinGame, onSpectateGame, onRefresh }) => {
     const [newGameId, setNewGameId] = useState('');
+    const [difficulty, setDifficulty] = useState('MEDIUM');
     useEffect(() => {
         if (onRefresh) {
             onRefresh();
@@ -19,6 +20,24 @@ const HangmanLobby = ({ availableGames, onCreateGame, onJoinGame, onRefresh }) =
         setNewGameId(''); 
     };
 
+    const handleSoloClick = () => {
+        if (!newGameId.trim()) {
+            alert("Te rog introdu un nume pentru joc.");
+            return;
+        }
+        onCreateSoloGame(newGameId.trim(), difficulty);
+        setNewGameId('');
+    };
+
+    const handleBotClick = () => {
+        if (!newGameId.trim()) {
+            alert("Te rog introdu un nume pentru joc.");
+            return;
+        }
+        onCreateBotGame(newGameId.trim());
+        setNewGameId('');
+    };
+
     return (
         <div className="container-fluid py-4">
             <div className="d-flex justify-content-between align-items-center mb-4">
@@ -45,6 +64,24 @@ const HangmanLobby = ({ availableGames, onCreateGame, onJoinGame, onRefresh }) =
                             <i className="bi bi-plus-circle me-2"></i>
                             Creează Joc
                         </button>
+                        <select
+                            className="form-select"
+                            style={{ maxWidth: '140px' }}
+                            value={difficulty}
+                            onChange={(e) => setDifficulty(e.target.value)}
+                        >
+                            <option value="EASY">Ușor</option>
+                            <option value="MEDIUM">Mediu</option>
+                            <option value="HARD">Greu</option>
+                        </select>
+                        <button className="btn btn-outline-success" onClick={handleSoloClick}>
+                            <i className="bi bi-person me-2"></i>
+                            Joc Solo
+                        </button>
+                        <button className="btn btn-outline-secondary" onClick={handleBotClick}>
+                            <i className="bi bi-robot me-2"></i>
+                            Joc cu Bot
+                        </button>
                     </div>
                 </div>
             </div>
@@ -67,13 +104,21 @@ const HangmanLobby = ({ availableGames, onCreateGame, onJoinGame, onRefresh }) =
                                 </small>
                             </div>
                             
-                            {game.status === 'waiting_for_guesser' && (
+                            {game.status === 'waiting_for_guesser' ? (
                                 <button 
                                     className="btn btn-primary" 
                                     onClick={() => onJoinGame(game.gameId)}
                                 >
                                     Alătură-te ca Ghicitor
                                 </button>
+                            ) : (
+                                <button
+                                    className="btn btn-outline-secondary"
+                                    onClick={() => onSpectateGame(game.gameId)}
+                                >
+                                    <i className="bi bi-eye me-2"></i>
+                                    Urmărește
+                                </button>
                             )}
                         </div>
                     ))}
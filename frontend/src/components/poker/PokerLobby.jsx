@@ -1,5 +1,5 @@
 import React, { useState, useEffect } from 'react';
-const GameCard = ({ game, onJoin }) => {
+const GameCard = ({ game, onJoin, onSpectate }) => {
     return (
         <div className="card h-100 shadow-sm">
             <div className="card-body d-flex flex-column">
@@ -8,7 +8,7 @@ const GameCard = ({ game, onJoin }) => {
                     {game.hasPassword && <span className="badge bg-secondary"><i className="bi bi-lock-fill"></i></span>}
                 </h5>
                 <p className="card-text text-muted">
-                    Jucători: {game.players.length} / {game.maxPlayers}
+                    Jucători: {game.seatsTaken} / {game.maxPlayers}
                 </p>
                 <p className="card-text text-muted">
                     Status: {game.inProgress ? 'În progres' : 'Așteptând jucători'}
@@ -16,9 +16,13 @@ const GameCard = ({ game, onJoin }) => {
                 <button 
                     className="btn btn-primary mt-auto" 
                     onClick={() => onJoin(game.gameId, game.hasPassword)}
-                    disabled={game.players.length >= game.maxPlayers}
+                    disabled={game.seatsTaken >= game.maxPlayers}
                 >
-                    {game.players.length >= game.maxPlayers ? 'Masă Plină' : 'Intră la Masă'}
+                    {game.seatsTaken >= game.maxPlayers ? 'Masă Plină' : 'Intră la Masă'}
+                </button>
+                <button className="btn btn-outline-secondary mt-2" onClick={() => onSpectate(game.gameId)}>
+                    <i className="bi bi-eye me-2"></i>
+                    Urmărește
                 </button>
             </div>
         </div>
@@ -195,7 +199,7 @@ const JoinGameModal = ({ show, gameId, onClose, onJoin }) => {
 };
 
 
-const PokerLobby = ({ availableGames, onCreateGame, onJoinGame, onRefresh }) => {
+const PokerLobby = ({ availableGames, onCreateGame, onJoinGame, onSpectateGame, onRefresh }) => {
     const [showCreateModal, setShowCreateModal] = useState(false);
     const [showJoinModal, setShowJoinModal] = useState(false);
     const [selectedGame, setSelectedGame] = useState(null);
@@ -237,7 +241,7 @@ const PokerLobby = ({ availableGames, onCreateGame, onJoinGame, onRefresh }) =>
                 <div className="row row-cols-1 row-cols-md-2 row-cols-lg-3 row-cols-xl-4 g-4">
                     {availableGames.map(game => (
                         <div className="col" key={game.gameId}>
-                            <GameCard game={game} onJoin={handleJoinClick} />
+                            <GameCard game={game} onJoin={handleJoinClick} onSpectate={onSpectateGame} />
                         </div>
                     ))}
                 </div>
@@ -1,4 +1,5 @@
 import React, { useState, useEffect } from 'react';
+import TurnCountdown from '../TurnCountdown';
 
 const Card = ({ card }) => {
     if (!card) {
@@ -64,7 +65,7 @@ const ShowdownDisplay = ({ players, onNewHand, isCreator }) => {
 };
 
 
-const PokerTable = ({ pokerState, myHand, username, onPokerAction, onStartGame, onNewHand, onLeaveGame }) => {
+const PokerTable = ({ pokerState, myHand, turn, username, onPokerAction, onStartGame, onNewHand, onLeaveGame }) => {
     
  
     if (!pokerState) {
@@ -169,6 +170,9 @@ const PokerTable = ({ pokerState, myHand, username, onPokerAction, onStartGame,
                             'bg-dark bg-opacity-75'
                         }`}>
                            <strong>{player.username}</strong>
+                           {player.token === currentPlayerToken && turn && turn.token === player.token && (
+                               <TurnCountdown deadline={turn.deadline} className="ms-2" />
+                           )}
                            {player.status === 'folded' && <span className="ms-2 badge bg-danger">Fold</span>}
                            {player.status === 'all-in' && <span className="ms-2 badge bg-primary">All-in</span>}
                            <br/>
@@ -230,6 +234,7 @@ const PokerTable = ({ pokerState, myHand, username, onPokerAction, onStartGame,
                 ) : (
                     <div className="text-center text-muted">
                         {round === 'showdown' ? 'Mâna s-a terminat.' : 
+                         !me ? 'Urmărești masa ca spectator.' :
                          me?.status === 'folded' ? 'Ai foldat.' :
                          'Așteaptă rândul tău...'}
                     </div>